@@ -0,0 +1,129 @@
+package com.dienform.common.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.dienform.common.entity.User;
+import com.dienform.common.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of verified tokens. A token is verified and its user looked up once; later
+ * resolutions of the same token only hash it, until the token expires or ttl-ms passes, whichever
+ * is first. Tokens are keyed by their SHA-256 so raw tokens are never kept in memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenPrincipalCache {
+
+  private record Entry(UUID userId, long expiresAtMillis) {
+  }
+
+  private final JwtTokenProvider jwtTokenProvider;
+  private final UserRepository userRepository;
+
+  @Value("${jwt.principal-cache.max-entries:10000}")
+  private int maxEntries;
+
+  // Bounds how long a deleted user keeps resolving from a still valid token
+  @Value("${jwt.principal-cache.ttl-ms:300000}")
+  private long ttlMs;
+
+  // Access-ordered so the least recently used token is evicted first; guarded by itself
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+      return size() > maxEntries;
+    }
+  };
+
+  // Replaced in tests to move time forward
+  private Clock clock = Clock.systemUTC();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * User id of a token, or empty if the token is invalid, expired or its user does not exist
+   */
+  public Optional<UUID> resolveUserId(String token) {
+    if (token == null || token.isBlank()) {
+      return Optional.empty();
+    }
+    String key = hash(token);
+    long now = clock.millis();
+    synchronized (entries) {
+      Entry cached = entries.get(key);
+      if (cached != null) {
+        if (cached.expiresAtMillis() > now) {
+          hits.incrementAndGet();
+          return Optional.of(cached.userId());
+        }
+        entries.remove(key);
+      }
+    }
+    misses.incrementAndGet();
+    try {
+      DecodedJWT decoded = jwtTokenProvider.validateToken(token);
+      Optional<UUID> userId = userRepository.findByEmail(decoded.getSubject()).map(User::getId);
+      if (userId.isPresent()) {
+        long expiresAt = now + ttlMs;
+        if (decoded.getExpiresAt() != null) {
+          expiresAt = Math.min(expiresAt, decoded.getExpiresAt().getTime());
+        }
+        synchronized (entries) {
+          entries.put(key, new Entry(userId.get(), expiresAt));
+        }
+      }
+      return userId;
+    } catch (Exception e) {
+      log.debug("Token rejected: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  @Scheduled(fixedDelay = 60_000L)
+  public void evictExpired() {
+    long now = clock.millis();
+    synchronized (entries) {
+      entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  private static String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every JRE provides SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+}
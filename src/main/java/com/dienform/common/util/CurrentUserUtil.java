@@ -7,10 +7,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import com.auth0.jwt.interfaces.DecodedJWT;
 import com.dienform.common.entity.User;
 import com.dienform.common.repository.UserRepository;
-import com.dienform.common.service.JwtTokenProvider;
+import com.dienform.common.service.TokenPrincipalCache;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -19,11 +18,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CurrentUserUtil {
 
-  private final JwtTokenProvider jwtTokenProvider;
+  private final TokenPrincipalCache tokenPrincipalCache;
   private final UserRepository userRepository;
 
   public Optional<UUID> getCurrentUserIdIfPresent() {
-    return getCurrentUserIfPresent().map(User::getId);
+    HttpServletRequest request = getCurrentHttpRequest();
+    if (request == null) {
+      return Optional.empty();
+    }
+    return principalOf(request).getUserId();
   }
 
   public Optional<User> getCurrentUserIfPresent() {
@@ -31,23 +34,27 @@ public class CurrentUserUtil {
     if (request == null) {
       return Optional.empty();
     }
-    String token = extractTokenFromRequest(request);
-    if (token == null || token.isBlank()) {
-      return Optional.empty();
-    }
-    try {
-      DecodedJWT decoded = jwtTokenProvider.validateToken(token);
-      String email = decoded.getSubject();
-      return userRepository.findByEmail(email);
-    } catch (Exception e) {
-      return Optional.empty();
-    }
+    return principalOf(request).getUser(userRepository::findById);
   }
 
   public UUID requireCurrentUserId() {
     return getCurrentUserIdIfPresent().orElseThrow(() -> new RuntimeException("Unauthorized"));
   }
 
+  /**
+   * Principal of a request, resolved from its token on first call and kept on the request
+   */
+  public RequestPrincipal principalOf(HttpServletRequest request) {
+    Object existing = request.getAttribute(RequestPrincipal.ATTRIBUTE);
+    if (existing instanceof RequestPrincipal principal) {
+      return principal;
+    }
+    RequestPrincipal principal = tokenPrincipalCache.resolveUserId(extractTokenFromRequest(request))
+        .map(RequestPrincipal::new).orElse(RequestPrincipal.ANONYMOUS);
+    request.setAttribute(RequestPrincipal.ATTRIBUTE, principal);
+    return principal;
+  }
+
   private HttpServletRequest getCurrentHttpRequest() {
     RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
     if (attrs instanceof ServletRequestAttributes servletAttributes) {
@@ -69,5 +76,3 @@ public class CurrentUserUtil {
     return null;
   }
 }
-
-
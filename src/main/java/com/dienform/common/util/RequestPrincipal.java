@@ -0,0 +1,38 @@
+package com.dienform.common.util;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import com.dienform.common.entity.User;
+
+/**
+ * Caller of the current HTTP request, resolved once per request and kept as a request attribute.
+ * The user entity is loaded on first use only.
+ */
+public final class RequestPrincipal {
+
+  public static final String ATTRIBUTE = RequestPrincipal.class.getName();
+
+  static final RequestPrincipal ANONYMOUS = new RequestPrincipal(null);
+
+  private final UUID userId;
+  private Optional<User> user;
+
+  RequestPrincipal(UUID userId) {
+    this.userId = userId;
+  }
+
+  public Optional<UUID> getUserId() {
+    return Optional.ofNullable(userId);
+  }
+
+  Optional<User> getUser(Function<UUID, Optional<User>> loader) {
+    if (userId == null) {
+      return Optional.empty();
+    }
+    if (user == null) {
+      user = loader.apply(userId);
+    }
+    return user;
+  }
+}
@@ -0,0 +1,34 @@
+package com.dienform.config;
+
+import java.io.IOException;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import com.dienform.common.util.CurrentUserUtil;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolves the caller once per request so every CurrentUserUtil lookup during the request reads
+ * the request attribute instead of verifying the token again.
+ */
+@Component
+@Order(3) // Run after SecurityRateLimitFilter
+@RequiredArgsConstructor
+public class CurrentUserFilter implements Filter {
+
+  private final CurrentUserUtil currentUserUtil;
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    if (request instanceof HttpServletRequest httpRequest) {
+      currentUserUtil.principalOf(httpRequest);
+    }
+    chain.doFilter(request, response);
+  }
+}
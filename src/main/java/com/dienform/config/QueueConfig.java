@@ -9,7 +9,7 @@ public class QueueConfig {
 
   public static class QueueProperties {
     private int maxSize = 100;
-    private long checkInterval = 30000; // 30 seconds
+    private long checkInterval = 300000; // 5 minutes, reconciliation only
     private int maxRetries = 3;
     private long retryDelay = 5000; // 5 seconds
 
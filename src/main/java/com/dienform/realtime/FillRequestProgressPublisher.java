@@ -0,0 +1,154 @@
+package com.dienform.realtime;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.dienform.realtime.dto.FillRequestUpdateEvent;
+import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
+import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalescing publisher of fill request updates. Only the latest state of each request is kept and
+ * sent once per progress-emit-interval-ms, so progress published after every survey costs one map
+ * write. Terminal states (COMPLETED, FAILED) bypass the interval and the room rate limit and are
+ * sent immediately, replacing any pending progress of the request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FillRequestProgressPublisher {
+
+  private record Pending(FillRequestUpdateEvent event, String userId) {
+  }
+
+  // Late progress of a completed request is ignored for this long
+  private static final long COMPLETED_HOLD_MS = 60_000L;
+
+  private final FillRequestRealtimeGateway realtimeGateway;
+  private final FormStatusSnapshotCache snapshotCache;
+
+  private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+  private final Map<String, Long> completedAt = new ConcurrentHashMap<>();
+
+  private final AtomicLong published = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+
+  /**
+   * Publish the state of a request to its form room
+   */
+  public void publish(FillRequestUpdateEvent event) {
+    publish(event, null);
+  }
+
+  /**
+   * Publish the state of a request to its form room and, if userId is set, the user's form room
+   */
+  public void publish(FillRequestUpdateEvent event, String userId) {
+    if (event == null || event.getRequestId() == null || event.getFormId() == null) {
+      return;
+    }
+    published.incrementAndGet();
+    snapshotCache.onUpdate(event);
+    String requestId = event.getRequestId();
+    if (isTerminal(event.getStatus())) {
+      synchronized (this) {
+        pending.remove(requestId);
+        // FAILED can be retried, so only COMPLETED holds back late progress
+        if (FillRequestStatusEnum.COMPLETED.name().equals(event.getStatus())) {
+          completedAt.put(requestId, System.currentTimeMillis());
+        }
+        deliver(new Pending(event, userId), true);
+      }
+      return;
+    }
+    if (completedAt.containsKey(requestId)) {
+      log.debug("Ignoring progress of completed request {}", requestId);
+      return;
+    }
+    pending.merge(requestId, new Pending(event, userId), (previous, next) -> {
+      coalesced.incrementAndGet();
+      return next.userId() != null ? next : new Pending(next.event(), previous.userId());
+    });
+  }
+
+  /**
+   * Publish the in-memory state of a request without reading it from the database
+   */
+  public void publish(FillRequest fillRequest, String userId) {
+    if (fillRequest == null || fillRequest.getForm() == null) {
+      return;
+    }
+    publish(toEvent(fillRequest.getForm().getId(), fillRequest.getId(),
+        fillRequest.getStatus() != null ? fillRequest.getStatus().name() : null,
+        fillRequest.getCompletedSurvey(), fillRequest.getSurveyCount()), userId);
+  }
+
+  /**
+   * Publish progress counted in memory
+   */
+  public void publishProgress(UUID formId, UUID fillRequestId, String status, int completedSurvey,
+      int surveyCount) {
+    publish(toEvent(formId, fillRequestId, status, completedSurvey, surveyCount), null);
+  }
+
+  @Scheduled(fixedDelayString = "${realtime.socket.progress-emit-interval-ms:1000}")
+  public synchronized void flush() {
+    for (String requestId : pending.keySet()) {
+      Pending next = pending.remove(requestId);
+      if (next != null && !deliver(next, false)) {
+        // Rate limited: send it next interval unless a newer state arrives first
+        pending.putIfAbsent(requestId, next);
+      }
+    }
+    if (!completedAt.isEmpty()) {
+      long cutoff = System.currentTimeMillis() - COMPLETED_HOLD_MS;
+      completedAt.values().removeIf(at -> at < cutoff);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flush();
+  }
+
+  public long getPublishedCount() {
+    return published.get();
+  }
+
+  public long getCoalescedCount() {
+    return coalesced.get();
+  }
+
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  private boolean deliver(Pending next, boolean force) {
+    try {
+      return realtimeGateway.emitUpdateWithUser(next.event().getFormId(), next.event(),
+          next.userId(), force);
+    } catch (Exception e) {
+      log.warn("Failed to emit update for request {}: {}", next.event().getRequestId(),
+          e.getMessage());
+      return true;
+    }
+  }
+
+  private static boolean isTerminal(String status) {
+    return FillRequestStatusEnum.COMPLETED.name().equals(status)
+        || FillRequestStatusEnum.FAILED.name().equals(status);
+  }
+
+  private static FillRequestUpdateEvent toEvent(UUID formId, UUID fillRequestId, String status,
+      int completedSurvey, int surveyCount) {
+    return FillRequestUpdateEvent.builder().formId(formId.toString())
+        .requestId(fillRequestId.toString()).status(status).completedSurvey(completedSurvey)
+        .surveyCount(surveyCount).updatedAt(java.time.Instant.now().toString()).build();
+  }
+}
@@ -1,24 +1,23 @@
 package com.dienform.realtime;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.listener.DataListener;
-import com.dienform.common.entity.User;
-import com.dienform.common.repository.UserRepository;
-import com.dienform.common.service.JwtTokenProvider;
+import com.dienform.common.service.TokenPrincipalCache;
 import com.dienform.realtime.dto.FillRequestBulkStateEvent;
 import com.dienform.realtime.dto.FillRequestUpdateEvent;
 import com.dienform.realtime.dto.JoinLeavePayload;
-import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
-import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
-import com.dienform.tool.dienformtudong.form.entity.Form;
 import com.dienform.tool.dienformtudong.form.repository.FormRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -28,17 +27,51 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class FillRequestRealtimeGateway {
-  private static class Meter {
-    int count;
-    long windowStart;
+  /**
+   * Token bucket of one room kept as a single theoretical arrival time (GCRA): an emit is allowed
+   * while the bucket is less than burst-max-per-sec emits ahead of now, and each emit pushes it
+   * forward by one token interval. Updated with CAS only, so concurrent workers never block.
+   */
+  private static final class RoomBucket {
+    private final AtomicLong theoreticalArrivalNanos;
+
+    private RoomBucket(long nowNanos) {
+      this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    private boolean tryAcquire(long nowNanos, long tokenIntervalNanos, long burstNanos) {
+      while (true) {
+        long tat = theoreticalArrivalNanos.get();
+        // nanoTime values are only comparable by difference
+        long base = tat - nowNanos > 0 ? tat : nowNanos;
+        if (base - nowNanos > burstNanos - tokenIntervalNanos) {
+          return false;
+        }
+        if (theoreticalArrivalNanos.compareAndSet(tat, base + tokenIntervalNanos)) {
+          return true;
+        }
+      }
+    }
+
+    private boolean isIdle(long nowNanos, long idleNanos) {
+      return nowNanos - theoreticalArrivalNanos.get() > idleNanos;
+    }
+  }
+
+  private record EmittedEvent(String key, long emittedAtMillis) {
   }
 
+  private static final long BUCKET_IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+  private static final long DEDUP_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+  private static final int MAX_CACHED_OWNERS = 10_000;
+  // Marks forms without an owner in the owner cache
+  private static final String NO_OWNER = "";
+
   private final SocketIOServer server;
 
-  private final FillRequestRepository fillRequestRepository;
+  private final FormStatusSnapshotCache snapshotCache;
   private final FormRepository formRepository;
-  private final JwtTokenProvider jwtTokenProvider;
-  private final UserRepository userRepository;
+  private final TokenPrincipalCache tokenPrincipalCache;
   @Value("${realtime.socket.progress-emit-interval-ms:1000}")
   private long intervalMs;
 
@@ -46,15 +79,28 @@ public class FillRequestRealtimeGateway {
   private int delta;
   @Value("${realtime.socket.burst-max-per-sec:10}")
   private int burstMax;
+  @Value("${realtime.socket.dedup-max-entries:10000}")
+  private int dedupMaxEntries;
+
+  private final Map<String, RoomBucket> buckets = new ConcurrentHashMap<>();
+
+  // Last event per room; expired entries are swept by cleanupOldEvents, overflow by trim
+  private final Map<String, EmittedEvent> lastEmittedEvents = new ConcurrentHashMap<>();
 
-  private final Map<String, Meter> meters = new ConcurrentHashMap<>();
-  private final Map<String, String> lastEmittedEvents = new ConcurrentHashMap<>();
+  private final AtomicLong emittedCount = new AtomicLong();
+  private final AtomicLong coalescedCount = new AtomicLong();
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  // Owner user id per form id, for routing to user rooms; bounded by trim
+  private final Map<String, String> formOwners = new ConcurrentHashMap<>();
+
+  // Fan-out: sends, sockets reached, and the largest single send
+  private final AtomicLong deliveryCount = new AtomicLong();
+  private final AtomicLong recipientCount = new AtomicLong();
+  private final AtomicLong maxFanOut = new AtomicLong();
 
   @PostConstruct
   public void init() {
-    // Schedule cleanup of old events every 5 minutes
-    scheduleEventCleanup();
-
     // Identify user on socket connect using token query or cookie
     server.addConnectListener(client -> {
       try {
@@ -73,9 +119,11 @@ public class FillRequestRealtimeGateway {
           }
         }
         if (token != null && !token.isBlank()) {
-          String email = jwtTokenProvider.validateToken(token).getSubject();
-          userRepository.findByEmail(email).map(User::getId).ifPresent(uid -> {
+          // Verified tokens are cached, so reconnects skip the signature check and user lookup
+          tokenPrincipalCache.resolveUserId(token).ifPresent(uid -> {
             client.set("userId", uid.toString());
+            // Every socket of a user receives the updates of the user's own forms
+            client.joinRoom(userRoom(uid.toString()));
             log.debug("Socket client {} authenticated as user {}", client.getSessionId(), uid);
           });
         }
@@ -88,141 +136,120 @@ public class FillRequestRealtimeGateway {
     server.addEventListener("leave_form_room", JoinLeavePayload.class, onLeave());
   }
 
+  /**
+   * Send the bulk state of a form to its room and to its owner's sockets
+   */
   public void emitBulkState(String formId, FillRequestBulkStateEvent payload) {
-    String roomId = "form:" + formId;
-    // Send to room-specific listeners
-    server.getRoomOperations(roomId).sendEvent("fill_request_bulk_state", payload);
-    // Also broadcast globally so list pages not in a room can receive updates
-    try {
-      server.getBroadcastOperations().sendEvent("fill_request_bulk_state", payload);
-      log.debug("Emitted bulk state to room {} and broadcast for form {} ({} requests)", roomId,
-          formId, payload.getRequests() == null ? 0 : payload.getRequests().size());
-    } catch (Exception ignore) {
-    }
+    int recipients = deliver("fill_request_bulk_state", payload, formRoom(formId),
+        ownerRoom(formId));
+    log.debug("Emitted bulk state for form {} to {} sockets ({} requests)", formId, recipients,
+        payload.getRequests() == null ? 0 : payload.getRequests().size());
   }
 
   /**
    * Centralized method to emit fill request updates with deduplication
    */
-  public void emitUpdate(String formId, FillRequestUpdateEvent payload) {
-    String roomId = "form:" + formId;
+  public boolean emitUpdate(String formId, FillRequestUpdateEvent payload) {
+    return emitUpdate(formId, payload, false);
+  }
+
+  /**
+   * Emit a fill request update to the form room and the form owner's sockets.
+   *
+   * @param force Skip the room rate limit, for terminal states that must not be lost
+   * @return false if the update was rate limited and not sent
+   */
+  public boolean emitUpdate(String formId, FillRequestUpdateEvent payload, boolean force) {
+    return emitUpdate(formId, payload, force, null);
+  }
+
+  private boolean emitUpdate(String formId, FillRequestUpdateEvent payload, boolean force,
+      String userId) {
+    String roomId = formRoom(formId);
     String eventKey = formId + ":" + payload.getRequestId() + ":" + payload.getStatus() + ":"
         + payload.getCompletedSurvey() + ":" + payload.getSurveyCount();
 
     // Check if this exact event was recently emitted
-    String lastEvent = lastEmittedEvents.get(roomId);
-    if (eventKey.equals(lastEvent)) {
+    if (isDuplicate(roomId, eventKey)) {
+      coalescedCount.incrementAndGet();
       log.debug("Skipping duplicate event for room: {} - request={} status={}", roomId,
           payload.getRequestId(), payload.getStatus());
-      return;
+      return true;
     }
 
-    if (canEmit(roomId)) {
+    if (force || canEmit(roomId)) {
       // Store this event as last emitted
-      lastEmittedEvents.put(roomId, eventKey);
-
-      // Send to room-specific listeners
-      server.getRoomOperations(roomId).sendEvent("fill_request_update", payload);
-      // Also broadcast globally so clients that didn't join a room still get updates
-      try {
-        server.getBroadcastOperations().sendEvent("fill_request_update", payload);
-        log.debug("Emitted update to room {} and broadcast: request={} status={} {}/{}", roomId,
-            payload.getRequestId(), payload.getStatus(), payload.getCompletedSurvey(),
-            payload.getSurveyCount());
-      } catch (Exception ignore) {
-      }
+      rememberEmitted(roomId, eventKey);
+      emittedCount.incrementAndGet();
+
+      // Form room plus the owner's (and requesting user's) sockets, each socket once
+      int recipients = deliver("fill_request_update", payload, roomId, ownerRoom(formId),
+          hasText(userId) ? userRoom(userId) : null);
+      log.debug("Emitted update for room {} to {} sockets: request={} status={} {}/{}", roomId,
+          recipients, payload.getRequestId(), payload.getStatus(), payload.getCompletedSurvey(),
+          payload.getSurveyCount());
+      return true;
     }
+    droppedCount.incrementAndGet();
+    return false;
   }
 
   /**
    * Centralized method to emit updates to both form room and user room with deduplication
    */
   public void emitUpdateWithUser(String formId, FillRequestUpdateEvent payload, String userId) {
-    // Emit to form room (with deduplication)
-    emitUpdate(formId, payload);
-
-    // Emit to user room (with deduplication)
-    if (userId != null && !userId.trim().isEmpty()) {
-      emitUpdateForUser(userId, formId, payload);
-    }
+    emitUpdateWithUser(formId, payload, userId, false);
   }
 
-  // --- User specific rooms: <userId>:<formId> ---
-  public void ensureUserJoinedFormRoom(String userId, String formId) {
-    String roomId = userId + ":" + formId;
-    for (SocketIOClient c : server.getAllClients()) {
-      try {
-        String uid = c.get("userId");
-        if (userId.equals(uid)) {
-          c.joinRoom(roomId);
-        }
-      } catch (Exception ignore) {
-      }
-    }
+  /**
+   * Emit to the form room, the form owner's sockets and, if userId is set, the user's sockets.
+   *
+   * @return false if the update was rate limited and not sent
+   */
+  public boolean emitUpdateWithUser(String formId, FillRequestUpdateEvent payload, String userId,
+      boolean force) {
+    return emitUpdate(formId, payload, force, userId);
   }
 
+  // --- User rooms: user:<userId>, joined by every authenticated socket on connect ---
   public void emitBulkStateForUser(String userId, String formId) {
-    ensureUserJoinedFormRoom(userId, formId);
     try {
-      UUID formUuid = UUID.fromString(formId);
-      var form = formRepository.findById(formUuid).orElse(null);
-      if (form == null)
-        return;
-      List<FillRequest> requests = fillRequestRepository.findByForm(form);
-      List<FillRequestUpdateEvent> reqs = requests.stream()
-          .map(fr -> FillRequestUpdateEvent.builder().formId(formId)
-              .requestId(fr.getId().toString()).status(fr.getStatus().name())
-              .completedSurvey(fr.getCompletedSurvey()).surveyCount(fr.getSurveyCount())
-              .updatedAt(java.time.Instant.now().toString()).build())
-          .collect(Collectors.toList());
-      FillRequestBulkStateEvent payload = FillRequestBulkStateEvent.builder().formId(formId)
-          .requests(reqs).updatedAt(java.time.Instant.now().toString()).build();
-      String room = userId + ":" + formId;
-      server.getRoomOperations(room).sendEvent("fill_request_bulk_state", payload);
-      log.debug("Emitted user bulk state to room {} ({} requests)", room, reqs.size());
+      String room = userRoom(userId);
+      snapshotCache.get(UUID.fromString(formId)).thenAccept(reqs -> {
+        int recipients = deliver("fill_request_bulk_state", toBulkState(formId, reqs), room);
+        log.debug("Emitted user bulk state to room {} ({} sockets, {} requests)", room,
+            recipients, reqs.size());
+      }).exceptionally(e -> {
+        log.debug("emitBulkStateForUser failed: {}", e.getMessage());
+        return null;
+      });
     } catch (Exception e) {
       log.debug("emitBulkStateForUser failed: {}", e.getMessage());
     }
   }
 
   public void emitUpdateForUser(String userId, String formId, FillRequestUpdateEvent payload) {
-    ensureUserJoinedFormRoom(userId, formId);
-    String room = userId + ":" + formId;
-    String eventKey = userId + ":" + formId + ":" + payload.getRequestId() + ":"
-        + payload.getStatus() + ":" + payload.getCompletedSurvey() + ":" + payload.getSurveyCount();
+    String room = userRoom(userId);
+    // Deduplicated per user and form
+    String dedupSlot = room + ":" + formId;
+    String eventKey = payload.getRequestId() + ":" + payload.getStatus() + ":"
+        + payload.getCompletedSurvey() + ":" + payload.getSurveyCount();
 
     // Check if this exact event was recently emitted for this user
-    String lastEvent = lastEmittedEvents.get(room);
-    if (eventKey.equals(lastEvent)) {
+    if (isDuplicate(dedupSlot, eventKey)) {
+      coalescedCount.incrementAndGet();
       log.debug("Skipping duplicate user event for room: {} - request={} status={}", room,
           payload.getRequestId(), payload.getStatus());
       return;
     }
 
-    // Store this event as last emitted for this user room
-    lastEmittedEvents.put(room, eventKey);
+    // Store this event as last emitted for this user and form
+    rememberEmitted(dedupSlot, eventKey);
+    emittedCount.incrementAndGet();
 
-    server.getRoomOperations(room).sendEvent("fill_request_update", payload);
-    log.debug("Emitted user update to room {}: request={} status={}", room, payload.getRequestId(),
-        payload.getStatus());
-  }
-
-  public void leaveUserFormRoom(String userId, String formId) {
-    String room = userId + ":" + formId;
-    try {
-      for (SocketIOClient c : server.getAllClients()) {
-        try {
-          String uid = c.get("userId");
-          if (userId.equals(uid)) {
-            c.leaveRoom(room);
-          }
-        } catch (Exception ignore) {
-        }
-      }
-      log.debug("Left room {} for user {}", room, userId);
-    } catch (Exception e) {
-      log.debug("leaveUserFormRoom failed: {}", e.getMessage());
-    }
+    int recipients = deliver("fill_request_update", payload, room);
+    log.debug("Emitted user update to room {} ({} sockets): request={} status={}", room,
+        recipients, payload.getRequestId(), payload.getStatus());
   }
 
   /**
@@ -230,138 +257,199 @@ public class FillRequestRealtimeGateway {
    */
   public void debugDeduplicationState() {
     log.info("=== Deduplication State Debug ===");
+    log.info("Emitted: {}, coalesced: {}, dropped: {}", emittedCount.get(), coalescedCount.get(),
+        droppedCount.get());
+    log.info("Fan-out: {} sends, {} sockets reached, max {} per send", deliveryCount.get(),
+        recipientCount.get(), maxFanOut.get());
+    log.info("Total rooms metered: {}", buckets.size());
     log.info("Total cached events: {}", lastEmittedEvents.size());
-    log.info("Total meters: {}", meters.size());
-
     // Log some sample events
-    int count = 0;
-    for (Map.Entry<String, String> entry : lastEmittedEvents.entrySet()) {
-      if (count < 5) { // Only log first 5
-        log.info("Event cache: {} -> {}", entry.getKey(), entry.getValue());
-        count++;
+    lastEmittedEvents.entrySet().stream().limit(5).forEach(
+        entry -> log.info("Event cache: {} -> {}", entry.getKey(), entry.getValue().key()));
+    log.info("=== End Deduplication State Debug ===");
+  }
+
+  public long getEmittedCount() {
+    return emittedCount.get();
+  }
+
+  public long getCoalescedCount() {
+    return coalescedCount.get();
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  public long getDeliveryCount() {
+    return deliveryCount.get();
+  }
+
+  public long getRecipientCount() {
+    return recipientCount.get();
+  }
+
+  public long getMaxFanOut() {
+    return maxFanOut.get();
+  }
+
+  /**
+   * Average number of sockets reached per send
+   */
+  public double getAverageFanOut() {
+    long deliveries = deliveryCount.get();
+    return deliveries == 0 ? 0 : (double) recipientCount.get() / deliveries;
+  }
+
+  /**
+   * Send an event to the union of the given rooms, once per socket
+   *
+   * @param rooms Room names; nulls are skipped
+   * @return Number of sockets reached
+   */
+  private int deliver(String event, Object payload, String... rooms) {
+    Map<UUID, SocketIOClient> recipients = new LinkedHashMap<>();
+    for (String room : rooms) {
+      if (room != null) {
+        for (SocketIOClient client : server.getRoomOperations(room).getClients()) {
+          recipients.putIfAbsent(client.getSessionId(), client);
+        }
       }
     }
-
-    // Log meter states
-    count = 0;
-    for (Map.Entry<String, Meter> entry : meters.entrySet()) {
-      if (count < 5) { // Only log first 5
-        Meter meter = entry.getValue();
-        log.info("Meter: {} -> count={}, windowStart={}", entry.getKey(), meter.count,
-            meter.windowStart);
-        count++;
+    for (SocketIOClient client : recipients.values()) {
+      try {
+        client.sendEvent(event, payload);
+      } catch (Exception e) {
+        log.debug("Failed to send {} to socket {}: {}", event, client.getSessionId(),
+            e.getMessage());
       }
     }
-    log.info("=== End Deduplication State Debug ===");
+    int fanOut = recipients.size();
+    deliveryCount.incrementAndGet();
+    recipientCount.addAndGet(fanOut);
+    maxFanOut.accumulateAndGet(fanOut, Math::max);
+    return fanOut;
   }
 
-  private boolean canEmit(String roomId) {
-    long now = System.currentTimeMillis();
-    Meter m = meters.computeIfAbsent(roomId, k -> {
-      Meter mm = new Meter();
-      mm.windowStart = now;
-      return mm;
-    });
+  private static String formRoom(String formId) {
+    return "form:" + formId;
+  }
 
-    // Reset counter if window expired
-    if (now - m.windowStart >= 1000) {
-      m.count = 0;
-      m.windowStart = now;
+  private static String userRoom(String userId) {
+    return "user:" + userId;
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.trim().isEmpty();
+  }
+
+  /**
+   * User room of the form's owner, or null if the form has none
+   */
+  private String ownerRoom(String formId) {
+    String ownerId = formOwners.get(formId);
+    if (ownerId == null) {
+      try {
+        ownerId = formRepository.findOwnerIdById(UUID.fromString(formId)).map(UUID::toString)
+            .orElse(NO_OWNER);
+      } catch (Exception e) {
+        log.debug("Failed to resolve owner of form {}: {}", formId, e.getMessage());
+        return null;
+      }
+      // A concurrent lookup of the same form stores the same owner
+      formOwners.put(formId, ownerId);
+      trim(formOwners, MAX_CACHED_OWNERS);
     }
+    return ownerId.isEmpty() ? null : userRoom(ownerId);
+  }
 
-    // Allow emit only if under burst limit
-    if (m.count < burstMax) {
-      m.count++;
-      return true;
+  private boolean canEmit(String roomId) {
+    long tokenIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, burstMax);
+    long burstNanos = tokenIntervalNanos * Math.max(1, burstMax);
+    long nowNanos = System.nanoTime();
+    boolean allowed = buckets.computeIfAbsent(roomId, k -> new RoomBucket(nowNanos))
+        .tryAcquire(nowNanos, tokenIntervalNanos, burstNanos);
+    if (!allowed) {
+      log.debug("Rate limited emit for room: {}", roomId);
     }
+    return allowed;
+  }
 
-    log.debug("Rate limited emit for room: {} (count: {})", roomId, m.count);
-    return false;
+  private boolean isDuplicate(String roomId, String eventKey) {
+    EmittedEvent last = lastEmittedEvents.get(roomId);
+    return last != null && last.key().equals(eventKey);
+  }
+
+  private void rememberEmitted(String roomId, String eventKey) {
+    lastEmittedEvents.put(roomId, new EmittedEvent(eventKey, System.currentTimeMillis()));
+    trim(lastEmittedEvents, dedupMaxEntries);
+  }
+
+  /**
+   * Drop arbitrary entries once a cache outgrows its bound. Both caches only save work (a lost
+   * dedup entry allows one repeated event, a lost owner one query), so no recency order is kept.
+   */
+  private static void trim(Map<String, ?> cache, int maxEntries) {
+    int limit = Math.max(1, maxEntries);
+    if (cache.size() <= limit) {
+      return;
+    }
+    // Trim to 90% so the next puts do not trim again right away
+    int excess = cache.size() - limit * 9 / 10;
+    Iterator<String> keys = cache.keySet().iterator();
+    while (excess-- > 0 && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+    }
   }
 
   private DataListener<JoinLeavePayload> onJoin() {
     return (client, data, ackSender) -> {
-      String roomId = "form:" + data.getFormId();
+      String roomId = formRoom(data.getFormId());
       client.joinRoom(roomId);
-      // Emit snapshot immediately
+      // Snapshot only for the joining client; a miss loads off the Netty I/O thread
       try {
-        UUID formUuid = UUID.fromString(data.getFormId());
-        Form form = formRepository.findById(formUuid).orElse(null);
-        if (form != null) {
-          List<FillRequest> requests = fillRequestRepository.findByForm(form);
-          List<FillRequestUpdateEvent> reqs = requests.stream()
-              .map(fr -> FillRequestUpdateEvent.builder().formId(data.getFormId())
-                  .requestId(fr.getId().toString()).status(fr.getStatus().name())
-                  .completedSurvey(fr.getCompletedSurvey()).surveyCount(fr.getSurveyCount())
-                  .updatedAt(java.time.Instant.now().toString()).build())
-              .toList();
-
-          FillRequestBulkStateEvent payload =
-              FillRequestBulkStateEvent.builder().formId(data.getFormId()).requests(reqs)
-                  .updatedAt(java.time.Instant.now().toString()).build();
-          emitBulkState(data.getFormId(), payload);
-        }
+        snapshotCache.get(UUID.fromString(data.getFormId()))
+            .thenAccept(reqs -> client.sendEvent("fill_request_bulk_state",
+                toBulkState(data.getFormId(), reqs)))
+            .exceptionally(e -> {
+              log.debug("Join snapshot failed for form {}: {}", data.getFormId(), e.getMessage());
+              return null;
+            });
       } catch (Exception ignore) {
       }
     };
   }
 
+  private static FillRequestBulkStateEvent toBulkState(String formId,
+      List<FillRequestUpdateEvent> requests) {
+    return FillRequestBulkStateEvent.builder().formId(formId).requests(requests)
+        .updatedAt(java.time.Instant.now().toString()).build();
+  }
+
   private DataListener<JoinLeavePayload> onLeave() {
     return (client, data, ackSender) -> {
-      String roomId = "form:" + data.getFormId();
+      String roomId = formRoom(data.getFormId());
       client.leaveRoom(roomId);
     };
   }
 
   /**
-   * Schedule cleanup of old events to prevent memory leaks
+   * Drop buckets of idle rooms and dedup entries that expired
    */
-  private void scheduleEventCleanup() {
-    Thread cleanupThread = new Thread(() -> {
-      while (!Thread.currentThread().isInterrupted()) {
-        try {
-          Thread.sleep(5 * 60 * 1000); // 5 minutes
-          cleanupOldEvents();
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
-          break;
-        } catch (Exception e) {
-          log.warn("Error during event cleanup: {}", e.getMessage());
-        }
-      }
-    });
-    cleanupThread.setDaemon(true);
-    cleanupThread.setName("EventCleanupThread");
-    cleanupThread.start();
-  }
-
-  /**
-   * Clean up old events and meters to prevent memory leaks
-   */
-  private void cleanupOldEvents() {
+  @Scheduled(fixedDelay = 60_000L)
+  public void cleanupOldEvents() {
     try {
-      long now = System.currentTimeMillis();
-      long cutoff = now - (10 * 60 * 1000); // 10 minutes ago
+      long nowNanos = System.nanoTime();
+      buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos, BUCKET_IDLE_NANOS));
 
-      // Clean up old meters
-      meters.entrySet().removeIf(entry -> {
-        Meter meter = entry.getValue();
-        return (now - meter.windowStart) > (5 * 60 * 1000); // 5 minutes
-      });
+      long cutoff = System.currentTimeMillis() - DEDUP_TTL_MS;
+      lastEmittedEvents.values().removeIf(event -> event.emittedAtMillis() < cutoff);
 
-      // Clean up old events (keep only recent ones)
-      if (lastEmittedEvents.size() > 1000) { // If too many events stored
-        lastEmittedEvents.clear(); // Simple cleanup - in production you might want more
-                                   // sophisticated logic
-        log.debug("Cleaned up old events cache");
-      }
-
-      log.debug("Event cleanup completed - meters: {}, events: {}", meters.size(),
+      log.debug("Event cleanup completed - rooms: {}, events: {}", buckets.size(),
           lastEmittedEvents.size());
     } catch (Exception e) {
       log.warn("Error during event cleanup: {}", e.getMessage());
     }
   }
 }
-
-
@@ -0,0 +1,156 @@
+package com.dienform.realtime;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.dienform.realtime.dto.FillRequestUpdateEvent;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived per-form cache of the status snapshot sent to sockets joining a form room. Misses
+ * run one projection query per form on a small loader pool, never on a Netty I/O thread, and
+ * concurrent joins of the same form share the in-flight load. A status change of any request of
+ * the form drops its snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FormStatusSnapshotCache {
+
+  private record Snapshot(Map<String, FillRequestUpdateEvent> requests, long loadedAtMillis) {
+  }
+
+  private final FillRequestRepository fillRequestRepository;
+
+  @Value("${realtime.socket.snapshot-ttl-ms:2000}")
+  private long ttlMs;
+
+  @Value("${realtime.socket.snapshot-loader-threads:2}")
+  private int loaderThreads;
+
+  private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+  private final Map<UUID, CompletableFuture<Snapshot>> inFlight = new ConcurrentHashMap<>();
+
+  private ThreadPoolExecutor loader;
+
+  @PostConstruct
+  void init() {
+    int threads = Math.max(1, loaderThreads);
+    AtomicInteger threadIndex = new AtomicInteger();
+    loader = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(256), runnable -> {
+          Thread thread = new Thread(runnable, "snapshot-loader-" + threadIndex.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    loader.shutdownNow();
+  }
+
+  /**
+   * Status of every request of a form; completes immediately on a fresh cache hit
+   */
+  public CompletableFuture<List<FillRequestUpdateEvent>> get(UUID formId) {
+    Snapshot cached = snapshots.get(formId);
+    if (cached != null && System.currentTimeMillis() - cached.loadedAtMillis() < ttlMs) {
+      return CompletableFuture.completedFuture(List.copyOf(cached.requests().values()));
+    }
+    CompletableFuture<Snapshot> created = new CompletableFuture<>();
+    CompletableFuture<Snapshot> pending = inFlight.putIfAbsent(formId, created);
+    if (pending == null) {
+      load(formId, created);
+      pending = created;
+    }
+    return pending.thenApply(snapshot -> List.copyOf(snapshot.requests().values()));
+  }
+
+  /**
+   * Drop the snapshot of a form, including one that is being loaded
+   */
+  public void invalidate(UUID formId) {
+    snapshots.remove(formId);
+    inFlight.remove(formId);
+  }
+
+  /**
+   * Drop the snapshot of the event's form if the event changes the status of one of its requests
+   */
+  public void onUpdate(FillRequestUpdateEvent event) {
+    UUID formId;
+    try {
+      formId = UUID.fromString(event.getFormId());
+    } catch (RuntimeException e) {
+      return;
+    }
+    Snapshot cached = snapshots.get(formId);
+    if (cached == null) {
+      return;
+    }
+    FillRequestUpdateEvent known = cached.requests().get(event.getRequestId());
+    // Progress within the same status is covered by the TTL
+    if (known == null || !Objects.equals(known.getStatus(), event.getStatus())) {
+      invalidate(formId);
+    }
+  }
+
+  @Scheduled(fixedDelay = 60_000L)
+  public void evictExpired() {
+    long cutoff = System.currentTimeMillis() - ttlMs;
+    snapshots.values().removeIf(snapshot -> snapshot.loadedAtMillis() < cutoff);
+  }
+
+  private void load(UUID formId, CompletableFuture<Snapshot> future) {
+    try {
+      loader.execute(() -> loadInto(formId, future));
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(formId, future);
+      future.completeExceptionally(e);
+    }
+  }
+
+  private void loadInto(UUID formId, CompletableFuture<Snapshot> future) {
+    try {
+      String formKey = formId.toString();
+      String now = Instant.now().toString();
+      Map<String, FillRequestUpdateEvent> requests = new LinkedHashMap<>();
+      fillRequestRepository.findStatusViewsByFormId(formId)
+          .forEach(view -> requests.put(view.getId().toString(),
+              FillRequestUpdateEvent.builder().formId(formKey)
+                  .requestId(view.getId().toString())
+                  .status(view.getStatus() != null ? view.getStatus().name() : null)
+                  .completedSurvey(view.getCompletedSurvey())
+                  .surveyCount(view.getSurveyCount()).updatedAt(now).build()));
+      Snapshot snapshot =
+          new Snapshot(Collections.unmodifiableMap(requests), System.currentTimeMillis());
+      // Not cached if the form was invalidated while loading
+      if (inFlight.remove(formId, future)) {
+        snapshots.put(formId, snapshot);
+      }
+      future.complete(snapshot);
+    } catch (Exception e) {
+      inFlight.remove(formId, future);
+      future.completeExceptionally(e);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.dienform.tool.dienformtudong.fillrequest.dto.request;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import com.dienform.tool.dienformtudong.fillrequest.enums.DistributionModeEnum;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
@@ -58,6 +59,9 @@ public class FillRequestDTO {
 
     private String endDate;
 
+    // RANDOM (default) or EXACT_QUOTA
+    private DistributionModeEnum distributionMode;
+
     @NotNull(message = "Answer distributions are required")
     @Valid
     private List<AnswerDistributionRequest> answerDistributions;
@@ -51,6 +51,7 @@ public class FillRequestResponse {
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private String status;
+    private String distributionMode;
 
     private int completedSurvey;
 
@@ -4,8 +4,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import com.dienform.common.entity.AuditEntity;
 import com.dienform.tool.dienformtudong.answerdistribution.entity.AnswerDistribution;
+import com.dienform.tool.dienformtudong.fillrequest.enums.DistributionModeEnum;
 import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
 import com.dienform.tool.dienformtudong.fillschedule.entity.FillSchedule;
 import com.dienform.tool.dienformtudong.form.entity.Form;
@@ -14,6 +16,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -33,7 +36,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @org.hibernate.annotations.DynamicUpdate
-@Table(name = "fill_request")
+@Table(name = "fill_request", indexes = {
+        // Queue scans: WHERE status = ? ORDER BY priority DESC, queued_at
+        @Index(name = "idx_fill_request_status_priority_queued",
+                columnList = "status, priority DESC, queued_at"),
+        // Start-date scans: WHERE status = ? AND start_date <= ?
+        @Index(name = "idx_fill_request_status_start_date", columnList = "status, start_date")})
 @EqualsAndHashCode(callSuper = true)
 public class FillRequest extends AuditEntity {
 
@@ -67,6 +75,7 @@ public class FillRequest extends AuditEntity {
     @Builder.Default
     private Integer priority = 0;
 
+    // Legacy column, no longer maintained; see QueueManagementService.getQueuePosition
     @Column(name = "queue_position")
     private Integer queuePosition;
 
@@ -81,6 +90,16 @@ public class FillRequest extends AuditEntity {
     @Builder.Default
     private Integer maxRetries = 3;
 
+    // Null on rows created before the column existed; treated as RANDOM
+    @Enumerated(EnumType.STRING)
+    @Column(name = "distribution_mode", length = 20)
+    @Builder.Default
+    private DistributionModeEnum distributionMode = DistributionModeEnum.RANDOM;
+
+    // Fixed at creation so a resumed request regenerates the same plan sequence
+    @Column(name = "distribution_seed")
+    private Long distributionSeed;
+
     @OneToMany(mappedBy = "fillRequest")
     private List<AnswerDistribution> answerDistributions = new ArrayList<>();
 
@@ -104,5 +123,8 @@ public class FillRequest extends AuditEntity {
         if (completedSurvey < 0) {
             completedSurvey = 0;
         }
+        if (distributionSeed == null) {
+            distributionSeed = ThreadLocalRandom.current().nextLong();
+        }
     }
 }
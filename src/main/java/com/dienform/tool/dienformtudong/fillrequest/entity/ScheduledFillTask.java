@@ -0,0 +1,60 @@
+package com.dienform.tool.dienformtudong.fillrequest.entity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import com.dienform.common.entity.AuditEntity;
+import com.dienform.tool.dienformtudong.fillrequest.enums.ScheduledFillTaskStateEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One planned row of a data fill campaign. The resolved form data is stored with the row so a
+ * restarted campaign can resume without re-reading the sheet or re-planning the schedule.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "scheduled_fill_task", indexes = {@Index(name = "idx_scheduled_fill_task_request_state",
+    columnList = "fill_request_id, state, due_time")})
+@EqualsAndHashCode(callSuper = true)
+public class ScheduledFillTask extends AuditEntity {
+
+  @Column(name = "fill_request_id", nullable = false)
+  private UUID fillRequestId;
+
+  @Column(name = "row_index", nullable = false)
+  private int rowIndex;
+
+  @Column(name = "due_time", nullable = false)
+  private LocalDateTime dueTime;
+
+  @Builder.Default
+  @Enumerated(EnumType.STRING)
+  @Column(name = "state", nullable = false, length = 20)
+  private ScheduledFillTaskStateEnum state = ScheduledFillTaskStateEnum.PENDING;
+
+  @Builder.Default
+  @Column(name = "attempt_count", nullable = false)
+  private int attemptCount = 0;
+
+  @Column(name = "claimed_at")
+  private LocalDateTime claimedAt;
+
+  @Column(name = "payload", columnDefinition = "JSON")
+  @JdbcTypeCode(SqlTypes.JSON)
+  private Map<String, String> payload;
+}
@@ -0,0 +1,17 @@
+package com.dienform.tool.dienformtudong.fillrequest.enums;
+
+/**
+ * How answer distributions are turned into per-survey selections
+ */
+public enum DistributionModeEnum {
+  /**
+   * Every survey samples its options independently from the percentages
+   */
+  RANDOM,
+
+  /**
+   * Option counts are fixed up front (largest remainder) and shuffled across the surveys, so the
+   * final totals match the percentages exactly
+   */
+  EXACT_QUOTA
+}
@@ -0,0 +1,12 @@
+package com.dienform.tool.dienformtudong.fillrequest.enums;
+
+public enum ScheduledFillTaskStateEnum {
+  PENDING, CLAIMED, DONE, FAILED;
+
+  /**
+   * Check if the task no longer needs to be executed
+   */
+  public boolean isTerminal() {
+    return this == DONE || this == FAILED;
+  }
+}
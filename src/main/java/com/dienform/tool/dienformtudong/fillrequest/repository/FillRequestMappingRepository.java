@@ -1,5 +1,6 @@
 package com.dienform.tool.dienformtudong.fillrequest.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,6 +15,11 @@ public interface FillRequestMappingRepository extends JpaRepository<FillRequestM
    */
   List<FillRequestMapping> findByFillRequestId(UUID fillRequestId);
 
+  /**
+   * Find all mappings of several fill requests in one query
+   */
+  List<FillRequestMapping> findByFillRequestIdIn(Collection<UUID> fillRequestIds);
+
   /**
    * Delete all mappings for a specific fill request
    */
@@ -0,0 +1,20 @@
+package com.dienform.tool.dienformtudong.fillrequest.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the fields the queue dispatcher needs from a fill request
+ */
+public interface FillRequestQueueView {
+
+  UUID getId();
+
+  Integer getPriority();
+
+  Boolean getHumanLike();
+
+  LocalDateTime getStartDate();
+
+  LocalDateTime getQueuedAt();
+}
@@ -1,6 +1,7 @@
 package com.dienform.tool.dienformtudong.fillrequest.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +27,13 @@ public interface FillRequestRepository extends JpaRepository<FillRequest, UUID>
         @Query("SELECT fr FROM FillRequest fr WHERE fr.id = ?1")
         Optional<FillRequest> findByIdWithFetchForm(UUID id);
 
+        /**
+         * Find FillRequests with form loaded, in one query
+         */
+        @EntityGraph(attributePaths = {"form"})
+        @Query("SELECT fr FROM FillRequest fr WHERE fr.id IN ?1")
+        List<FillRequest> findAllByIdWithFetchForm(Collection<UUID> ids);
+
         /**
          * Find FillRequest with all related data loaded to avoid LazyInitializationException
          */
@@ -42,37 +50,29 @@ public interface FillRequestRepository extends JpaRepository<FillRequest, UUID>
         List<FillRequest> findByForm(Form form);
 
         /**
-         * Find PENDING campaigns that should start now or in the past
+         * Status of every request of a form, for realtime snapshots (no entity graph, no
+         * distributions)
          */
-        @EntityGraph(attributePaths = {"form"})
-        @Query("SELECT fr FROM FillRequest fr WHERE fr.status = ?1 AND fr.startDate <= ?2")
-        List<FillRequest> findByStatusAndStartDateLessThanEqual(FillRequestStatusEnum status,
-                        LocalDateTime startDate);
+        @Query("SELECT fr.id AS id, fr.status AS status, fr.completedSurvey AS completedSurvey, "
+                        + "fr.surveyCount AS surveyCount FROM FillRequest fr WHERE fr.form.id = ?1")
+        List<FillRequestStatusView> findStatusViewsByFormId(UUID formId);
 
         @Query("SELECT fr FROM FillRequest fr WHERE fr.status = ?1 AND fr.startDate < ?2")
         List<FillRequest> findByStatusAndStartDateLessThan(FillRequestStatusEnum status,
                         LocalDateTime startDate);
 
         /**
-         * Find QUEUED campaigns ordered by priority and queue position
-         */
-        @EntityGraph(attributePaths = {"form"})
-        @Query("SELECT fr FROM FillRequest fr WHERE fr.status = ?1 ORDER BY fr.priority DESC, fr.queuedAt ASC")
-        List<FillRequest> findQueuedRequestsOrderedByPriority(FillRequestStatusEnum status);
-
-        /**
-         * Find the next queue position for new requests
+         * Queue fields only, in dispatch order, without loading entities or the form
          */
-        @Query("SELECT COALESCE(MAX(fr.queuePosition), 0) + 1 FROM FillRequest fr WHERE fr.status = ?1")
-        Integer findNextQueuePosition(FillRequestStatusEnum status);
+        @Query("SELECT fr.id AS id, fr.priority AS priority, fr.humanLike AS humanLike, fr.startDate AS startDate, fr.queuedAt AS queuedAt FROM FillRequest fr WHERE fr.status = ?1 ORDER BY fr.priority DESC, fr.queuedAt ASC")
+        List<FillRequestQueueView> findQueueViewsByStatus(FillRequestStatusEnum status);
 
         /**
-         * Update queue positions after a request is processed
+         * Queue fields of a single request if it has the given status
          */
-        @Modifying(flushAutomatically = true, clearAutomatically = true)
-        @Transactional
-        @Query("UPDATE FillRequest fr SET fr.queuePosition = fr.queuePosition - 1 WHERE fr.status = ?1 AND fr.queuePosition > ?2")
-        int decrementQueuePositions(FillRequestStatusEnum status, Integer position);
+        @Query("SELECT fr.id AS id, fr.priority AS priority, fr.humanLike AS humanLike, fr.startDate AS startDate, fr.queuedAt AS queuedAt FROM FillRequest fr WHERE fr.id = ?1 AND fr.status = ?2")
+        Optional<FillRequestQueueView> findQueueViewByIdAndStatus(UUID id,
+                        FillRequestStatusEnum status);
 
         /**
          * Find requests that need retry (FAILED with retry count < max retries)
@@ -109,6 +109,20 @@ public interface FillRequestRepository extends JpaRepository<FillRequest, UUID>
         @Query("UPDATE FillRequest fr SET fr.completedSurvey = fr.completedSurvey + 1, fr.updatedAt = NOW() WHERE fr.id = ?1 AND fr.completedSurvey < fr.surveyCount")
         int incrementCompletedSurveyAtomic(UUID id);
 
+        /**
+         * Add a batch of completed surveys, never going past surveyCount
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Transactional
+        @Query("UPDATE FillRequest fr SET fr.completedSurvey = LEAST(fr.completedSurvey + ?2, fr.surveyCount), fr.updatedAt = NOW() WHERE fr.id = ?1")
+        int addCompletedSurveys(UUID id, int delta);
+
+        /**
+         * Read only the persisted completedSurvey of a request
+         */
+        @Query("SELECT fr.completedSurvey FROM FillRequest fr WHERE fr.id = ?1")
+        Optional<Integer> findCompletedSurveyById(UUID id);
+
         /**
          * Fetch a FillRequest with PESSIMISTIC_WRITE lock for safe concurrent increments.
          */
@@ -0,0 +1,18 @@
+package com.dienform.tool.dienformtudong.fillrequest.repository;
+
+import java.util.UUID;
+import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
+
+/**
+ * Projection of a fill request for realtime status snapshots, without answer distributions
+ */
+public interface FillRequestStatusView {
+
+        UUID getId();
+
+        FillRequestStatusEnum getStatus();
+
+        int getCompletedSurvey();
+
+        int getSurveyCount();
+}
@@ -0,0 +1,49 @@
+package com.dienform.tool.dienformtudong.fillrequest.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.dienform.tool.dienformtudong.fillrequest.entity.ScheduledFillTask;
+import com.dienform.tool.dienformtudong.fillrequest.enums.ScheduledFillTaskStateEnum;
+
+@Repository
+public interface ScheduledFillTaskRepository extends JpaRepository<ScheduledFillTask, UUID> {
+
+  boolean existsByFillRequestId(UUID fillRequestId);
+
+  long countByFillRequestIdAndState(UUID fillRequestId, ScheduledFillTaskStateEnum state);
+
+  List<ScheduledFillTask> findByFillRequestIdAndStateOrderByDueTimeAsc(UUID fillRequestId,
+      ScheduledFillTaskStateEnum state);
+
+  /**
+   * Lock a pending task for execution. Rows already locked by another worker are skipped instead
+   * of waited on, so concurrent workers never execute the same row twice.
+   */
+  @Query(value = "SELECT * FROM scheduled_fill_task WHERE id = :id AND state = 'PENDING' "
+      + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  Optional<ScheduledFillTask> lockPendingById(@Param("id") UUID id);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE ScheduledFillTask t SET t.state = :state, t.updatedAt = :now WHERE t.id = :id")
+  int updateState(@Param("id") UUID id, @Param("state") ScheduledFillTaskStateEnum state,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Return rows claimed by a worker that died (e.g. on restart) and rows that exhausted their
+   * attempts in a previous run to the pending state
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE ScheduledFillTask t SET t.state = 'PENDING', t.claimedAt = null, "
+      + "t.updatedAt = :now WHERE t.fillRequestId = :fillRequestId "
+      + "AND t.state IN ('CLAIMED', 'FAILED')")
+  int releaseUnfinished(@Param("fillRequestId") UUID fillRequestId, @Param("now") LocalDateTime now);
+
+  void deleteByFillRequestId(UUID fillRequestId);
+}
@@ -0,0 +1,133 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timer stage for campaign tasks. Pending tasks are parked on a small scheduled timer (not on a
+ * worker thread) and only handed to the worker executor once their due time arrives, so a pool of
+ * N workers can serve thousands of pending rows across campaigns.
+ */
+@Component
+@Slf4j
+public class CampaignTaskScheduler {
+
+  private final AtomicInteger pendingTasks = new AtomicInteger(0);
+
+  private final AtomicInteger dispatchedTasks = new AtomicInteger(0);
+
+  @Value("${campaign.dispatch.timer-threads:1}")
+  private int timerThreads;
+
+  private ScheduledThreadPoolExecutor timer;
+
+  @PostConstruct
+  public void init() {
+    AtomicInteger threadIndex = new AtomicInteger(0);
+    timer = new ScheduledThreadPoolExecutor(Math.max(1, timerThreads), r -> {
+      Thread t = new Thread(r, "campaign-timer-" + threadIndex.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+    timer.setRemoveOnCancelPolicy(true);
+    log.info("CampaignTaskScheduler: Initialized with {} timer thread(s)", timer.getCorePoolSize());
+  }
+
+  @PreDestroy
+  public void cleanup() {
+    if (timer != null) {
+      int dropped = timer.shutdownNow().size();
+      log.info("CampaignTaskScheduler: Shut down, {} pending task(s) dropped", dropped);
+    }
+  }
+
+  /**
+   * Run the work on the worker executor once dueTime is reached.
+   *
+   * @param dueTime time at which the work becomes eligible; past times dispatch immediately
+   * @param work the work to run on a worker thread
+   * @param workerExecutor executor that actually runs the work
+   * @param timeout max time the work may take once dispatched, or null for no limit
+   * @return future completed with the result of the work
+   */
+  public <T> CompletableFuture<T> scheduleAt(LocalDateTime dueTime, Supplier<T> work,
+      Executor workerExecutor, Duration timeout) {
+    long delayMs =
+        dueTime == null ? 0 : Math.max(0, Duration.between(LocalDateTime.now(), dueTime).toMillis());
+    return scheduleAfter(delayMs, work, workerExecutor, timeout);
+  }
+
+  /**
+   * Run the work on the worker executor after the given delay.
+   */
+  public <T> CompletableFuture<T> scheduleAfter(long delayMs, Supplier<T> work,
+      Executor workerExecutor, Duration timeout) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    pendingTasks.incrementAndGet();
+    try {
+      timer.schedule(() -> dispatch(work, workerExecutor, timeout, result), delayMs,
+          TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      pendingTasks.decrementAndGet();
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Run a short piece of coordination work on the timer thread, never inline
+   *
+   * @throws RejectedExecutionException if the timer has been shut down
+   */
+  public void execute(Runnable work) {
+    timer.execute(work);
+  }
+
+  /**
+   * Number of tasks waiting for their due time
+   */
+  public int getPendingCount() {
+    return pendingTasks.get();
+  }
+
+  /**
+   * Number of tasks handed to a worker executor since startup
+   */
+  public int getDispatchedCount() {
+    return dispatchedTasks.get();
+  }
+
+  private <T> void dispatch(Supplier<T> work, Executor workerExecutor, Duration timeout,
+      CompletableFuture<T> result) {
+    pendingTasks.decrementAndGet();
+    dispatchedTasks.incrementAndGet();
+    try {
+      CompletableFuture<T> running = CompletableFuture.supplyAsync(work, workerExecutor);
+      if (timeout != null) {
+        running = running.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      }
+      running.whenComplete((value, error) -> {
+        if (error != null) {
+          result.completeExceptionally(error);
+        } else {
+          result.complete(value);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      log.warn("Worker executor rejected due task: {}", e.getMessage());
+      result.completeExceptionally(e);
+    }
+  }
+}
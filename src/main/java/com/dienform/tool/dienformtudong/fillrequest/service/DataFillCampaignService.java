@@ -2,42 +2,53 @@ package com.dienform.tool.dienformtudong.fillrequest.service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.dienform.common.util.CopyUtil;
+import com.dienform.common.util.Constants;
 import com.dienform.common.util.CurrentUserUtil;
 import com.dienform.tool.dienformtudong.datamapping.dto.request.DataFillRequestDTO;
 import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
+import com.dienform.tool.dienformtudong.fillrequest.entity.ScheduledFillTask;
 import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
 import com.dienform.tool.dienformtudong.fillrequest.service.ScheduleDistributionService.ScheduledTask;
 import com.dienform.tool.dienformtudong.fillrequest.validator.DataFillValidator;
 import com.dienform.tool.dienformtudong.googleform.service.GoogleFormService;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledForm;
 import com.dienform.tool.dienformtudong.question.entity.Question;
 import com.dienform.tool.dienformtudong.question.entity.QuestionOption;
-import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
+import com.dienform.tool.dienformtudong.surveyexecution.service.ExecutionService;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 public class DataFillCampaignService {
 
+  private static final int MAX_ATTEMPTS = 3;
+
+  private static final long RETRY_DELAY_SECONDS = 5;
+
+  private static final long TASK_TIMEOUT_SECONDS = 180;
+
+  private static final long SUBMISSION_STAGGER_MS = 500;
+
+  /**
+   * Result of running one scheduled row
+   */
+  private enum TaskOutcome {
+    SUCCEEDED, FAILED,
+    // The row was not pending: another attempt holds it or it already finished
+    OWNED_ELSEWHERE
+  }
+
   @Autowired
   private GoogleFormService googleFormService;
 
@@ -54,41 +65,37 @@ public class DataFillCampaignService {
   private FillRequestCounterService fillRequestCounterService;
 
   @Autowired
-  private QuestionRepository questionRepository;
+  private FillRequestProgressAggregator fillRequestProgressAggregator;
+
+  @Autowired
+  private CampaignTaskScheduler campaignTaskScheduler;
 
-  @Value("${google.form.thread-pool-size:2}")
-  private int threadPoolSize;
+  @Autowired
+  private ScheduledFillTaskLedger scheduledFillTaskLedger;
 
-  private ExecutorService executorService;
+  @Autowired
+  private SurveyWorkerPool surveyWorkerPool;
 
   @Autowired
   private com.dienform.realtime.FillRequestRealtimeGateway realtimeGateway;
 
   @Autowired
-  private CurrentUserUtil currentUserUtil;
+  private com.dienform.realtime.FillRequestProgressPublisher progressPublisher;
 
-  @PostConstruct
-  public void init() {
-    log.info("DataFillCampaignService: Initializing executor service with thread pool size: {}",
-        threadPoolSize);
-    executorService = Executors.newFixedThreadPool(threadPoolSize);
-    log.info("DataFillCampaignService: Executor service initialized successfully with {} threads",
-        threadPoolSize);
-  }
+  @Autowired
+  private CurrentUserUtil currentUserUtil;
 
-  @PreDestroy
-  public void cleanup() {
-    shutdownExecutorService();
-  }
+  @Autowired
+  private ExecutionService executionService;
 
   /**
    * Execute data fill campaign based on schedule
    */
   public CompletableFuture<Void> executeCampaign(FillRequest fillRequest,
-      DataFillRequestDTO originalRequest, List<Question> questions, List<ScheduledTask> schedule) {
+      DataFillRequestDTO originalRequest, CompiledForm form, List<ScheduledTask> schedule) {
 
     log.info("Starting data fill campaign for request: {} with {} tasks using {} threads",
-        fillRequest.getId(), schedule.size(), threadPoolSize);
+        fillRequest.getId(), schedule.size(), surveyWorkerPool.getPoolSize());
 
     // Check if already completed
     if (fillRequest.getCompletedSurvey() >= fillRequest.getSurveyCount()) {
@@ -117,83 +124,92 @@ public class DataFillCampaignService {
     CompletableFuture<Void> executionFuture = new CompletableFuture<>();
 
     try {
-      // Initialize data needed for form filling
-      Map<UUID, Question> questionMap = new HashMap<>();
-      for (Question q : questions) {
-        Question detachedQuestion = CopyUtil.detachedCopy(q, source -> {
-          Question copy = new Question(source);
-          List<QuestionOption> detachedOptions = source.getOptions().stream().map(opt -> {
-            QuestionOption optionCopy = new QuestionOption(opt);
-            optionCopy.setQuestion(copy);
-            return optionCopy;
-          }).collect(Collectors.toList());
-          copy.setOptions(detachedOptions);
-          return copy;
-        });
-        questionMap.put(q.getId(), detachedQuestion);
-      }
+      List<ScheduledFillTask> pendingTasks;
+      if (scheduledFillTaskLedger.hasSchedule(fillRequest.getId())) {
+        // Resume the persisted schedule; form data was resolved when the campaign was planned
+        pendingTasks = scheduledFillTaskLedger.resumePending(fillRequest.getId());
+        log.info("Resuming persisted schedule for fillRequest: {} with {} pending tasks",
+            fillRequest.getId(), pendingTasks.size());
+      } else {
+        // Read sheet data
+        List<Map<String, Object>> sheetData =
+            googleSheetsService.getSheetData(originalRequest.getSheetLink());
+
+        if (sheetData == null || sheetData.isEmpty()) {
+          log.error("No data found in sheet for request: {}", fillRequest.getId());
+          updateFillRequestStatus(fillRequest, FillRequestStatusEnum.FAILED);
+          executionFuture.complete(null);
+          return executionFuture;
+        }
 
-      // Read sheet data
-      List<Map<String, Object>> sheetData =
-          googleSheetsService.getSheetData(originalRequest.getSheetLink());
+        // Check if there are enough data rows for the remaining survey count
+        if (sheetData.size() < remainingSurveys) {
+          log.warn(
+              "Not enough data rows in sheet for remaining surveys. Required: {}, Available: {}. Data will be reused from the beginning.",
+              remainingSurveys, sheetData.size());
+        }
+
+        // Resolve every row once (wrap if not enough rows) and persist the plan
+        pendingTasks = scheduledFillTaskLedger.persistSchedule(fillRequest.getId(),
+            remainingSchedule, task -> buildFormData(originalRequest, form,
+                sheetData.get(task.getRowIndex() % sheetData.size())));
+      }
 
-      if (sheetData == null || sheetData.isEmpty()) {
-        log.error("No data found in sheet for request: {}", fillRequest.getId());
+      if (pendingTasks.isEmpty()) {
+        log.warn("No pending tasks left for fillRequest: {} ({}/{} completed)",
+            fillRequest.getId(), fillRequest.getCompletedSurvey(), fillRequest.getSurveyCount());
+        scheduledFillTaskLedger.clear(fillRequest.getId());
         updateFillRequestStatus(fillRequest, FillRequestStatusEnum.FAILED);
         executionFuture.complete(null);
         return executionFuture;
       }
 
-      // Check if there are enough data rows for the remaining survey count
-      if (sheetData.size() < remainingSurveys) {
-        log.warn(
-            "Not enough data rows in sheet for remaining surveys. Required: {}, Available: {}. Data will be reused from the beginning.",
-            remainingSurveys, sheetData.size());
-      }
-
       AtomicInteger completedTasks = new AtomicInteger(0);
       AtomicInteger successfulTasks = new AtomicInteger(0);
+      AtomicInteger ownedElsewhereTasks = new AtomicInteger(0);
       AtomicInteger submittedTasks = new AtomicInteger(0);
-      int totalTasks = remainingSchedule.size();
+      int totalTasks = pendingTasks.size();
 
       log.info("TASK EXECUTION PLAN: Total {} tasks will be processed with {} threads", totalTasks,
-          threadPoolSize);
+          surveyWorkerPool.getPoolSize());
       log.info(
-          "EXPECTED FLOW: First {} tasks start immediately, remaining tasks queue and wait for thread availability",
-          Math.min(totalTasks, threadPoolSize));
+          "EXPECTED FLOW: Tasks wait on the dispatch timer and only occupy one of {} threads once due",
+          surveyWorkerPool.getPoolSize());
 
       // Execute each task
-      log.info("Submitting {} tasks to executor service for fillRequest: {} (thread pool size: {})",
-          remainingSchedule.size(), fillRequest.getId(), threadPoolSize);
+      log.info("Scheduling {} tasks on dispatch timer for fillRequest: {} (thread pool size: {})",
+          totalTasks, fillRequest.getId(), surveyWorkerPool.getPoolSize());
 
-      for (int i = 0; i < remainingSchedule.size(); i++) {
-        ScheduledTask task = remainingSchedule.get(i);
+      LocalDateTime campaignStart = LocalDateTime.now();
+      for (int i = 0; i < pendingTasks.size(); i++) {
+        ScheduledFillTask task = pendingTasks.get(i);
         final int taskIndex = i + 1;
         int submitted = submittedTasks.incrementAndGet();
-        log.info("Submitting task {}/{} (row {}) for fillRequest: {} - SUBMITTED: {}/{}", taskIndex,
-            remainingSchedule.size(), task.getRowIndex(), fillRequest.getId(), submitted,
-            totalTasks);
-
-        // Add small delay between task submissions for low-spec machines
-        if (i > 0) {
-          try {
-            Thread.sleep(500); // 500ms delay between submissions
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Task submission delay interrupted for fillRequest: {}", fillRequest.getId());
-          }
+
+        // Human-like delay is folded into the due time; submissions stay staggered by 500ms for
+        // low-spec machines, but the stagger is applied by the timer instead of blocking here
+        LocalDateTime dueTime = task.getDueTime();
+        LocalDateTime staggeredStart =
+            campaignStart.plus(Duration.ofMillis(i * SUBMISSION_STAGGER_MS));
+        if (dueTime.isBefore(staggeredStart)) {
+          dueTime = staggeredStart;
         }
 
-        // Monitor thread pool status
-        logThreadPoolStatus("After submitting task " + taskIndex);
+        log.info("Scheduling task {}/{} (row {}) for fillRequest: {} at {} - SUBMITTED: {}/{}",
+            taskIndex, totalTasks, task.getRowIndex(), fillRequest.getId(), dueTime,
+            submitted, totalTasks);
 
-        scheduleFormFill(fillRequest, originalRequest, questionMap, sheetData, task)
-            .thenAccept(success -> {
+        scheduleFormFill(fillRequest, task, dueTime, 1)
+            .thenAccept(outcome -> {
               int completed = completedTasks.incrementAndGet();
-              if (success) {
+              if (outcome == TaskOutcome.SUCCEEDED) {
                 successfulTasks.incrementAndGet();
                 log.info("Task completed successfully: {}/{} for fillRequest: {}", completed,
                     totalTasks, fillRequest.getId());
+              } else if (outcome == TaskOutcome.OWNED_ELSEWHERE) {
+                ownedElsewhereTasks.incrementAndGet();
+                log.info("Task {}/{} was not pending, left to its owner (fillRequest: {})",
+                    completed, totalTasks, fillRequest.getId());
               } else {
                 log.warn("Task failed: {}/{} for fillRequest: {}", completed, totalTasks,
                     fillRequest.getId());
@@ -201,10 +217,13 @@ public class DataFillCampaignService {
 
               // Check if all tasks are complete
               if (completed == totalTasks) {
-                log.info("All tasks completed for campaign {}. Successful: {}/{}",
-                    fillRequest.getId(), successfulTasks.get(), totalTasks);
+                log.info(
+                    "All tasks completed for campaign {}. Successful: {}/{}, owned elsewhere: {}",
+                    fillRequest.getId(), successfulTasks.get(), totalTasks,
+                    ownedElsewhereTasks.get());
 
                 // Decide final status based on persisted completedSurvey to ensure accuracy
+                fillRequestProgressAggregator.flush(fillRequest.getId());
                 FillRequest fresh =
                     fillRequestRepository.findById(fillRequest.getId()).orElse(null);
                 if (fresh == null) {
@@ -213,18 +232,17 @@ public class DataFillCampaignService {
                   return;
                 }
 
-                FillRequestStatusEnum finalStatus;
-                if (fresh.getCompletedSurvey() >= fresh.getSurveyCount()
-                    && successfulTasks.get() == totalTasks) {
-                  finalStatus = FillRequestStatusEnum.COMPLETED;
-                } else if (successfulTasks.get() == 0 || successfulTasks.get() < totalTasks) {
-                  finalStatus = FillRequestStatusEnum.IN_PROCESS;
-                } else {
-                  // Not all persisted yet, keep IN_PROCESS; caller may check later
-                  finalStatus = FillRequestStatusEnum.IN_PROCESS;
-                }
+                // Rows owned elsewhere are counted by their owner, so only the persisted count
+                // decides; anything short of surveyCount stays IN_PROCESS
+                FillRequestStatusEnum finalStatus =
+                    fresh.getCompletedSurvey() >= fresh.getSurveyCount()
+                        ? FillRequestStatusEnum.COMPLETED
+                        : FillRequestStatusEnum.IN_PROCESS;
 
                 updateFillRequestStatus(fillRequest, finalStatus);
+                if (finalStatus == FillRequestStatusEnum.COMPLETED) {
+                  scheduledFillTaskLedger.clear(fillRequest.getId());
+                }
                 try {
                   com.dienform.realtime.dto.FillRequestUpdateEvent evt =
                       com.dienform.realtime.dto.FillRequestUpdateEvent.builder()
@@ -243,9 +261,8 @@ public class DataFillCampaignService {
                     log.debug("Failed to get current user ID: {}", ignore.getMessage());
                   }
 
-                  // Use centralized emit method with deduplication
-                  realtimeGateway.emitUpdateWithUser(fresh.getForm().getId().toString(), evt,
-                      userId);
+                  // Final state is delivered immediately by the publisher
+                  progressPublisher.publish(evt, userId);
                 } catch (Exception ignore) {
                   log.debug("Failed to emit final status update: {}", ignore.getMessage());
                 }
@@ -269,8 +286,10 @@ public class DataFillCampaignService {
             "CRITICAL: Only {}/{} tasks were submitted! Missing tasks detected for fillRequest: {}",
             finalSubmittedCount, totalTasks, fillRequest.getId());
       } else {
-        log.info("SUCCESS: All {}/{} tasks submitted to executor queue for fillRequest: {}",
-            finalSubmittedCount, totalTasks, fillRequest.getId());
+        log.info(
+            "SUCCESS: All {}/{} tasks handed to dispatch timer for fillRequest: {} (pending: {})",
+            finalSubmittedCount, totalTasks, fillRequest.getId(),
+            campaignTaskScheduler.getPendingCount());
       }
 
     } catch (Exception e) {
@@ -300,7 +319,7 @@ public class DataFillCampaignService {
   }
 
   /**
-   * Ensure current user is in the form room and send initial updates
+   * Send initial updates to the current user's sockets, which joined the user room on connect
    */
   private void ensureUserInRoom(FillRequest fillRequest) {
     try {
@@ -308,9 +327,6 @@ public class DataFillCampaignService {
         String userId = uid.toString();
         String formId = fillRequest.getForm().getId().toString();
 
-        // Ensure user joins the room
-        realtimeGateway.ensureUserJoinedFormRoom(userId, formId);
-
         // Send bulk state update
         realtimeGateway.emitBulkStateForUser(userId, formId);
 
@@ -323,8 +339,7 @@ public class DataFillCampaignService {
                 .updatedAt(java.time.Instant.now().toString()).build();
         realtimeGateway.emitUpdateForUser(userId, formId, evt);
 
-        log.debug("Ensured user {} is in room for form {} and sent initial updates", userId,
-            formId);
+        log.debug("Sent initial updates for form {} to user {}", formId, userId);
       });
     } catch (Exception e) {
       log.warn("Failed to ensure user in room: {}", e.getMessage());
@@ -332,194 +347,117 @@ public class DataFillCampaignService {
   }
 
   /**
-   * Emit progress update to both form room and user-specific room
+   * Park the task on the dispatch timer until dueTime, then run it on the worker pool. Failed
+   * attempts are re-armed on the timer instead of sleeping on a worker thread. An attempt that
+   * outlives the task timeout still holds its claim, so the retry waits for its real outcome
+   * instead of trying to claim the row again.
    */
-  private void emitProgressUpdate(UUID fillRequestId) {
-    try {
-      com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest current =
-          fillRequestRepository.findById(fillRequestId).orElse(null);
-      if (current != null && current.getForm() != null) {
-        // Only emit if there's meaningful progress (completedSurvey > 0)
-        if (current.getCompletedSurvey() > 0) {
-          com.dienform.realtime.dto.FillRequestUpdateEvent evt =
-              com.dienform.realtime.dto.FillRequestUpdateEvent.builder()
-                  .formId(current.getForm().getId().toString())
-                  .requestId(current.getId().toString())
-                  .status(current.getStatus() == null
-                      ? com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum.IN_PROCESS
-                          .name()
-                      : current.getStatus().name())
-                  .completedSurvey(current.getCompletedSurvey())
-                  .surveyCount(current.getSurveyCount())
-                  .updatedAt(java.time.Instant.now().toString()).build();
-
-          // Emit to form room only (avoid duplicate user-specific emissions)
-          realtimeGateway.emitUpdate(current.getForm().getId().toString(), evt);
-
-          log.debug("Emitted progress update for fillRequest: {} - {}/{}", fillRequestId,
-              current.getCompletedSurvey(), current.getSurveyCount());
-        }
-      }
-    } catch (Exception e) {
-      log.warn("Failed to emit progress update: {}", e.getMessage());
-    }
-  }
+  private CompletableFuture<TaskOutcome> scheduleFormFill(FillRequest fillRequest,
+      ScheduledFillTask task, LocalDateTime dueTime, int attempt) {
 
-  private void shutdownExecutorService() {
-    if (executorService != null) {
-      executorService.shutdown();
+    log.debug("Scheduling form fill attempt {} for task row {} (fillRequest: {}) at {}", attempt,
+        task.getRowIndex(), fillRequest.getId(), dueTime);
+
+    // Completed when the attempt really ends, even after the timeout gave up waiting on it
+    CompletableFuture<TaskOutcome> finished = new CompletableFuture<>();
+    return campaignTaskScheduler.scheduleAt(dueTime, () -> {
       try {
-        if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-          executorService.shutdownNow();
-        }
-      } catch (InterruptedException e) {
-        executorService.shutdownNow();
-        Thread.currentThread().interrupt();
+        TaskOutcome outcome = runAttempt(fillRequest, task, attempt);
+        finished.complete(outcome);
+        return outcome;
+      } catch (RuntimeException e) {
+        finished.complete(TaskOutcome.FAILED);
+        throw e;
       }
-    }
+    }, surveyWorkerPool, Duration.ofSeconds(TASK_TIMEOUT_SECONDS)).handle((outcome, throwable) -> {
+      if (throwable == null) {
+        return CompletableFuture.completedFuture(outcome);
+      }
+      Throwable cause = throwable instanceof java.util.concurrent.CompletionException
+          && throwable.getCause() != null ? throwable.getCause() : throwable;
+      if (cause instanceof java.util.concurrent.TimeoutException) {
+        log.error(
+            "Task for row {} timed out after {} seconds, waiting for the running attempt (fillRequest: {})",
+            task.getRowIndex(), TASK_TIMEOUT_SECONDS, fillRequest.getId());
+        return finished;
+      }
+      log.error("Task for row {} failed with exception (fillRequest: {}): {}",
+          task.getRowIndex(), fillRequest.getId(), cause.getMessage());
+      return CompletableFuture.completedFuture(TaskOutcome.FAILED);
+    }).thenCompose(outcome -> outcome).thenCompose(outcome -> {
+      if (outcome != TaskOutcome.FAILED) {
+        return CompletableFuture.completedFuture(outcome);
+      }
+      if (attempt >= MAX_ATTEMPTS) {
+        log.error("All form fill attempts failed for row {}", task.getRowIndex());
+        scheduledFillTaskLedger.markFailed(task.getId());
+        return CompletableFuture.completedFuture(outcome);
+      }
+      log.warn("Form fill attempt {} failed for row {}. Retrying in {} seconds...", attempt,
+          task.getRowIndex(), RETRY_DELAY_SECONDS);
+      return scheduleFormFill(fillRequest, task,
+          LocalDateTime.now().plusSeconds(RETRY_DELAY_SECONDS), attempt + 1);
+    });
   }
 
-  private CompletableFuture<Boolean> scheduleFormFill(FillRequest fillRequest,
-      DataFillRequestDTO originalRequest, Map<UUID, Question> questionMap,
-      List<Map<String, Object>> sheetData, ScheduledTask task) {
-
-    log.info(
-        "Scheduling form fill for task row {} (fillRequest: {}) - Submitting to executor queue",
-        task.getRowIndex(), fillRequest.getId());
-
-    CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
-      try {
-        log.info("THREAD ASSIGNED: Task row {} started execution on thread: {} (fillRequest: {})",
-            task.getRowIndex(), Thread.currentThread().getName(), fillRequest.getId());
-
-        // Calculate delay
-        long delaySeconds = Math.max(0,
-            Duration.between(LocalDateTime.now(), task.getExecutionTime()).getSeconds());
-
-        if (delaySeconds > 0) {
-          log.info("Waiting {} seconds before executing task for row {} on thread: {}",
-              delaySeconds, task.getRowIndex(), Thread.currentThread().getName());
-          Thread.sleep(delaySeconds * 1000);
-        }
-
-        // Execute form fill with retry mechanism
-        int maxRetries = 3;
-        int retryCount = 0;
-        boolean success = false;
-
-        while (retryCount < maxRetries && !success) {
-          try {
-            success = executeFormFill(fillRequest, originalRequest, questionMap, sheetData, task);
-            if (!success) {
-              retryCount++;
-              if (retryCount < maxRetries) {
-                log.warn("Form fill attempt {} failed for row {}. Retrying in 5 seconds...",
-                    retryCount, task.getRowIndex());
-                Thread.sleep(5000); // Wait 5 seconds before retry
-              }
-            }
-          } catch (Exception e) {
-            log.error("Error in form fill attempt {} for row {}: {}", retryCount + 1,
-                task.getRowIndex(), e.getMessage());
-            retryCount++;
-            if (retryCount < maxRetries) {
-              Thread.sleep(5000);
-            }
-          }
-        }
-
-        if (!success) {
-          log.error("All form fill attempts failed for row {}", task.getRowIndex());
-        }
-
-        log.info(
-            "THREAD RELEASED: Task row {} finished execution on thread: {} (success: {}, fillRequest: {})",
-            task.getRowIndex(), Thread.currentThread().getName(), success, fillRequest.getId());
-
-        return success;
-      } catch (Exception e) {
-        log.error("Error in scheduled form fill: {}", e.getMessage(), e);
-        return false;
+  /**
+   * Claim the row and submit it once, on a worker thread
+   */
+  private TaskOutcome runAttempt(FillRequest fillRequest, ScheduledFillTask task, int attempt) {
+    log.info("THREAD ASSIGNED: Task row {} attempt {} started on thread: {} (fillRequest: {})",
+        task.getRowIndex(), attempt, Thread.currentThread().getName(), fillRequest.getId());
+    logThreadPoolStatus("Task row " + task.getRowIndex());
+    if (!scheduledFillTaskLedger.claim(task.getId())) {
+      log.info("Task row {} is already claimed or finished, skipping (fillRequest: {})",
+          task.getRowIndex(), fillRequest.getId());
+      return TaskOutcome.OWNED_ELSEWHERE;
+    }
+    boolean success = executeFormFill(fillRequest, task);
+    if (success) {
+      // Row state and completedSurvey are written together; the aggregator only tracks progress
+      scheduledFillTaskLedger.markDone(task.getId(), fillRequest.getId());
+      if (!fillRequestProgressAggregator.recordPersistedCompletion(fillRequest.getId())) {
+        log.warn("Failed to track completedSurvey for {} (may have reached limit)",
+            fillRequest.getId());
       }
-    }, executorService);
-
-    // Add timeout mechanism to prevent hanging tasks (reduced for low-spec machines)
-    CompletableFuture<Boolean> timeoutFuture =
-        future.orTimeout(180, TimeUnit.SECONDS).exceptionally(throwable -> {
-          if (throwable instanceof java.util.concurrent.TimeoutException) {
-            log.error("Task for row {} timed out after 180 seconds (fillRequest: {})",
-                task.getRowIndex(), fillRequest.getId());
-          } else {
-            log.error("Task for row {} failed with exception (fillRequest: {}): {}",
-                task.getRowIndex(), fillRequest.getId(), throwable.getMessage());
-          }
-          return false;
-        });
-
-    log.debug("Scheduled task for row {} with timeout protection (fillRequest: {})",
-        task.getRowIndex(), fillRequest.getId());
-
-    return timeoutFuture;
+    } else {
+      scheduledFillTaskLedger.release(task.getId());
+    }
+    log.info("THREAD RELEASED: Task row {} finished on thread: {} (success: {}, fillRequest: {})",
+        task.getRowIndex(), Thread.currentThread().getName(), success, fillRequest.getId());
+    return success ? TaskOutcome.SUCCEEDED : TaskOutcome.FAILED;
   }
 
   /**
    * Log thread pool status for debugging
    */
   private void logThreadPoolStatus(String context) {
-    if (executorService instanceof ThreadPoolExecutor) {
-      ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executorService;
-      log.debug("THREAD POOL STATUS [{}]: Active={}, Pool={}, Queue={}, Completed={}", context,
-          threadPool.getActiveCount(), threadPool.getPoolSize(), threadPool.getQueue().size(),
-          threadPool.getCompletedTaskCount());
-    }
+    log.debug("THREAD POOL STATUS [{}]: Active={}, Pool={}, Queue={}, Completed={}", context,
+        surveyWorkerPool.getActiveCount(), surveyWorkerPool.getPoolSize(),
+        surveyWorkerPool.getQueuedCount(), surveyWorkerPool.getCompletedTaskCount());
   }
 
   /**
-   * Execute actual form filling with data from sheet row
+   * Execute actual form filling with the form data resolved for the scheduled row
    */
-  private boolean executeFormFill(FillRequest fillRequest, DataFillRequestDTO originalRequest,
-      Map<UUID, Question> questionMap, List<Map<String, Object>> sheetData, ScheduledTask task) {
+  private boolean executeFormFill(FillRequest fillRequest, ScheduledFillTask task) {
 
     log.info("Executing form fill for request: {}, row: {}", fillRequest.getId(),
         task.getRowIndex());
 
     try {
-      // Get data for this row (wrap if not enough rows)
-      int actualRowIndex = task.getRowIndex() % sheetData.size();
-      Map<String, Object> rowData = sheetData.get(actualRowIndex);
-      log.info("Using data from row {} (wrapped from row {})", actualRowIndex, task.getRowIndex());
-
-      // Build form submission data
-      Map<String, String> formData = buildFormData(originalRequest, questionMap, rowData);
-
-      // Add human-like delay before submission
-      if (task.getDelaySeconds() > 0) {
-        Thread.sleep(task.getDelaySeconds() * 1000L);
-      }
+      Map<String, String> formData =
+          task.getPayload() == null ? new HashMap<>() : task.getPayload();
 
       // Submit form using browser automation
       String formUrl = fillRequest.getForm().getEditLink();
       boolean success = googleFormService.submitFormWithBrowser(fillRequest.getId(),
           fillRequest.getForm().getId(), formUrl, formData);
+      recordExecution(fillRequest, task, success, success ? null : "Form submission failed");
 
       if (success) {
         log.info("Form submission successful for request: {}, row: {}", fillRequest.getId(),
             task.getRowIndex());
-        try {
-          // Use simple atomic increment - this was working fine before
-          boolean incrementSuccess =
-              fillRequestCounterService.incrementCompletedSurvey(fillRequest.getId());
-          if (!incrementSuccess) {
-            log.warn(
-                "Failed to increment completedSurvey for {} after retries (may have reached limit)",
-                fillRequest.getId());
-          }
-          // Emit progress update after successful increment
-          emitProgressUpdate(fillRequest.getId());
-        } catch (Exception e) {
-          log.error("Failed to increment completedSurvey for {}: {}", fillRequest.getId(),
-              e.getMessage());
-        }
       } else {
         log.error("Form submission failed for request: {}, row: {}", fillRequest.getId(),
             task.getRowIndex());
@@ -530,15 +468,34 @@ public class DataFillCampaignService {
     } catch (Exception e) {
       log.error("Error executing form fill for request: {}, row: {}", fillRequest.getId(),
           task.getRowIndex(), e);
+      recordExecution(fillRequest, task, false, e.getMessage());
       return false;
     }
   }
 
+  /**
+   * Queue the audit record of one submitted row
+   */
+  private void recordExecution(FillRequest fillRequest, ScheduledFillTask task, boolean success,
+      String errorMessage) {
+    try {
+      Map<String, Object> responseData = new HashMap<>();
+      responseData.put("rowIndex", task.getRowIndex());
+      executionService.recordExecution(SurveyExecution.builder().fillRequest(fillRequest)
+          .form(fillRequest.getForm()).executionTime(LocalDateTime.now())
+          .status(success ? Constants.EXECUTION_STATUS_COMPLETED : Constants.EXECUTION_STATUS_FAILED)
+          .errorMessage(errorMessage).responseData(responseData).build());
+    } catch (Exception e) {
+      log.debug("Failed to record execution for request: {}, row: {}", fillRequest.getId(),
+          task.getRowIndex(), e);
+    }
+  }
+
   /**
    * Build form data from sheet row based on mappings
    */
-  private Map<String, String> buildFormData(DataFillRequestDTO originalRequest,
-      Map<UUID, Question> questionMap, Map<String, Object> rowData) {
+  private Map<String, String> buildFormData(DataFillRequestDTO originalRequest, CompiledForm form,
+      Map<String, Object> rowData) {
 
     Map<String, String> formData = new java.util.HashMap<>();
 
@@ -557,7 +514,7 @@ public class DataFillCampaignService {
       }
 
       // Find question
-      Question question = questionMap.get(UUID.fromString(baseQuestionId));
+      Question question = form.getQuestion(UUID.fromString(baseQuestionId));
       if (question == null) {
         log.warn("Question not found for ID: {}", baseQuestionId);
         continue;
@@ -571,8 +528,8 @@ public class DataFillCampaignService {
       }
 
       // Convert value based on question type
-      String convertedValue =
-          convertValueBasedOnQuestionType(value.toString(), question, explicitRowLabel, columnName);
+      String convertedValue = convertValueBasedOnQuestionType(value.toString(), question, form,
+          explicitRowLabel, columnName);
       if (convertedValue != null) {
         // For grid questions, accumulate multiple rows into a single entry using ';'
         String type = question.getType() == null ? "" : question.getType().toLowerCase();
@@ -596,8 +553,9 @@ public class DataFillCampaignService {
    * Convert value based on question type
    */
   private String convertValueBasedOnQuestionType(String value, Question question,
-      String explicitRowLabel, String columnName) {
+      CompiledForm form, String explicitRowLabel, String columnName) {
     try {
+      List<QuestionOption> options = form.getOptions(question.getId());
       switch (question.getType().toLowerCase()) {
         case "text":
         case "paragraph":
@@ -614,15 +572,14 @@ public class DataFillCampaignService {
           String other = dashIdx > 0 ? raw.substring(dashIdx + 1).trim() : null;
 
           // Check if question has __other_option__
-          boolean hasOtherOption = getQuestionOptionsSafely(question).stream().anyMatch(
-              opt -> opt.getValue() != null && "__other_option__".equalsIgnoreCase(opt.getValue()));
+          QuestionOption otherOption = form.getOtherOption(question.getId());
+          boolean hasOtherOption = otherOption != null;
 
           // Support multi-select encoding for checkbox with '|' only
           if ("checkbox".equalsIgnoreCase(question.getType())
               || "multiselect".equalsIgnoreCase(question.getType())) {
             if (main.contains("|")) {
-              String converted = dataFillValidator.convertMultiplePositionsToValues(main,
-                  getQuestionOptionsSafely(question));
+              String converted = dataFillValidator.convertMultiplePositionsToValues(main, options);
               return (other != null && !other.isEmpty()) ? converted + "-" + other : converted;
             }
           }
@@ -634,13 +591,8 @@ public class DataFillCampaignService {
             if (main.matches("\\d+")) {
               try {
                 int position = Integer.parseInt(main);
-                // Find the "__other_option__" option and check if its position matches
-                QuestionOption otherOption = getQuestionOptionsSafely(question).stream()
-                    .filter(opt -> opt.getValue() != null
-                        && "__other_option__".equalsIgnoreCase(opt.getValue()))
-                    .findFirst().orElse(null);
-
-                if (otherOption != null && otherOption.getPosition() != null
+                // Check if the position of the "__other_option__" option matches
+                if (otherOption.getPosition() != null
                     && otherOption.getPosition() == position) {
                   // This is indeed an "other" option with custom text
                   log.debug(
@@ -664,8 +616,7 @@ public class DataFillCampaignService {
 
           // Single numeric position
           if (main.matches("\\d+")) {
-            String converted =
-                dataFillValidator.convertPositionToValue(main, getQuestionOptionsSafely(question));
+            String converted = dataFillValidator.convertPositionToValue(main, options);
             return (other != null && !other.isEmpty()) ? converted + "-" + other : converted;
           }
 
@@ -683,11 +634,7 @@ public class DataFillCampaignService {
           String v = value.trim();
           // Map numeric index (1-based) to column option value
           if (v.matches("\\d+")) {
-            List<QuestionOption> columns =
-                getQuestionOptionsSafely(question).stream().filter(o -> !o.isRow())
-                    .sorted((a, b) -> Integer.compare(a.getPosition() == null ? 0 : a.getPosition(),
-                        b.getPosition() == null ? 0 : b.getPosition()))
-                    .toList();
+            List<QuestionOption> columns = form.getColumns(question.getId());
             int pos = Integer.parseInt(v);
             if (pos >= 1 && pos <= columns.size()) {
               v = columns.get(pos - 1).getValue();
@@ -704,11 +651,7 @@ public class DataFillCampaignService {
             return null;
           }
           String[] parts = value.split("\\|");
-          List<QuestionOption> columns =
-              getQuestionOptionsSafely(question).stream().filter(o -> !o.isRow())
-                  .sorted((a, b) -> Integer.compare(a.getPosition() == null ? 0 : a.getPosition(),
-                      b.getPosition() == null ? 0 : b.getPosition()))
-                  .toList();
+          List<QuestionOption> columns = form.getColumns(question.getId());
           java.util.List<String> mapped = new java.util.ArrayList<>();
           for (String p : parts) {
             String t = p.trim();
@@ -762,26 +705,4 @@ public class DataFillCampaignService {
     }
     return null;
   }
-
-  /**
-   * Safely get question options, handling lazy initialization
-   */
-  private List<QuestionOption> getQuestionOptionsSafely(Question question) {
-    try {
-      return question.getOptions() == null ? new ArrayList<>() : question.getOptions();
-    } catch (org.hibernate.LazyInitializationException e) {
-      log.debug("Lazy initialization exception for question options, reloading question: {}",
-          question.getId());
-      try {
-        Question reloadedQuestion =
-            questionRepository.findWithOptionsById(question.getId()).orElse(question);
-        return reloadedQuestion.getOptions() == null ? new ArrayList<>()
-            : reloadedQuestion.getOptions();
-      } catch (Exception ex) {
-        log.warn("Failed to reload question with options: {}", question.getId(), ex);
-        return new ArrayList<>();
-      }
-    }
-  }
 }
-
@@ -0,0 +1,120 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
+import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequestMapping;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestMappingRepository;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledForm;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledFormCache;
+import com.dienform.tool.dienformtudong.question.entity.Question;
+import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads everything needed to start a batch of queued requests with one IN query per entity:
+ * requests with their form, data-fill mappings, and questions with options of the data-fill
+ * forms that have no current snapshot in {@link CompiledFormCache}. Starting N requests costs at
+ * most three queries instead of several per request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DispatchCycleLoader {
+
+  /**
+   * Data of one dispatch cycle, keyed by request and form id
+   */
+  public static class DispatchCycle {
+    private final Map<UUID, FillRequest> requests;
+    private final Map<UUID, List<FillRequestMapping>> mappingsByRequest;
+    private final Map<UUID, CompiledForm> formsById;
+
+    private DispatchCycle(Map<UUID, FillRequest> requests,
+        Map<UUID, List<FillRequestMapping>> mappingsByRequest, Map<UUID, CompiledForm> formsById) {
+      this.requests = requests;
+      this.mappingsByRequest = mappingsByRequest;
+      this.formsById = formsById;
+    }
+
+    public FillRequest getRequest(UUID fillRequestId) {
+      return requests.get(fillRequestId);
+    }
+
+    public List<FillRequestMapping> getMappings(UUID fillRequestId) {
+      return mappingsByRequest.getOrDefault(fillRequestId, List.of());
+    }
+
+    /**
+     * Snapshot of a data-fill form, or null for forms of regular fill requests
+     */
+    public CompiledForm getForm(UUID formId) {
+      return formsById.get(formId);
+    }
+  }
+
+  private final FillRequestRepository fillRequestRepository;
+  private final FillRequestMappingRepository fillRequestMappingRepository;
+  private final QuestionRepository questionRepository;
+  private final CompiledFormCache compiledFormCache;
+
+  /**
+   * Load the requests with the given ids and their dispatch data
+   */
+  public DispatchCycle load(Collection<UUID> fillRequestIds) {
+    if (fillRequestIds.isEmpty()) {
+      return new DispatchCycle(Map.of(), Map.of(), Map.of());
+    }
+
+    Map<UUID, FillRequest> requests = new HashMap<>();
+    for (FillRequest request : fillRequestRepository.findAllByIdWithFetchForm(fillRequestIds)) {
+      requests.put(request.getId(), request);
+    }
+
+    Map<UUID, List<FillRequestMapping>> mappingsByRequest =
+        fillRequestMappingRepository.findByFillRequestIdIn(requests.keySet()).stream()
+            .collect(Collectors.groupingBy(FillRequestMapping::getFillRequestId));
+
+    // Only data-fill requests need their form snapshot here; regular fills load their own plans
+    Map<UUID, CompiledForm> formsById = new HashMap<>();
+    Map<UUID, Form> formsToLoad = new LinkedHashMap<>();
+    for (UUID fillRequestId : mappingsByRequest.keySet()) {
+      FillRequest request = requests.get(fillRequestId);
+      if (request == null || request.getForm() == null) {
+        continue;
+      }
+      Form form = request.getForm();
+      CompiledForm cached = compiledFormCache.getIfPresent(form.getId(), form.getUpdatedAt());
+      if (cached != null) {
+        formsById.put(form.getId(), cached);
+      } else {
+        formsToLoad.put(form.getId(), form);
+      }
+    }
+
+    if (!formsToLoad.isEmpty()) {
+      Map<UUID, List<Question>> questionsByForm = new HashMap<>();
+      for (Question question : questionRepository
+          .findByFormIdInWithOptions(formsToLoad.keySet())) {
+        questionsByForm.computeIfAbsent(question.getForm().getId(), id -> new ArrayList<>())
+            .add(question);
+      }
+      formsToLoad.forEach((formId, form) -> formsById.put(formId, compiledFormCache
+          .compile(formId, form.getUpdatedAt(), questionsByForm.getOrDefault(formId, List.of()))));
+    }
+
+    log.debug("Loaded dispatch cycle: {} requests, {} data-fill, {} forms compiled",
+        requests.size(), mappingsByRequest.size(), formsToLoad.size());
+    return new DispatchCycle(requests, mappingsByRequest, formsById);
+  }
+}
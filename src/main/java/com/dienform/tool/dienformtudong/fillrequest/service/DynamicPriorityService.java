@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
 import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestQueueView;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
 import lombok.extern.slf4j.Slf4j;
 
@@ -121,13 +122,13 @@ public class DynamicPriorityService {
      * Get priority statistics for monitoring
      */
     public PriorityStatistics getPriorityStatistics() {
-        List<FillRequest> queuedRequests =
-                fillRequestRepository.findByStatus(FillRequestStatusEnum.QUEUED);
+        List<FillRequestQueueView> queuedRequests =
+                fillRequestRepository.findQueueViewsByStatus(FillRequestStatusEnum.QUEUED);
 
         PriorityStatistics stats = new PriorityStatistics();
 
-        for (FillRequest request : queuedRequests) {
-            int priority = request.getPriority();
+        for (FillRequestQueueView request : queuedRequests) {
+            int priority = request.getPriority() != null ? request.getPriority() : 0;
 
             if (priority >= 15)
                 stats.criticalCount++;
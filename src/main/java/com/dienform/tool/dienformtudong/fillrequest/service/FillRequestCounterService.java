@@ -8,8 +8,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import com.dienform.common.util.CurrentUserUtil;
-import com.dienform.realtime.FillRequestRealtimeGateway;
+import com.dienform.realtime.FillRequestProgressPublisher;
 import com.dienform.tool.dienformtudong.exception.ResourceNotFoundException;
+import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
 import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
 import jakarta.persistence.EntityManager;
@@ -27,7 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class FillRequestCounterService {
 
   private final FillRequestRepository fillRequestRepository;
-  private final FillRequestRealtimeGateway realtimeGateway;
+  private final FillRequestProgressPublisher progressPublisher;
   private final CurrentUserUtil currentUserUtil;
 
   @PersistenceContext
@@ -110,8 +111,8 @@ public class FillRequestCounterService {
 
       log.debug("Successfully updated status for fillRequest: {} to {}", fillRequestId, newStatus);
 
-      // Emit status update
-      emitStatusUpdate(fillRequestId, newStatus);
+      // Emit status update from the entity just saved
+      emitStatusUpdate(fillRequest);
       return true;
 
     } catch (ObjectOptimisticLockingFailureException e) {
@@ -231,7 +232,7 @@ public class FillRequestCounterService {
                 .surveyCount(fillRequest.getSurveyCount())
                 .updatedAt(java.time.Instant.now().toString()).build();
 
-        realtimeGateway.emitUpdate(fillRequest.getForm().getId().toString(), event);
+        progressPublisher.publish(event);
         log.debug("Emitted progress update for fillRequest: {} - {}/{} with status: {}",
             fillRequestId, fillRequest.getCompletedSurvey(), fillRequest.getSurveyCount(),
             newStatus);
@@ -244,22 +245,11 @@ public class FillRequestCounterService {
   /**
    * Emit status update
    */
-  private void emitStatusUpdate(UUID fillRequestId, FillRequestStatusEnum newStatus) {
+  private void emitStatusUpdate(FillRequest fillRequest) {
     try {
-      var fillRequest = fillRequestRepository.findById(fillRequestId).orElse(null);
-      if (fillRequest != null && fillRequest.getForm() != null) {
-        com.dienform.realtime.dto.FillRequestUpdateEvent event =
-            com.dienform.realtime.dto.FillRequestUpdateEvent.builder()
-                .formId(fillRequest.getForm().getId().toString())
-                .requestId(fillRequest.getId().toString()).status(newStatus.name())
-                .completedSurvey(fillRequest.getCompletedSurvey())
-                .surveyCount(fillRequest.getSurveyCount())
-                .updatedAt(java.time.Instant.now().toString()).build();
-
-        realtimeGateway.emitUpdate(fillRequest.getForm().getId().toString(), event);
-        log.debug("Emitted status update for fillRequest: {} - status: {}", fillRequestId,
-            newStatus);
-      }
+      progressPublisher.publish(fillRequest, null);
+      log.debug("Emitted status update for fillRequest: {} - status: {}", fillRequest.getId(),
+          fillRequest.getStatus());
     } catch (Exception e) {
       log.warn("Failed to emit status update: {}", e.getMessage());
     }
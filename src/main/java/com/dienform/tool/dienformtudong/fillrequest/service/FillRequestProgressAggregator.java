@@ -0,0 +1,223 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.dienform.realtime.FillRequestProgressPublisher;
+import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import com.dienform.tool.dienformtudong.formstatistic.service.FormStatisticRollupService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind aggregation of completedSurvey increments. Successful surveys are counted in a
+ * striped in-memory counter per fill request and written with a single
+ * {@code completed_survey = LEAST(completed_survey + ?, survey_count)} update every flush interval
+ * or every flush-increments surveys. Completion is detected in-process from the counter, which
+ * triggers an immediate flush and the COMPLETED transition. Progress is published from the
+ * counter, so realtime updates never re-read the request. Campaign rows write their increment
+ * together with the ledger state and are only tracked here (see recordPersistedCompletion).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FillRequestProgressAggregator {
+
+  private static final class Progress {
+    private final UUID formId;
+    private final int surveyCount;
+    // Guarded by this; raised when a persisted completion re-reads the DB count
+    private volatile long baseCompleted;
+    private final LongAdder recorded = new LongAdder();
+    private final AtomicBoolean completionHandled = new AtomicBoolean(false);
+    // Guarded by this
+    private long flushed;
+    // Set under this when the entry leaves the map; a recorder holding it must load a new one
+    private boolean removed;
+    private volatile long lastRecordedAt = System.currentTimeMillis();
+
+    private Progress(UUID formId, int surveyCount, int baseCompleted) {
+      this.formId = formId;
+      this.surveyCount = surveyCount;
+      this.baseCompleted = baseCompleted;
+    }
+
+    private long completed() {
+      return baseCompleted + recorded.sum();
+    }
+  }
+
+  // Entries idle this long are dropped so the next survey reloads the persisted count
+  private static final long IDLE_EVICT_MS = 60_000L;
+
+  private final FillRequestRepository fillRequestRepository;
+  private final FillRequestCounterService fillRequestCounterService;
+  private final FillRequestProgressPublisher progressPublisher;
+  private final FormStatisticRollupService formStatisticRollupService;
+
+  @Value("${fill-request.progress.flush-increments:10}")
+  private int flushIncrements;
+
+  private final Map<UUID, Progress> progressByRequest = new ConcurrentHashMap<>();
+
+  /**
+   * Count one successful survey.
+   *
+   * @return false if the request is unknown or already reached surveyCount
+   */
+  public boolean recordCompletion(UUID fillRequestId) {
+    return record(fillRequestId, false);
+  }
+
+  /**
+   * Count one successful survey whose increment the caller already wrote to completedSurvey in
+   * the same transaction as its own state, e.g. a campaign row marked DONE. Only the in-memory
+   * count, progress and completion detection are updated. The count is re-read from the DB, so
+   * reporting a completion that a fresh load already included does not count it twice.
+   *
+   * @return false if the request is unknown
+   */
+  public boolean recordPersistedCompletion(UUID fillRequestId) {
+    return record(fillRequestId, true);
+  }
+
+  private boolean record(UUID fillRequestId, boolean persisted) {
+    Progress progress;
+    while (true) {
+      progress = progressByRequest.computeIfAbsent(fillRequestId, this::load);
+      if (progress == null) {
+        return false;
+      }
+      synchronized (progress) {
+        if (progress.removed) {
+          // Evicted between lookup and increment; retry on the entry that replaces it
+          continue;
+        }
+        if (persisted) {
+          // The caller's increment is already in the DB, possibly together with others that were
+          // committed before this entry was loaded. Re-reading the count keeps this idempotent.
+          syncWithPersisted(fillRequestId, progress);
+        } else {
+          if (progress.completed() >= progress.surveyCount) {
+            log.debug("Cannot increment - already completed: {}", fillRequestId);
+            return false;
+          }
+          progress.recorded.increment();
+        }
+        progress.lastRecordedAt = System.currentTimeMillis();
+      }
+      break;
+    }
+
+    // Published from the in-memory count; the publisher coalesces it per emit interval
+    if (progress.formId != null) {
+      progressPublisher.publishProgress(progress.formId, fillRequestId,
+          FillRequestStatusEnum.IN_PROCESS.name(),
+          (int) Math.min(progress.completed(), progress.surveyCount), progress.surveyCount);
+    }
+
+    if (progress.completed() >= progress.surveyCount) {
+      flush(fillRequestId, progress);
+      if (progress.completionHandled.compareAndSet(false, true)) {
+        log.info("All {} surveys completed for fillRequest: {}", progress.surveyCount,
+            fillRequestId);
+        fillRequestCounterService.updateStatus(fillRequestId, FillRequestStatusEnum.COMPLETED);
+        evictIf(fillRequestId, progress, true);
+      }
+    } else if (pendingCount(progress) >= flushIncrements) {
+      flush(fillRequestId, progress);
+    }
+    return true;
+  }
+
+  /**
+   * Write pending increments of a request now, e.g. before reading completedSurvey from the DB
+   */
+  public void flush(UUID fillRequestId) {
+    Progress progress = progressByRequest.get(fillRequestId);
+    if (progress != null) {
+      flush(fillRequestId, progress);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${fill-request.progress.flush-interval-ms:1000}")
+  public void flushAll() {
+    long now = System.currentTimeMillis();
+    progressByRequest.forEach((fillRequestId, progress) -> {
+      flush(fillRequestId, progress);
+      evictIf(fillRequestId, progress, now - progress.lastRecordedAt > IDLE_EVICT_MS);
+    });
+    // Form statistics are written in the same pass as the progress counters
+    formStatisticRollupService.flush();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flushAll();
+  }
+
+  private Progress load(UUID fillRequestId) {
+    return fillRequestRepository.findById(fillRequestId)
+        .map(fr -> new Progress(fr.getForm() != null ? fr.getForm().getId() : null,
+            fr.getSurveyCount(), fr.getCompletedSurvey()))
+        .orElse(null);
+  }
+
+  /**
+   * Align the base with the persisted count. Everything flushed from this entry is part of it, so
+   * completed() becomes the DB count plus increments not flushed yet. Called under the entry lock.
+   */
+  private void syncWithPersisted(UUID fillRequestId, Progress progress) {
+    fillRequestRepository.findCompletedSurveyById(fillRequestId).ifPresent(
+        persisted -> progress.baseCompleted =
+            Math.max(progress.baseCompleted, persisted - progress.flushed));
+  }
+
+  /**
+   * Drop an entry that has nothing left to flush. Done under the entry's lock so no increment can
+   * land on it after it left the map.
+   */
+  private void evictIf(UUID fillRequestId, Progress progress, boolean condition) {
+    synchronized (progress) {
+      if (condition && !progress.removed && progress.recorded.sum() == progress.flushed) {
+        progress.removed = true;
+        progressByRequest.remove(fillRequestId, progress);
+      }
+    }
+  }
+
+  private long pendingCount(Progress progress) {
+    synchronized (progress) {
+      return progress.recorded.sum() - progress.flushed;
+    }
+  }
+
+  private void flush(UUID fillRequestId, Progress progress) {
+    int delta;
+    synchronized (progress) {
+      // recorded only grows, so the difference never goes negative or loses an increment
+      long recorded = progress.recorded.sum();
+      delta = (int) (recorded - progress.flushed);
+      if (delta <= 0) {
+        return;
+      }
+      try {
+        fillRequestRepository.addCompletedSurveys(fillRequestId, delta);
+        progress.flushed = recorded;
+      } catch (Exception e) {
+        // Left pending; the next flush retries it
+        log.warn("Failed to flush {} completed surveys for fillRequest {}: {}", delta,
+            fillRequestId, e.getMessage());
+        return;
+      }
+    }
+    log.debug("Flushed {} completed surveys for fillRequest: {}", delta, fillRequestId);
+  }
+}
@@ -1,33 +1,42 @@
 package com.dienform.tool.dienformtudong.fillrequest.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import com.dienform.common.util.CurrentUserUtil;
-import com.dienform.realtime.FillRequestRealtimeGateway;
+import com.dienform.realtime.FillRequestProgressPublisher;
 import com.dienform.tool.dienformtudong.datamapping.dto.request.DataFillRequestDTO;
 import com.dienform.tool.dienformtudong.datamapping.service.GoogleSheetsService;
 import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
 import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequestMapping;
 import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
-import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestMappingRepository;
+import com.dienform.tool.dienformtudong.fillrequest.event.FillRequestCreatedEvent;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestQueueView;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
-import com.dienform.tool.dienformtudong.form.entity.Form;
-import com.dienform.tool.dienformtudong.form.repository.FormRepository;
 import com.dienform.tool.dienformtudong.googleform.service.GoogleFormService;
-import com.dienform.tool.dienformtudong.question.entity.Question;
-import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledForm;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
@@ -122,17 +131,44 @@ public class QueueManagementService {
     }
   }
 
+  /**
+   * In-memory mirror of a QUEUED request, holding only what the dispatch order needs
+   */
+  private record QueueEntry(UUID id, int priority, boolean humanLike, LocalDateTime startDate,
+      LocalDateTime queuedAt) {
+
+    static QueueEntry of(FillRequest fillRequest) {
+      return new QueueEntry(fillRequest.getId(), fillRequest.getPriority(),
+          fillRequest.isHumanLike(), fillRequest.getStartDate(), fillRequest.getQueuedAt());
+    }
+
+    static QueueEntry of(FillRequestQueueView view) {
+      return new QueueEntry(view.getId(), view.getPriority() != null ? view.getPriority() : 0,
+          Boolean.TRUE.equals(view.getHumanLike()), view.getStartDate(), view.getQueuedAt());
+    }
+
+    boolean isStartable(LocalDateTime now) {
+      return startDate == null || !startDate.isAfter(now);
+    }
+  }
+
+  // Non-human requests first, then by priority, then FIFO by queue time
+  private static final Comparator<QueueEntry> DISPATCH_ORDER =
+      Comparator.comparing(QueueEntry::humanLike)
+          .thenComparing(QueueEntry::priority, Comparator.reverseOrder())
+          .thenComparing(QueueEntry::queuedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
   private final FillRequestRepository fillRequestRepository;
-  private final FillRequestMappingRepository fillRequestMappingRepository;
-  private final FormRepository formRepository;
-  private final QuestionRepository questionRepository;
+  private final DispatchCycleLoader dispatchCycleLoader;
   private final GoogleFormService googleFormService;
   private final DataFillCampaignService dataFillCampaignService;
+  private final ScheduledFillTaskLedger scheduledFillTaskLedger;
   private final ScheduleDistributionService scheduleDistributionService;
   private final GoogleSheetsService googleSheetsService;
-  private final FillRequestRealtimeGateway realtimeGateway;
+  private final FillRequestProgressPublisher progressPublisher;
   private final CurrentUserUtil currentUserUtil;
 
+  // Global concurrency budget shared with SurveyWorkerPool
   @Value("${google.form.thread-pool-size:5}")
   private int threadPoolSize;
 
@@ -146,11 +182,29 @@ public class QueueManagementService {
 
   private AtomicInteger activeRequests = new AtomicInteger(0);
 
+  // Priority heap mirrored from the QUEUED rows; guarded by itself
+  private final PriorityQueue<QueueEntry> queuedHeap = new PriorityQueue<>(DISPATCH_ORDER);
+  private final Map<UUID, QueueEntry> queuedIndex = new HashMap<>();
+
+  // 1-based rank of every queued request in dispatch order; rebuilt lazily after heap changes
+  private volatile Map<UUID, Integer> rankCache = Map.of();
+  private volatile boolean rankCacheStale = true;
+
+  // Single dispatcher thread; wake-ups are coalesced while a dispatch is already pending
+  private ScheduledExecutorService dispatcher;
+  private final AtomicBoolean dispatchPending = new AtomicBoolean(false);
+  private ScheduledFuture<?> startDateWakeUp;
+
   @PostConstruct
   public void init() {
     log.info("QueueManagementService: Initializing with thread pool size: {}, max queue size: {}",
         threadPoolSize, maxQueueSize);
     queueExecutor = Executors.newFixedThreadPool(threadPoolSize);
+    dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "queue-dispatcher");
+      t.setDaemon(true);
+      return t;
+    });
     isRunning.set(true);
   }
 
@@ -158,6 +212,9 @@ public class QueueManagementService {
   public void cleanup() {
     log.info("QueueManagementService: Shutting down...");
     isRunning.set(false);
+    if (dispatcher != null) {
+      dispatcher.shutdownNow();
+    }
     if (queueExecutor != null) {
       queueExecutor.shutdown();
       try {
@@ -184,21 +241,20 @@ public class QueueManagementService {
         return false;
       }
 
-      // Get next queue position
-      Integer nextPosition =
-          fillRequestRepository.findNextQueuePosition(FillRequestStatusEnum.QUEUED);
-
-      // Update fill request to QUEUED status
+      // Position is derived from the dispatch order (see getQueuePosition), not stored
       fillRequest.setStatus(FillRequestStatusEnum.QUEUED);
-      fillRequest.setQueuePosition(nextPosition);
+      fillRequest.setQueuePosition(null);
       fillRequest.setQueuedAt(LocalDateTime.now());
       fillRequestRepository.save(fillRequest);
 
-      log.info("Added fill request {} to queue at position {}", fillRequest.getId(), nextPosition);
-
       // Emit realtime update
       emitQueueUpdate(fillRequest);
 
+      enqueue(QueueEntry.of(fillRequest));
+      log.info("Added fill request {} to queue at position {}", fillRequest.getId(),
+          getQueuePosition(fillRequest.getId()));
+      requestDispatch();
+
       return true;
     } catch (Exception e) {
       log.error("Failed to add fill request {} to queue", fillRequest.getId(), e);
@@ -232,6 +288,30 @@ public class QueueManagementService {
         .hasCapacity(hasAvailableCapacity()).build();
   }
 
+  /**
+   * 1-based position of a request in dispatch order (ignoring start dates), or null if it is not
+   * queued. Ranks are recomputed only when the queue changed since the last lookup.
+   */
+  public Integer getQueuePosition(UUID fillRequestId) {
+    Map<UUID, Integer> ranks = rankCache;
+    if (rankCacheStale) {
+      synchronized (queuedHeap) {
+        if (rankCacheStale) {
+          List<QueueEntry> ordered = new ArrayList<>(queuedHeap);
+          ordered.sort(DISPATCH_ORDER);
+          Map<UUID, Integer> rebuilt = new HashMap<>(ordered.size() * 2);
+          for (int i = 0; i < ordered.size(); i++) {
+            rebuilt.put(ordered.get(i).id(), i + 1);
+          }
+          rankCache = rebuilt;
+          rankCacheStale = false;
+        }
+        ranks = rankCache;
+      }
+    }
+    return ranks.get(fillRequestId);
+  }
+
   /**
    * Get current active count
    */
@@ -292,136 +372,248 @@ public class QueueManagementService {
   }
 
   /**
-   * Scheduled task to process queued requests
+   * Pick up a newly created request as soon as its transaction commits
    */
-  @Scheduled(fixedRateString = "${queue.check-interval:30000}")
-  @Transactional
-  public void processQueuedRequests() {
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onFillRequestCreated(FillRequestCreatedEvent event) {
     if (!isRunning.get()) {
       return;
     }
+    fillRequestRepository
+        .findQueueViewByIdAndStatus(event.getFillRequestId(), FillRequestStatusEnum.QUEUED)
+        .ifPresent(view -> {
+          enqueue(QueueEntry.of(view));
+          log.debug("Fill request {} mirrored into dispatch heap", view.getId());
+          requestDispatch();
+        });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    requeueInterruptedCampaigns();
+    reconcileQueue();
+  }
 
+  /**
+   * Campaigns left IN_PROCESS by a previous run have lost their worker. Those with a persisted
+   * schedule go back to the queue; once dispatched, executeCampaign (or fillForm, for the plan
+   * slots of an exact-quota request) resumes their remaining rows from the ledger.
+   */
+  private void requeueInterruptedCampaigns() {
     try {
-      // Check if we have capacity to process more requests
-      if (!hasAvailableCapacity()) {
-        log.debug("No capacity available, skipping queue processing");
-        return;
+      int requeued = 0;
+      for (FillRequest fillRequest : fillRequestRepository
+          .findByStatus(FillRequestStatusEnum.IN_PROCESS)) {
+        if (!scheduledFillTaskLedger.hasSchedule(fillRequest.getId())) {
+          continue;
+        }
+        // Already admitted once, so the queue size limit does not apply; the original creation
+        // time keeps it ahead of requests queued after it
+        fillRequest.setStatus(FillRequestStatusEnum.QUEUED);
+        fillRequest.setQueuePosition(null);
+        fillRequest.setQueuedAt(fillRequest.getCreatedAt() != null ? fillRequest.getCreatedAt()
+            : LocalDateTime.now());
+        fillRequestRepository.save(fillRequest);
+        requeued++;
       }
-
-      // Get all queued requests ordered by priority (ignore startDate for immediate processing)
-      List<FillRequest> queuedRequests =
-          fillRequestRepository.findQueuedRequestsOrderedByPriority(FillRequestStatusEnum.QUEUED);
-
-      if (queuedRequests.isEmpty()) {
-        log.debug("No queued requests to process");
-        return;
+      if (requeued > 0) {
+        log.info("Re-queued {} interrupted campaigns for resume", requeued);
       }
+    } catch (Exception e) {
+      log.error("Error re-queuing interrupted campaigns", e);
+    }
+  }
 
-      log.info("Found {} queued requests, checking capacity for processing", queuedRequests.size());
-
-      // Separate human and non-human requests for better prioritization
-      List<FillRequest> nonHumanRequests =
-          queuedRequests.stream().filter(req -> !req.isHumanLike()).collect(Collectors.toList());
+  /**
+   * Safety net: rebuild the in-memory heap from the QUEUED rows in case an event was missed
+   * (e.g. a request queued by another node or by a direct DB update), then dispatch
+   */
+  @Scheduled(fixedRateString = "${queue.check-interval:300000}",
+      initialDelayString = "${queue.check-interval:300000}")
+  public void reconcileQueue() {
+    if (!isRunning.get()) {
+      return;
+    }
 
-      List<FillRequest> humanRequests =
-          queuedRequests.stream().filter(req -> req.isHumanLike()).collect(Collectors.toList());
+    try {
+      List<FillRequestQueueView> queuedRequests =
+          fillRequestRepository.findQueueViewsByStatus(FillRequestStatusEnum.QUEUED);
+
+      synchronized (queuedHeap) {
+        rankCacheStale = true;
+        queuedHeap.clear();
+        queuedIndex.clear();
+        for (FillRequestQueueView request : queuedRequests) {
+          QueueEntry entry = QueueEntry.of(request);
+          queuedHeap.add(entry);
+          queuedIndex.put(entry.id(), entry);
+        }
+      }
 
-      log.debug("Queue breakdown: {} non-human requests, {} human requests",
-          nonHumanRequests.size(), humanRequests.size());
+      log.debug("Queue reconciled: {} queued requests mirrored", queuedRequests.size());
+      requestDispatch();
+    } catch (Exception e) {
+      log.error("Error reconciling queued requests", e);
+    }
+  }
 
-      // Process up to available capacity
-      int availableSlots = threadPoolSize - activeRequests.get();
-      int processed = 0;
+  /**
+   * Wake the dispatcher. Calls made while a dispatch is already pending are coalesced.
+   */
+  public void requestDispatch() {
+    if (!isRunning.get() || !dispatchPending.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      dispatcher.execute(() -> {
+        dispatchPending.set(false);
+        dispatchQueuedRequests();
+      });
+    } catch (Exception e) {
+      dispatchPending.set(false);
+      log.warn("Failed to schedule queue dispatch: {}", e.getMessage());
+    }
+  }
 
-      // First, process non-human requests (higher priority)
-      for (FillRequest request : nonHumanRequests) {
-        if (processed >= availableSlots) {
-          log.debug("Reached capacity limit ({} slots), stopping processing", availableSlots);
+  /**
+   * Start as many startable requests from the heap as there are free slots. The entries of a
+   * cycle are taken first and their requests, mappings and questions loaded together. Runs only
+   * on the dispatcher thread.
+   */
+  private void dispatchQueuedRequests() {
+    try {
+      int started = 0;
+      // Requests whose start failed go back to the heap after this cycle, not within it
+      List<QueueEntry> retryLater = new ArrayList<>();
+      int freeSlots;
+      while ((freeSlots = threadPoolSize - activeRequests.get()) > 0) {
+        List<QueueEntry> entries = new ArrayList<>(freeSlots);
+        QueueEntry entry;
+        while (entries.size() < freeSlots
+            && (entry = pollStartable(LocalDateTime.now())) != null) {
+          entries.add(entry);
+        }
+        if (entries.isEmpty()) {
           break;
         }
 
-        // Check if request can be processed (startDate check)
-        if (request.getStartDate() != null && request.getStartDate().isAfter(LocalDateTime.now())) {
-          log.debug("Skipping non-human request {} - startDate {} is in the future",
-              request.getId(), request.getStartDate());
-          continue;
-        }
+        DispatchCycleLoader.DispatchCycle cycle =
+            dispatchCycleLoader.load(entries.stream().map(QueueEntry::id).toList());
+        for (QueueEntry polled : entries) {
+          FillRequest request = cycle.getRequest(polled.id());
+          if (request == null || request.getStatus() != FillRequestStatusEnum.QUEUED) {
+            log.debug("Dropping stale heap entry {}", polled.id());
+            continue;
+          }
 
-        if (processQueuedRequest(request)) {
-          processed++;
-          log.info("Started processing non-human queued request: {} ({}/{})", request.getId(),
-              processed, availableSlots);
+          if (processQueuedRequest(request, cycle)) {
+            started++;
+            log.info("Started processing {} queued request: {} (active: {}/{})",
+                request.isHumanLike() ? "human" : "non-human", request.getId(),
+                activeRequests.get(), threadPoolSize);
+          } else if (request.getStatus() == FillRequestStatusEnum.QUEUED) {
+            retryLater.add(QueueEntry.of(request));
+          }
         }
       }
+      retryLater.forEach(this::enqueue);
 
-      // Then, process human requests if there's still capacity
-      for (FillRequest request : humanRequests) {
-        if (processed >= availableSlots) {
-          log.debug("Reached capacity limit ({} slots), stopping processing", availableSlots);
-          break;
-        }
-
-        // Check if request can be processed (startDate check)
-        if (request.getStartDate() != null && request.getStartDate().isAfter(LocalDateTime.now())) {
-          log.debug("Skipping human request {} - startDate {} is in the future", request.getId(),
-              request.getStartDate());
-          continue;
-        }
+      if (started > 0) {
+        log.info("Dispatched {} queued requests", started);
+      }
+      armStartDateWakeUp();
+    } catch (Exception e) {
+      log.error("Error dispatching queued requests", e);
+    }
+  }
 
-        if (processQueuedRequest(request)) {
-          processed++;
-          log.info("Started processing human queued request: {} ({}/{})", request.getId(),
-              processed, availableSlots);
-        }
+  private void enqueue(QueueEntry entry) {
+    synchronized (queuedHeap) {
+      rankCacheStale = true;
+      QueueEntry previous = queuedIndex.put(entry.id(), entry);
+      if (previous != null) {
+        queuedHeap.remove(previous);
       }
+      queuedHeap.add(entry);
+    }
+  }
 
-      if (processed > 0) {
-        log.info("Successfully started processing {} queued requests ({} non-human, {} human)",
-            processed,
-            nonHumanRequests.stream()
-                .filter(req -> req.getStatus() == FillRequestStatusEnum.IN_PROCESS).count(),
-            humanRequests.stream()
-                .filter(req -> req.getStatus() == FillRequestStatusEnum.IN_PROCESS).count());
-      } else {
-        log.debug("No requests were processed (capacity: {}, available: {})", threadPoolSize,
-            availableSlots);
+  /**
+   * Remove and return the best entry whose startDate has been reached
+   */
+  private QueueEntry pollStartable(LocalDateTime now) {
+    synchronized (queuedHeap) {
+      List<QueueEntry> deferred = new ArrayList<>();
+      QueueEntry found = null;
+      while (!queuedHeap.isEmpty()) {
+        QueueEntry head = queuedHeap.poll();
+        if (head.isStartable(now)) {
+          found = head;
+          queuedIndex.remove(head.id());
+          rankCacheStale = true;
+          break;
+        }
+        deferred.add(head);
       }
+      queuedHeap.addAll(deferred);
+      return found;
+    }
+  }
 
-    } catch (Exception e) {
-      log.error("Error processing queued requests", e);
+  /**
+   * Make sure the dispatcher wakes up when the earliest future startDate is reached
+   */
+  private void armStartDateWakeUp() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime earliest;
+    synchronized (queuedHeap) {
+      earliest = queuedHeap.stream().map(QueueEntry::startDate)
+          .filter(startDate -> startDate != null && startDate.isAfter(now))
+          .min(Comparator.naturalOrder()).orElse(null);
+    }
+    if (startDateWakeUp != null) {
+      startDateWakeUp.cancel(false);
+      startDateWakeUp = null;
+    }
+    if (earliest != null) {
+      long delayMs = Math.max(0, Duration.between(now, earliest).toMillis());
+      startDateWakeUp =
+          dispatcher.schedule(this::requestDispatch, delayMs, TimeUnit.MILLISECONDS);
     }
   }
 
   /**
    * Process a single queued request
    */
-  private boolean processQueuedRequest(FillRequest fillRequest) {
+  private boolean processQueuedRequest(FillRequest fillRequest,
+      DispatchCycleLoader.DispatchCycle cycle) {
+    LocalDateTime queuedAt = fillRequest.getQueuedAt();
     try {
-      log.info("Processing queued request: {} (position: {})", fillRequest.getId(),
-          fillRequest.getQueuePosition());
+      log.info("Processing queued request: {}", fillRequest.getId());
 
-      // Remove from queue and start processing
+      // Remove from queue and start processing; the other requests' ranks shift implicitly
       fillRequest.setStatus(FillRequestStatusEnum.IN_PROCESS);
       fillRequest.setQueuePosition(null);
       fillRequest.setQueuedAt(null);
       fillRequestRepository.save(fillRequest);
 
-      // Update queue positions for remaining requests
-      fillRequestRepository.decrementQueuePositions(FillRequestStatusEnum.QUEUED,
-          fillRequest.getQueuePosition());
-
       // Start processing the request
-      startRequestProcessing(fillRequest);
+      startRequestProcessing(fillRequest, cycle.getMappings(fillRequest.getId()),
+          cycle.getForm(fillRequest.getForm().getId()));
 
       return true;
     } catch (Exception e) {
       log.error("Failed to process queued request: {}", fillRequest.getId(), e);
 
-      // Increment retry count
+      // Increment retry count; otherwise put it back in the queue with its original place, as
+      // its heap entry is already gone and nothing would dispatch it again
       fillRequest.setRetryCount(fillRequest.getRetryCount() + 1);
       if (fillRequest.getRetryCount() >= fillRequest.getMaxRetries()) {
         fillRequest.setStatus(FillRequestStatusEnum.FAILED);
         log.error("Request {} exceeded max retries, marking as FAILED", fillRequest.getId());
+      } else {
+        fillRequest.setStatus(FillRequestStatusEnum.QUEUED);
+        fillRequest.setQueuedAt(queuedAt);
       }
       fillRequestRepository.save(fillRequest);
 
@@ -430,54 +622,54 @@ public class QueueManagementService {
   }
 
   /**
-   * Start processing a fill request
+   * Start processing a fill request. The request holds its slot only while its coordinator runs
+   * on queueExecutor: a regular fill until fillForm returns, a data-fill campaign until its rows
+   * are parked on the ledger and the dispatch timer. Parked rows wait without a slot; concurrency
+   * of the surveys themselves is bounded by the shared SurveyWorkerPool, so long human-like
+   * campaigns cannot block admission of other queued requests.
+   *
+   * @param mappings Data-fill mappings of the request, empty for a regular fill
+   * @param form Snapshot of the form, preloaded for data-fill requests
    */
-  private void startRequestProcessing(FillRequest fillRequest) {
+  private void startRequestProcessing(FillRequest fillRequest, List<FillRequestMapping> mappings,
+      CompiledForm form) {
     activeRequests.incrementAndGet();
 
-    CompletableFuture.runAsync(() -> {
-      try {
-        log.info("Starting processing for request: {}", fillRequest.getId());
-
-        // Determine request type and process accordingly
-        if (isDataFillRequest(fillRequest)) {
-          processDataFillRequest(fillRequest);
-        } else {
-          processRegularFillRequest(fillRequest);
-        }
+    try {
+      CompletableFuture.runAsync(() -> {
+        try {
+          log.info("Starting processing for request: {}", fillRequest.getId());
 
-      } catch (Exception e) {
-        log.error("Error processing request: {}", fillRequest.getId(), e);
-        handleProcessingError(fillRequest, e);
-      } finally {
-        activeRequests.decrementAndGet();
-      }
-    }, queueExecutor);
-  }
+          // Determine request type and process accordingly
+          if (!mappings.isEmpty()) {
+            processDataFillRequest(fillRequest, mappings, form);
+          } else {
+            processRegularFillRequest(fillRequest);
+          }
 
-  /**
-   * Check if this is a data fill request
-   */
-  private boolean isDataFillRequest(FillRequest fillRequest) {
-    List<FillRequestMapping> mappings =
-        fillRequestMappingRepository.findByFillRequestId(fillRequest.getId());
-    return !mappings.isEmpty();
+        } catch (Exception e) {
+          log.error("Error processing request: {}", fillRequest.getId(), e);
+          handleProcessingError(fillRequest, e);
+        } finally {
+          activeRequests.decrementAndGet();
+          // A slot was freed: let the dispatcher pick the next request right away
+          requestDispatch();
+        }
+      }, queueExecutor);
+    } catch (RuntimeException e) {
+      // Rejected before the coordinator could run: give the slot back
+      activeRequests.decrementAndGet();
+      throw e;
+    }
   }
 
   /**
-   * Process data fill request
+   * Process data fill request. Returns once the campaign's rows are parked on the dispatch
+   * timer; the campaign itself completes in the background.
    */
-  private void processDataFillRequest(FillRequest fillRequest) {
+  private void processDataFillRequest(FillRequest fillRequest,
+      List<FillRequestMapping> mappings, CompiledForm form) {
     try {
-      // Get form and questions
-      Form form = formRepository.findById(fillRequest.getForm().getId())
-          .orElseThrow(() -> new RuntimeException("Form not found"));
-      List<Question> questions = questionRepository.findByForm(form);
-
-      // Get mappings
-      List<FillRequestMapping> mappings =
-          fillRequestMappingRepository.findByFillRequestId(fillRequest.getId());
-
       // Reconstruct DataFillRequestDTO
       DataFillRequestDTO reconstructedRequest = reconstructDataFillRequest(fillRequest, mappings);
 
@@ -488,7 +680,7 @@ public class QueueManagementService {
 
       // Execute campaign
       dataFillCampaignService
-          .executeCampaign(fillRequest, reconstructedRequest, questions, schedule)
+          .executeCampaign(fillRequest, reconstructedRequest, form, schedule)
           .exceptionally(throwable -> {
             log.error("Campaign execution failed for request: {}", fillRequest.getId(), throwable);
             handleProcessingError(fillRequest, throwable);
@@ -585,16 +777,7 @@ public class QueueManagementService {
   private void emitQueueUpdate(FillRequest fillRequest) {
     try {
       String userId = currentUserUtil.getCurrentUserIdIfPresent().map(UUID::toString).orElse(null);
-
-      com.dienform.realtime.dto.FillRequestUpdateEvent evt =
-          com.dienform.realtime.dto.FillRequestUpdateEvent.builder()
-              .formId(fillRequest.getForm().getId().toString())
-              .requestId(fillRequest.getId().toString()).status(fillRequest.getStatus().name())
-              .completedSurvey(fillRequest.getCompletedSurvey())
-              .surveyCount(fillRequest.getSurveyCount())
-              .updatedAt(java.time.Instant.now().toString()).build();
-
-      realtimeGateway.emitUpdateWithUser(fillRequest.getForm().getId().toString(), evt, userId);
+      progressPublisher.publish(fillRequest, userId);
     } catch (Exception e) {
       log.debug("Failed to emit queue update: {}", e.getMessage());
     }
@@ -0,0 +1,168 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.dienform.tool.dienformtudong.fillrequest.entity.ScheduledFillTask;
+import com.dienform.tool.dienformtudong.fillrequest.enums.ScheduledFillTaskStateEnum;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import com.dienform.tool.dienformtudong.fillrequest.repository.ScheduledFillTaskRepository;
+import com.dienform.tool.dienformtudong.fillrequest.service.ScheduleDistributionService.ScheduledTask;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persistent ledger of the per-row schedule of a data fill campaign. Rows are written once when
+ * the campaign is planned and claimed one by one as they become due, so a restart resumes from
+ * the remaining PENDING rows instead of re-planning from completedSurvey. Exact-quota fill
+ * requests keep one row per plan position in the same ledger.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledFillTaskLedger {
+
+  private static final int INSERT_BATCH_SIZE = 500;
+
+  private final ScheduledFillTaskRepository scheduledFillTaskRepository;
+  private final FillRequestRepository fillRequestRepository;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Check if a campaign already has a persisted schedule
+   */
+  @Transactional(readOnly = true)
+  public boolean hasSchedule(UUID fillRequestId) {
+    return scheduledFillTaskRepository.existsByFillRequestId(fillRequestId);
+  }
+
+  /**
+   * Persist the planned schedule together with the resolved form data of each row in one batched
+   * insert
+   */
+  @Transactional
+  public List<ScheduledFillTask> persistSchedule(UUID fillRequestId, List<ScheduledTask> schedule,
+      Function<ScheduledTask, Map<String, String>> payloadResolver) {
+    entityManager.unwrap(Session.class).setJdbcBatchSize(INSERT_BATCH_SIZE);
+
+    List<ScheduledFillTask> rows = new ArrayList<>(schedule.size());
+    for (ScheduledTask task : schedule) {
+      rows.add(ScheduledFillTask.builder().fillRequestId(fillRequestId)
+          .rowIndex(task.getRowIndex())
+          .dueTime(task.getExecutionTime().plusSeconds(task.getDelaySeconds()))
+          .payload(payloadResolver.apply(task)).build());
+    }
+    List<ScheduledFillTask> saved = scheduledFillTaskRepository.saveAll(rows);
+    log.info("Persisted {} scheduled fill tasks for fillRequest: {}", saved.size(), fillRequestId);
+    return saved;
+  }
+
+  /**
+   * Persist one row per plan position of an exact-quota fill request. Quota slots are bound to
+   * plan positions, so the DONE rows tell a resumed request exactly which slots were already
+   * submitted and which ones (failed or never run) still have to be.
+   */
+  @Transactional
+  public List<ScheduledFillTask> persistPlanSlots(UUID fillRequestId, int[] positions) {
+    entityManager.unwrap(Session.class).setJdbcBatchSize(INSERT_BATCH_SIZE);
+
+    LocalDateTime now = LocalDateTime.now();
+    List<ScheduledFillTask> rows = new ArrayList<>(positions.length);
+    for (int position : positions) {
+      rows.add(ScheduledFillTask.builder().fillRequestId(fillRequestId).rowIndex(position)
+          .dueTime(now).build());
+    }
+    List<ScheduledFillTask> saved = scheduledFillTaskRepository.saveAll(rows);
+    log.info("Persisted {} plan slots for fillRequest: {}", saved.size(), fillRequestId);
+    return saved;
+  }
+
+  /**
+   * Load the rows that still need to run. Rows left CLAIMED by a previous run never reported back,
+   * and FAILED rows get a new chance when the campaign is retried, so both return to PENDING first.
+   * If the earliest row is overdue, the whole remaining schedule is shifted to start now so the
+   * gaps between rows are kept instead of firing every overdue row back to back.
+   */
+  @Transactional
+  public List<ScheduledFillTask> resumePending(UUID fillRequestId) {
+    LocalDateTime now = LocalDateTime.now();
+    int released = scheduledFillTaskRepository.releaseUnfinished(fillRequestId, now);
+    if (released > 0) {
+      log.info("Released {} unfinished tasks for fillRequest: {}", released, fillRequestId);
+    }
+    List<ScheduledFillTask> pending = scheduledFillTaskRepository
+        .findByFillRequestIdAndStateOrderByDueTimeAsc(fillRequestId,
+            ScheduledFillTaskStateEnum.PENDING);
+    if (!pending.isEmpty() && pending.get(0).getDueTime().isBefore(now)) {
+      Duration shift = Duration.between(pending.get(0).getDueTime(), now);
+      entityManager.unwrap(Session.class).setJdbcBatchSize(INSERT_BATCH_SIZE);
+      for (ScheduledFillTask task : pending) {
+        task.setDueTime(task.getDueTime().plus(shift));
+      }
+      log.info("Shifted {} pending tasks of fillRequest {} by {}s to resume from now",
+          pending.size(), fillRequestId, shift.toSeconds());
+    }
+    return pending;
+  }
+
+  /**
+   * Claim a pending row for execution.
+   *
+   * @return false if the row is no longer pending or is being claimed by another worker
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public boolean claim(UUID taskId) {
+    return scheduledFillTaskRepository.lockPendingById(taskId).map(task -> {
+      task.setState(ScheduledFillTaskStateEnum.CLAIMED);
+      task.setAttemptCount(task.getAttemptCount() + 1);
+      task.setClaimedAt(LocalDateTime.now());
+      return true;
+    }).orElse(false);
+  }
+
+  /**
+   * Mark a row DONE and count its survey in completedSurvey in one transaction, so after a crash
+   * the ledger and the counter never disagree
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void markDone(UUID taskId, UUID fillRequestId) {
+    scheduledFillTaskRepository.updateState(taskId, ScheduledFillTaskStateEnum.DONE,
+        LocalDateTime.now());
+    fillRequestRepository.addCompletedSurveys(fillRequestId, 1);
+  }
+
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void markFailed(UUID taskId) {
+    scheduledFillTaskRepository.updateState(taskId, ScheduledFillTaskStateEnum.FAILED,
+        LocalDateTime.now());
+  }
+
+  /**
+   * Hand a claimed row back so a later attempt can claim it again
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void release(UUID taskId) {
+    scheduledFillTaskRepository.updateState(taskId, ScheduledFillTaskStateEnum.PENDING,
+        LocalDateTime.now());
+  }
+
+  /**
+   * Drop the ledger of a campaign once it no longer needs to be resumed
+   */
+  @Transactional
+  public void clear(UUID fillRequestId) {
+    scheduledFillTaskRepository.deleteByFillRequestId(fillRequestId);
+  }
+}
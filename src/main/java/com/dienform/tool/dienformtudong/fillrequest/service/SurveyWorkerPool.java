@@ -0,0 +1,87 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserSlotManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The single pool that runs survey submissions for every fill path (data fill campaigns and
+ * distribution-based fills). Its size, google.form.thread-pool-size, is the global concurrency
+ * budget for browser work; request coordination runs elsewhere so it never takes a worker. The
+ * size is capped at the FILL browser quota, so a worker never sits blocked waiting for a Chrome
+ * slot while its task timeout runs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SurveyWorkerPool implements Executor {
+
+  private final BrowserSlotManager browserSlotManager;
+
+  @Value("${google.form.thread-pool-size:5}")
+  private int configuredPoolSize;
+
+  private int poolSize;
+
+  private ThreadPoolExecutor executor;
+
+  @PostConstruct
+  public void init() {
+    poolSize = Math.max(1, Math.min(configuredPoolSize, browserSlotManager.getFillQuota()));
+    if (poolSize < configuredPoolSize) {
+      log.warn("SurveyWorkerPool: thread-pool-size {} exceeds the FILL browser quota, using {}",
+          configuredPoolSize, poolSize);
+    }
+    AtomicInteger threadIndex = new AtomicInteger(0);
+    executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(),
+        r -> new Thread(r, "survey-worker-" + threadIndex.incrementAndGet()));
+    log.info("SurveyWorkerPool: Initialized with {} workers", poolSize);
+  }
+
+  @PreDestroy
+  public void cleanup() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(command);
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public int getQueuedCount() {
+    return executor.getQueue().size();
+  }
+
+  public long getCompletedTaskCount() {
+    return executor.getCompletedTaskCount();
+  }
+}
@@ -5,6 +5,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,8 +27,9 @@ import com.dienform.tool.dienformtudong.fillrequest.dto.request.FillRequestDTO;
 import com.dienform.tool.dienformtudong.fillrequest.dto.response.FillRequestResponse;
 import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
 import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequestMapping;
+import com.dienform.tool.dienformtudong.fillrequest.enums.DistributionModeEnum;
 import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
-// FillRequestCreatedEvent import removed - no longer needed
+import com.dienform.tool.dienformtudong.fillrequest.event.FillRequestCreatedEvent;
 import com.dienform.tool.dienformtudong.fillrequest.mapper.FillRequestMapper;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestMappingRepository;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
@@ -85,9 +87,15 @@ public class FillRequestServiceImpl implements FillRequestService {
     Form form = formRepository.findById(formId)
         .orElseThrow(() -> new ResourceNotFoundException("Form", "id", formId));
     List<Question> questions = questionRepository.findByForm(form);
+    Map<UUID, Question> questionsById = questions.stream()
+        .collect(Collectors.toMap(Question::getId, q -> q, (first, second) -> first));
+
+    // Resolve every referenced option once instead of one select per distribution
+    Map<UUID, QuestionOption> optionsById =
+        loadDistributionOptions(fillRequestDTO.getAnswerDistributions(), questions);
 
     // Validate answer distributions
-    validateAnswerDistributions(fillRequestDTO.getAnswerDistributions(), questions);
+    validateAnswerDistributions(fillRequestDTO.getAnswerDistributions(), questions, optionsById);
 
     // Parse ISO 8601 string to LocalDateTime in Vietnam timezone
     LocalDateTime startDate = fillRequestDTO.getStartDate() != null
@@ -117,7 +125,11 @@ public class FillRequestServiceImpl implements FillRequestService {
             .totalPrice(fillRequestDTO.getPricePerSurvey()
                 .multiply(BigDecimal.valueOf(fillRequestDTO.getSurveyCount())))
             .humanLike(Boolean.TRUE.equals(fillRequestDTO.getIsHumanLike())).startDate(startDate)
-            .endDate(endDate).status(FillRequestStatusEnum.QUEUED).priority(0).build();
+            .endDate(endDate).status(FillRequestStatusEnum.QUEUED).priority(0)
+            .distributionMode(fillRequestDTO.getDistributionMode() != null
+                ? fillRequestDTO.getDistributionMode()
+                : DistributionModeEnum.RANDOM)
+            .queuedAt(LocalDateTime.now()).build();
 
     FillRequest savedRequest = fillRequestRepository.save(fillRequest);
     log.info("Fill request saved with ID: {}", savedRequest.getId());
@@ -160,8 +172,10 @@ public class FillRequestServiceImpl implements FillRequestService {
       UUID questionId = entry.getKey();
       List<FillRequestDTO.AnswerDistributionRequest> distributionRequests = entry.getValue();
 
-      Question question = questions.stream().filter(q -> q.getId().equals(questionId)).findFirst()
-          .orElseThrow(() -> new BadRequestException("Question not found: " + questionId));
+      Question question = questionsById.get(questionId);
+      if (question == null) {
+        throw new BadRequestException("Question not found: " + questionId);
+      }
 
       // Create answer distributions for this question
       for (FillRequestDTO.AnswerDistributionRequest distributionRequest : distributionRequests) {
@@ -170,9 +184,11 @@ public class FillRequestServiceImpl implements FillRequestService {
 
         // Handle option-based distributions
         if (distributionRequest.getOptionId() != null) {
-          QuestionOption option = optionRepository.findById(distributionRequest.getOptionId())
-              .orElseThrow(() -> new BadRequestException(
-                  "Question option not found: " + distributionRequest.getOptionId()));
+          QuestionOption option = optionsById.get(distributionRequest.getOptionId());
+          if (option == null) {
+            throw new BadRequestException(
+                "Question option not found: " + distributionRequest.getOptionId());
+          }
           distribution.setOption(option);
         }
 
@@ -220,14 +236,14 @@ public class FillRequestServiceImpl implements FillRequestService {
     // This ensures proper queue management and prevents race conditions
     log.info("Adding fill request {} to queue for proper scheduling", savedRequest.getId());
 
-    // The request is already in QUEUED status, so we just need to ensure it's properly queued
-    // The scheduler will pick it up when there's capacity and it's time to start
+    // The request is already in QUEUED status; the queue dispatcher picks it up right after
+    // commit when there's capacity and it's time to start
+    eventPublisher.publishEvent(new FillRequestCreatedEvent(this, savedRequest.getId()));
 
     return fillRequestMapper.toReponse(savedRequest);
   }
 
-  // Event listener removed - fill requests will be processed by the scheduler instead
-  // This ensures proper queue management and prevents immediate execution
+  // Processing is driven by QueueManagementService, which listens for FillRequestCreatedEvent
 
   @Override
   public FillRequestResponse getFillRequestById(UUID id) {
@@ -314,7 +330,8 @@ public class FillRequestServiceImpl implements FillRequestService {
         .totalPrice(dataFillRequestDTO.getPricePerSurvey()
             .multiply(BigDecimal.valueOf(requestedSubmissionCount)))
         .humanLike(Boolean.TRUE.equals(dataFillRequestDTO.getIsHumanLike())).startDate(startDate)
-        .endDate(endDate).status(FillRequestStatusEnum.QUEUED).priority(0).build();
+        .endDate(endDate).status(FillRequestStatusEnum.QUEUED).priority(0)
+        .queuedAt(LocalDateTime.now()).build();
 
     FillRequest savedRequest = fillRequestRepository.save(fillRequest);
 
@@ -365,8 +382,9 @@ public class FillRequestServiceImpl implements FillRequestService {
     // This ensures consistent queue management and prevents race conditions
     log.info("Adding data fill request {} to queue for proper scheduling", savedRequest.getId());
 
-    // The request is already in QUEUED status, so we just need to ensure it's properly queued
-    // The scheduler will pick it up when there's capacity and it's time to start
+    // The request is already in QUEUED status; the queue dispatcher picks it up right after
+    // commit when there's capacity and it's time to start
+    eventPublisher.publishEvent(new FillRequestCreatedEvent(this, savedRequest.getId()));
 
     return fillRequestMapper.toReponse(savedRequest);
   }
@@ -584,8 +602,36 @@ public class FillRequestServiceImpl implements FillRequestService {
     }
   }
 
-  private void validateAnswerDistributions(
+  /**
+   * Options referenced by the distributions, by id. Options of the form's questions are already
+   * loaded with them; any other id is fetched in a single query.
+   */
+  private Map<UUID, QuestionOption> loadDistributionOptions(
       List<FillRequestDTO.AnswerDistributionRequest> distributions, List<Question> questions) {
+    Map<UUID, QuestionOption> optionsById = new HashMap<>();
+    for (Question question : questions) {
+      for (QuestionOption option : question.getOptions()) {
+        optionsById.put(option.getId(), option);
+      }
+    }
+    if (distributions == null) {
+      return optionsById;
+    }
+
+    Set<UUID> missingIds = distributions.stream()
+        .map(FillRequestDTO.AnswerDistributionRequest::getOptionId)
+        .filter(optionId -> optionId != null && !optionsById.containsKey(optionId))
+        .collect(Collectors.toSet());
+    if (!missingIds.isEmpty()) {
+      optionRepository.findAllById(missingIds)
+          .forEach(option -> optionsById.put(option.getId(), option));
+    }
+    return optionsById;
+  }
+
+  private void validateAnswerDistributions(
+      List<FillRequestDTO.AnswerDistributionRequest> distributions, List<Question> questions,
+      Map<UUID, QuestionOption> optionsById) {
     if (distributions == null || distributions.isEmpty()) {
       throw new BadRequestException("Answer distributions cannot be empty");
     }
@@ -676,9 +722,11 @@ public class FillRequestServiceImpl implements FillRequestService {
               }
             } else {
               // Validate option belongs to question
-              QuestionOption option = optionRepository.findById(distribution.getOptionId())
-                  .orElseThrow(() -> new ResourceNotFoundException("Question Option", "id",
-                      distribution.getOptionId()));
+              QuestionOption option = optionsById.get(distribution.getOptionId());
+              if (option == null) {
+                throw new ResourceNotFoundException("Question Option", "id",
+                    distribution.getOptionId());
+              }
 
               if (!option.getQuestion().getId().equals(question.getId())) {
                 throw new BadRequestException(
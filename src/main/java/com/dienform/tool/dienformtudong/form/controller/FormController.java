@@ -23,6 +23,7 @@ import com.dienform.tool.dienformtudong.form.dto.request.FormRequest;
 import com.dienform.tool.dienformtudong.form.dto.response.FormDetailResponse;
 import com.dienform.tool.dienformtudong.form.dto.response.FormResponse;
 import com.dienform.tool.dienformtudong.form.service.FormService;
+import com.dienform.tool.dienformtudong.formstatistic.dto.response.FormStatisticsResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -55,6 +56,16 @@ public class FormController {
         return ResponseEntity.ok(form);
     }
 
+    /**
+     * Survey statistics of a form. Totals count submission attempts, so a retried row adds one
+     * failed and one completed attempt.
+     */
+    @GetMapping("/{formId}/statistics")
+    public ResponseEntity<FormStatisticsResponse> getFormStatistics(@PathVariable UUID formId,
+            @RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(formService.getFormStatistics(formId, days));
+    }
+
     @GetMapping("/user/all")
     public ResponseModel<?> getAllFormsByCurrentUser() {
         UUID userId = currentUserUtil.getCurrentUserIdIfPresent()
@@ -16,8 +16,10 @@ import com.dienform.tool.dienformtudong.form.dto.request.FormRequest;
 import com.dienform.tool.dienformtudong.form.dto.response.FormDetailResponse;
 import com.dienform.tool.dienformtudong.form.dto.response.FormResponse;
 import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.formstatistic.dto.response.FormStatisticDailyResponse;
 import com.dienform.tool.dienformtudong.formstatistic.dto.response.FormStatisticResponse;
 import com.dienform.tool.dienformtudong.formstatistic.entity.FormStatistic;
+import com.dienform.tool.dienformtudong.formstatistic.entity.FormStatisticDaily;
 import com.dienform.tool.dienformtudong.question.dto.response.QuestionOptionResponse;
 import com.dienform.tool.dienformtudong.question.dto.response.QuestionResponse;
 import com.dienform.tool.dienformtudong.question.entity.Question;
@@ -50,6 +52,8 @@ public interface FormMapper {
 
   FormStatisticResponse toFormStatisticResponse(FormStatistic formStatistic);
 
+  FormStatisticDailyResponse toFormStatisticDailyResponse(FormStatisticDaily daily);
+
   @Named("mapAnswerDistributions")
   default List<FillRequestResponse.AnswerDistributionResponse> mapAnswerDistributions(
       List<AnswerDistribution> distributions) {
@@ -29,6 +29,12 @@ public interface FormRepository extends JpaRepository<Form, UUID> {
     @Query("SELECT f FROM Form f WHERE f.id = :id")
     Optional<Form> findByIdWithFetch(UUID id);
 
+    /**
+     * Owner of a form, without loading the form
+     */
+    @Query("SELECT f.createdBy.id FROM Form f WHERE f.id = :id")
+    Optional<UUID> findOwnerIdById(UUID id);
+
     /**
      * Find all forms by created by ID, ordered by created date descending
      * 
@@ -8,6 +8,7 @@ import com.dienform.tool.dienformtudong.form.dto.request.FormRequest;
 import com.dienform.tool.dienformtudong.form.dto.response.FormDetailResponse;
 import com.dienform.tool.dienformtudong.form.dto.response.FormResponse;
 import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.formstatistic.dto.response.FormStatisticsResponse;
 
 public interface FormService {
     Page<FormResponse> getAllForms(FormParam param, Pageable pageable);
@@ -29,4 +30,14 @@ public interface FormService {
      * @return List of form responses
      */
     java.util.List<FormResponse> getAllFormsByUserId(UUID userId);
+
+    /**
+     * Get the survey statistics of a form from its rollup rows. Counts are submission attempts,
+     * not distinct surveys: a retried row adds one failed and then one completed attempt.
+     *
+     * @param formId The form ID
+     * @param days Number of most recent days to return daily buckets for
+     * @return Running totals and daily buckets
+     */
+    FormStatisticsResponse getFormStatistics(UUID formId, int days);
 }
@@ -1,5 +1,7 @@
 package com.dienform.tool.dienformtudong.form.service.impl;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -24,14 +26,20 @@ import com.dienform.tool.dienformtudong.form.mapper.FormMapper;
 import com.dienform.tool.dienformtudong.form.repository.FormRepository;
 import com.dienform.tool.dienformtudong.form.service.FormService;
 import com.dienform.tool.dienformtudong.form.utils.SortUtil;
+import com.dienform.tool.dienformtudong.formstatistic.dto.response.FormStatisticDailyResponse;
+import com.dienform.tool.dienformtudong.formstatistic.dto.response.FormStatisticResponse;
+import com.dienform.tool.dienformtudong.formstatistic.dto.response.FormStatisticsResponse;
 import com.dienform.tool.dienformtudong.formstatistic.entity.FormStatistic;
+import com.dienform.tool.dienformtudong.formstatistic.repository.FormStatisticDailyRepository;
 import com.dienform.tool.dienformtudong.formstatistic.repository.FormStatisticRepository;
 import com.dienform.tool.dienformtudong.googleform.service.GoogleFormService;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledFormCache;
 import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser.ExtractedQuestion;
 import com.dienform.tool.dienformtudong.question.entity.Question;
 import com.dienform.tool.dienformtudong.question.entity.QuestionOption;
 import com.dienform.tool.dienformtudong.question.repository.QuestionOptionRepository;
 import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
+import com.dienform.tool.dienformtudong.surveyexecution.repository.SurveyExecutionRepository;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -42,12 +50,17 @@ public class FormServiceImpl implements FormService {
   private final FormMapper formMapper;
   private final FormRepository formRepository;
   private final FormStatisticRepository statisticRepository;
+  private final FormStatisticDailyRepository statisticDailyRepository;
+  private final SurveyExecutionRepository surveyExecutionRepository;
   private final GoogleFormService googleFormService;
   private final QuestionRepository questionRepository;
   private final QuestionOptionRepository optionRepository;
   private final FillRequestRepository fillRequestRepository;
   private final FillRequestMappingRepository fillRequestMappingRepository;
   private final CurrentUserUtil currentUserUtil;
+  private final CompiledFormCache compiledFormCache;
+
+  private static final int MAX_STATISTIC_DAYS = 366;
 
   @Override
   public Page<FormResponse> getAllForms(FormParam param, Pageable pageable) {
@@ -129,17 +142,20 @@ public class FormServiceImpl implements FormService {
         .completedSurvey(0).failedSurvey(0).errorQuestion(0).build();
     statisticRepository.save(statistic);
 
-    // Save questions from extracted data
+    // Build questions and options in memory and insert them in JDBC batches. Ids are generated
+    // in the JVM (UUID), so nothing has to be flushed per row to obtain a key.
+    long importStart = System.currentTimeMillis();
     List<ExtractedQuestion> extractedQuestions = formData.getQuestions();
+    List<Question> questions = new ArrayList<>(extractedQuestions.size());
+    List<QuestionOption> options = new ArrayList<>();
+    List<QuestionOption> subOptions = new ArrayList<>();
     extractedQuestions.forEach(q -> {
       Question question = Question.builder().form(savedForm).title(q.getTitle())
           .description(q.getDescription()).type(q.getType()).required(q.isRequired())
           .position(q.getPosition()).additionalData(q.getAdditionalData()).build();
+      questions.add(question);
 
-      // Save the question to the repository
-      Question savedQuestion = questionRepository.save(question);
-
-      // Save options based on question type
+      // Build options based on question type
       if ("checkbox_grid".equals(q.getType()) || "multiple_choice_grid".equals(q.getType())) {
         // Dùng Map để loại trùng row theo value
         Map<String, Boolean> rowValueMap = new java.util.HashMap<>();
@@ -149,10 +165,10 @@ public class FormServiceImpl implements FormService {
             continue;
           }
           rowValueMap.put(rowOption.getValue(), true);
-          QuestionOption row = QuestionOption.builder().question(savedQuestion)
+          QuestionOption row = QuestionOption.builder().question(question)
               .text(rowOption.getText()).value(rowOption.getValue())
               .position(rowOption.getPosition()).isRow(true).build();
-          QuestionOption savedRow = optionRepository.save(row);
+          options.add(row);
 
           // Dùng Map để loại trùng subOptions theo value
           if (rowOption.getSubOptions() != null) {
@@ -163,29 +179,35 @@ public class FormServiceImpl implements FormService {
                 continue;
               }
               subOptionValueMap.put(subOption.getValue(), true);
-              QuestionOption option = QuestionOption.builder().question(savedQuestion)
+              subOptions.add(QuestionOption.builder().question(question)
                   .text(subOption.getText()).value(subOption.getValue())
-                  .position(subOption.getPosition()).parentOption(savedRow).isRow(false).build();
-              optionRepository.save(option);
+                  .position(subOption.getPosition()).parentOption(row).isRow(false).build());
             }
           }
         }
       } else {
         // For regular questions, save options normally
-        q.getOptions().forEach(option -> {
-          QuestionOption questionOption =
-              QuestionOption.builder().question(savedQuestion).text(option.getText())
-                  .value(option.getValue()).position(option.getPosition()).build();
-          optionRepository.save(questionOption);
-        });
+        q.getOptions().forEach(option -> options.add(
+            QuestionOption.builder().question(question).text(option.getText())
+                .value(option.getValue()).position(option.getPosition()).build()));
       }
     });
 
+    // Parents first: questions, then options and grid rows, then the grid cells referencing rows
+    questionRepository.saveAll(questions);
+    optionRepository.saveAll(options);
+    optionRepository.saveAll(subOptions);
+    optionRepository.flush();
+    log.info("Imported form {}: {} questions, {} options in {} ms", savedForm.getId(),
+        questions.size(), options.size() + subOptions.size(),
+        System.currentTimeMillis() - importStart);
+
     return formMapper.toResponse(savedForm);
   }
 
   @Override
   public FormResponse updateForm(UUID formId, FormRequest formRequest) {
+    compiledFormCache.invalidate(formId);
     return null;
   }
 
@@ -198,6 +220,9 @@ public class FormServiceImpl implements FormService {
       Form form = formRepository.findById(id)
           .orElseThrow(() -> new ResourceNotFoundException("Form", "id", id));
 
+      // Execution audit rows reference both the form and its fill requests
+      surveyExecutionRepository.deleteByFormId(id);
+
       // Delete fill requests and related data first
       List<FillRequest> fillRequests = fillRequestRepository.findByForm(form);
       fillRequests.forEach(request -> {
@@ -217,9 +242,11 @@ public class FormServiceImpl implements FormService {
 
       // Delete form statistics
       statisticRepository.findByFormId(id).ifPresent(statisticRepository::delete);
+      statisticDailyRepository.deleteByFormId(id);
 
       // Finally delete the form
       formRepository.delete(form);
+      compiledFormCache.invalidate(id);
 
       log.info("Successfully deleted form {}", id);
     } catch (Exception e) {
@@ -264,4 +291,25 @@ public class FormServiceImpl implements FormService {
     return forms.stream().map(formMapper::toResponse).collect(java.util.stream.Collectors.toList());
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public FormStatisticsResponse getFormStatistics(UUID formId, int days) {
+    // Both reads are key lookups on the rollup tables, independent of execution history
+    FormStatisticResponse summary = statisticRepository.findByFormId(formId)
+        .map(formMapper::toFormStatisticResponse).orElseGet(() -> {
+          if (!formRepository.existsById(formId)) {
+            throw new ResourceNotFoundException("Form", "id", formId);
+          }
+          return FormStatisticResponse.builder().build();
+        });
+
+    int range = Math.max(1, Math.min(days, MAX_STATISTIC_DAYS));
+    LocalDate from = LocalDate.now().minusDays(range - 1L);
+    List<FormStatisticDailyResponse> daily = statisticDailyRepository
+        .findByFormIdAndStatDateGreaterThanEqualOrderByStatDateAsc(formId, from).stream()
+        .map(formMapper::toFormStatisticDailyResponse).toList();
+
+    return FormStatisticsResponse.builder().formId(formId).summary(summary).daily(daily).build();
+  }
+
 }
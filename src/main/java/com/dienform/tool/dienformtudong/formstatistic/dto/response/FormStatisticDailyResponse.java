@@ -0,0 +1,19 @@
+package com.dienform.tool.dienformtudong.formstatistic.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormStatisticDailyResponse {
+    private LocalDate statDate;
+    private int totalSurvey;
+    private int completedSurvey;
+    private int failedSurvey;
+}
@@ -0,0 +1,22 @@
+package com.dienform.tool.dienformtudong.formstatistic.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Running totals of a form plus its daily buckets for the requested range, oldest day first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormStatisticsResponse {
+    private UUID formId;
+    private FormStatisticResponse summary;
+    private List<FormStatisticDailyResponse> daily;
+}
@@ -0,0 +1,47 @@
+package com.dienform.tool.dienformtudong.formstatistic.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import com.dienform.common.entity.AuditEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Survey outcome counters of one form for one day. Rows are only ever incremented, so a date
+ * range of a form is read without touching fill_request or survey_execution.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "form_statistic_daily", uniqueConstraints = {@UniqueConstraint(
+    name = "uk_form_statistic_daily_form_date", columnNames = {"form_id", "stat_date"})})
+@EqualsAndHashCode(callSuper = true)
+public class FormStatisticDaily extends AuditEntity {
+
+  @Column(name = "form_id", nullable = false)
+  private UUID formId;
+
+  @Column(name = "stat_date", nullable = false)
+  private LocalDate statDate;
+
+  @Builder.Default
+  @Column(name = "total_survey", nullable = false)
+  private int totalSurvey = 0;
+
+  @Builder.Default
+  @Column(name = "completed_survey", nullable = false)
+  private int completedSurvey = 0;
+
+  @Builder.Default
+  @Column(name = "failed_survey", nullable = false)
+  private int failedSurvey = 0;
+}
@@ -0,0 +1,41 @@
+package com.dienform.tool.dienformtudong.formstatistic.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.dienform.tool.dienformtudong.formstatistic.entity.FormStatisticDaily;
+
+@Repository
+public interface FormStatisticDailyRepository extends JpaRepository<FormStatisticDaily, UUID> {
+
+    /**
+     * Days of a form from the given date on, oldest first (served by the form_id, stat_date key)
+     */
+    List<FormStatisticDaily> findByFormIdAndStatDateGreaterThanEqualOrderByStatDateAsc(UUID formId,
+        LocalDate from);
+
+    /**
+     * Add outcome counts to an existing day bucket
+     *
+     * @return 0 if the bucket does not exist yet
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE FormStatisticDaily d SET d.totalSurvey = d.totalSurvey + :total, "
+        + "d.completedSurvey = d.completedSurvey + :completed, d.failedSurvey = d.failedSurvey + :failed, "
+        + "d.updatedAt = CURRENT_TIMESTAMP WHERE d.formId = :formId AND d.statDate = :statDate")
+    int addCounts(@Param("formId") UUID formId, @Param("statDate") LocalDate statDate,
+        @Param("total") int total, @Param("completed") int completed,
+        @Param("failed") int failed);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FormStatisticDaily d WHERE d.formId = :formId")
+    int deleteByFormId(@Param("formId") UUID formId);
+}
@@ -1,7 +1,11 @@
 package com.dienform.tool.dienformtudong.formstatistic.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.dienform.tool.dienformtudong.form.entity.Form;
 import com.dienform.tool.dienformtudong.formstatistic.entity.FormStatistic;
 import java.util.Optional;
@@ -12,4 +16,17 @@ public interface FormStatisticRepository extends JpaRepository<FormStatistic, UU
     Optional<FormStatistic> findByFormId(UUID formId);
 
     void deleteByForm(Form form);
-}
\ No newline at end of file
+
+    /**
+     * Add outcome counts to the running totals of a form
+     *
+     * @return 0 if the form has no statistic row
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE FormStatistic fs SET fs.totalSurvey = fs.totalSurvey + :total, "
+        + "fs.completedSurvey = fs.completedSurvey + :completed, fs.failedSurvey = fs.failedSurvey + :failed, "
+        + "fs.updatedAt = CURRENT_TIMESTAMP WHERE fs.form.id = :formId")
+    int addCounts(@Param("formId") UUID formId, @Param("total") int total,
+        @Param("completed") int completed, @Param("failed") int failed);
+}
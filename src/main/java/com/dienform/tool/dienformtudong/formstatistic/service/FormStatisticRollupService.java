@@ -0,0 +1,127 @@
+package com.dienform.tool.dienformtudong.formstatistic.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+import com.dienform.tool.dienformtudong.formstatistic.entity.FormStatistic;
+import com.dienform.tool.dienformtudong.formstatistic.entity.FormStatisticDaily;
+import com.dienform.tool.dienformtudong.formstatistic.repository.FormStatisticDailyRepository;
+import com.dienform.tool.dienformtudong.formstatistic.repository.FormStatisticRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incrementally maintained survey outcome rollups per form and per form and day. Outcomes are
+ * counted in memory when an execution is recorded and added to form_statistic and
+ * form_statistic_daily with one relative update per bucket when the progress counters flush, so
+ * statistics reads never aggregate execution history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FormStatisticRollupService {
+
+  private record Bucket(UUID formId, LocalDate day) {
+  }
+
+  private static final class Delta {
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    // Set under this when the bucket leaves the map; a recorder holding it must use a new one
+    private boolean removed;
+  }
+
+  private final FormStatisticRepository formStatisticRepository;
+  private final FormStatisticDailyRepository formStatisticDailyRepository;
+  private final FormRepository formRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Map<Bucket, Delta> pending = new ConcurrentHashMap<>();
+
+  /**
+   * Count one survey outcome of a form on the given day
+   */
+  public void record(UUID formId, LocalDate day, boolean success) {
+    if (formId == null || day == null) {
+      return;
+    }
+    Bucket key = new Bucket(formId, day);
+    while (true) {
+      Delta delta = pending.computeIfAbsent(key, bucket -> new Delta());
+      synchronized (delta) {
+        if (delta.removed) {
+          // Drained for good between lookup and increment; retry on a fresh bucket
+          continue;
+        }
+        (success ? delta.completed : delta.failed).increment();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Write pending outcome counts. Called from the progress counter flush.
+   */
+  public synchronized void flush() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    LocalDate today = LocalDate.now();
+    pending.forEach((bucket, delta) -> {
+      if (bucket.day().isBefore(today)) {
+        // Past days rarely receive new outcomes. The bucket is removed under its lock, so no
+        // increment can land after the final drain.
+        synchronized (delta) {
+          delta.removed = pending.remove(bucket, delta);
+        }
+      }
+      drain(bucket, delta);
+    });
+  }
+
+  private void drain(Bucket bucket, Delta delta) {
+    int completed = (int) delta.completed.sumThenReset();
+    int failed = (int) delta.failed.sumThenReset();
+    if (completed == 0 && failed == 0) {
+      return;
+    }
+    try {
+      // Totals and the daily bucket commit together, so a retried delta is never counted twice
+      transactionTemplate.executeWithoutResult(status -> apply(bucket, completed, failed));
+    } catch (Exception e) {
+      if (!formRepository.existsById(bucket.formId())) {
+        log.debug("Dropping statistics of deleted form {}", bucket.formId());
+        return;
+      }
+      log.warn("Failed to update statistics of form {}, retrying next flush: {}",
+          bucket.formId(), e.getMessage());
+      Delta retry = pending.computeIfAbsent(bucket, key -> new Delta());
+      retry.completed.add(completed);
+      retry.failed.add(failed);
+    }
+  }
+
+  private void apply(Bucket bucket, int completed, int failed) {
+    int total = completed + failed;
+    UUID formId = bucket.formId();
+    if (formStatisticRepository.addCounts(formId, total, completed, failed) == 0) {
+      // Forms imported before statistics were created get their row on first use
+      formStatisticRepository.save(FormStatistic.builder()
+          .form(formRepository.getReferenceById(formId)).totalSurvey(total)
+          .completedSurvey(completed).failedSurvey(failed).errorQuestion(0).build());
+    }
+    if (formStatisticDailyRepository.addCounts(formId, bucket.day(), total, completed,
+        failed) == 0) {
+      formStatisticDailyRepository.save(FormStatisticDaily.builder().formId(formId)
+          .statDate(bucket.day()).totalSurvey(total).completedSurvey(completed)
+          .failedSurvey(failed).build());
+    }
+    log.debug("Rolled up {} completed / {} failed surveys for form {} on {}", completed, failed,
+        formId, bucket.day());
+  }
+}
@@ -0,0 +1,19 @@
+package com.dienform.tool.dienformtudong.googleform.browser;
+
+/**
+ * Kind of work a Chrome session is opened for; each kind has its own slot quota
+ */
+public enum BrowserCallerType {
+  /**
+   * Survey submissions of fill campaigns
+   */
+  FILL,
+  /**
+   * Reading form structure (sections, questions) when a form is created or refreshed
+   */
+  READ,
+  /**
+   * Reading form structure to encode sheet data against it
+   */
+  ENCODE
+}
@@ -0,0 +1,243 @@
+package com.dienform.tool.dienformtudong.googleform.browser;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounds the number of Chrome processes running at once across every Selenium entry point.
+ *
+ * <p>
+ * A session needs a permit from its caller type's quota and then from the global pool; all
+ * semaphores are fair, so waiting callers are served in arrival order. FILL and ENCODE together
+ * can use at most {@code max-sessions - read-reserved} slots, so neither long fill campaigns nor
+ * bursts of sheet encoding can starve form reading. ENCODE alone is further capped at
+ * {@code encode-quota} slots.
+ */
+@Component
+@Slf4j
+public class BrowserSlotManager {
+
+  /**
+   * Wait statistics of one caller type
+   */
+  public static class SlotStats {
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+    private final AtomicLong maxWaitMs = new AtomicLong();
+
+    void record(long waitMs) {
+      acquired.incrementAndGet();
+      totalWaitMs.addAndGet(waitMs);
+      maxWaitMs.accumulateAndGet(waitMs, Math::max);
+    }
+
+    public long getAcquired() {
+      return acquired.get();
+    }
+
+    public long getTimedOut() {
+      return timedOut.get();
+    }
+
+    public long getMaxWaitMs() {
+      return maxWaitMs.get();
+    }
+
+    public long getAverageWaitMs() {
+      long count = acquired.get();
+      return count == 0 ? 0 : totalWaitMs.get() / count;
+    }
+  }
+
+  @Value("${google.browser.max-sessions:${google.form.thread-pool-size:3}}")
+  private int maxSessions;
+
+  @Value("${google.browser.read-reserved:1}")
+  private int readReserved;
+
+  @Value("${google.browser.encode-quota:1}")
+  private int encodeQuota;
+
+  @Value("${google.browser.acquire-timeout-seconds:600}")
+  private long acquireTimeoutSeconds;
+
+  private Semaphore globalSlots;
+
+  // Slots FILL and ENCODE share; the rest of the global pool is kept for READ
+  private Semaphore unreservedSlots;
+
+  private int fillQuota;
+
+  private final Map<BrowserCallerType, Semaphore> quotaSlots =
+      new EnumMap<>(BrowserCallerType.class);
+
+  private final Map<BrowserCallerType, SlotStats> stats = new EnumMap<>(BrowserCallerType.class);
+
+  // Slot held by each live driver, so a release happens exactly once per session
+  private final Map<WebDriver, BrowserCallerType> slotsByDriver = new ConcurrentHashMap<>();
+
+  // Invoked when a caller is about to block, so holders of idle sessions can give slots back
+  private volatile Runnable slotPressureListener = () -> {
+  };
+
+  @PostConstruct
+  public void init() {
+    int max = Math.max(1, maxSessions);
+    int reserved = Math.max(0, Math.min(readReserved, max - 1));
+    globalSlots = new Semaphore(max, true);
+    fillQuota = max - reserved;
+    unreservedSlots = new Semaphore(fillQuota, true);
+    quotaSlots.put(BrowserCallerType.FILL, new Semaphore(fillQuota, true));
+    quotaSlots.put(BrowserCallerType.READ, new Semaphore(max, true));
+    quotaSlots.put(BrowserCallerType.ENCODE,
+        new Semaphore(Math.max(1, Math.min(encodeQuota, fillQuota)), true));
+    for (BrowserCallerType type : BrowserCallerType.values()) {
+      stats.put(type, new SlotStats());
+    }
+    log.info("BrowserSlotManager: max {} Chrome sessions ({} reserved for form reading)", max,
+        reserved);
+  }
+
+  /**
+   * Wait for a browser slot and start a Chrome session in it. The slot is held until
+   * {@link #quit(WebDriver)} is called for the returned driver.
+   *
+   * @throws IllegalStateException if no slot frees up within the acquire timeout
+   */
+  public WebDriver openDriver(BrowserCallerType type, ChromeOptions options) {
+    acquire(type);
+    try {
+      WebDriver driver = new ChromeDriver(options);
+      slotsByDriver.put(driver, type);
+      return driver;
+    } catch (RuntimeException e) {
+      release(type);
+      throw e;
+    }
+  }
+
+  /**
+   * Quit the driver and give its slot back. Safe to call more than once.
+   */
+  public void quit(WebDriver driver) {
+    if (driver == null) {
+      return;
+    }
+    try {
+      driver.quit();
+    } catch (Exception e) {
+      log.warn("driver.quit() failed: {}", e.getMessage());
+    } finally {
+      BrowserCallerType type = slotsByDriver.remove(driver);
+      if (type != null) {
+        release(type);
+      }
+    }
+  }
+
+  public int getMaxSessions() {
+    return Math.max(1, maxSessions);
+  }
+
+  /**
+   * Number of sessions FILL callers can hold at once
+   */
+  public int getFillQuota() {
+    return fillQuota;
+  }
+
+  public int getActiveSessions() {
+    return slotsByDriver.size();
+  }
+
+  public int getQueueLength() {
+    return globalSlots.getQueueLength() + unreservedSlots.getQueueLength()
+        + quotaSlots.values().stream().mapToInt(Semaphore::getQueueLength).sum();
+  }
+
+  public SlotStats getStats(BrowserCallerType type) {
+    return stats.get(type);
+  }
+
+  public void setSlotPressureListener(Runnable slotPressureListener) {
+    this.slotPressureListener = slotPressureListener;
+  }
+
+  /**
+   * Take the caller type's quota permit, the shared unreserved permit (all but READ) and a global
+   * permit, or none of them
+   */
+  void acquire(BrowserCallerType type) {
+    Semaphore quota = quotaSlots.get(type);
+    Semaphore unreserved = type == BrowserCallerType.READ ? null : unreservedSlots;
+    long startNanos = System.nanoTime();
+    long deadline = startNanos + TimeUnit.SECONDS.toNanos(acquireTimeoutSeconds);
+    try {
+      if (!tryAcquire(quota, deadline)) {
+        throw timeout(type);
+      }
+      if (unreserved != null && !tryAcquire(unreserved, deadline)) {
+        quota.release();
+        throw timeout(type);
+      }
+      if (!tryAcquire(globalSlots, deadline)) {
+        if (unreserved != null) {
+          unreserved.release();
+        }
+        quota.release();
+        throw timeout(type);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a browser slot", e);
+    }
+
+    long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    stats.get(type).record(waitMs);
+    if (waitMs > 1000) {
+      log.info("{} browser slot acquired after {} ms (active: {}/{}, waiting: {})", type, waitMs,
+          slotsByDriver.size() + 1, getMaxSessions(), getQueueLength());
+    }
+  }
+
+  void release(BrowserCallerType type) {
+    globalSlots.release();
+    if (type != BrowserCallerType.READ) {
+      unreservedSlots.release();
+    }
+    quotaSlots.get(type).release();
+  }
+
+  /**
+   * Take a permit right away if one is free; otherwise signal slot pressure and wait until the
+   * deadline
+   */
+  private boolean tryAcquire(Semaphore semaphore, long deadlineNanos)
+      throws InterruptedException {
+    if (semaphore.tryAcquire()) {
+      return true;
+    }
+    slotPressureListener.run();
+    return semaphore.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()),
+        TimeUnit.NANOSECONDS);
+  }
+
+  private IllegalStateException timeout(BrowserCallerType type) {
+    stats.get(type).timedOut.incrementAndGet();
+    log.warn("No {} browser slot available within {}s (active: {}/{})", type,
+        acquireTimeoutSeconds, slotsByDriver.size(), getMaxSessions());
+    return new IllegalStateException("No browser slot available for " + type);
+  }
+}
@@ -0,0 +1,160 @@
+package com.dienform.tool.dienformtudong.googleform.browser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Waits until a freshly loaded form page is usable instead of sleeping a fixed amount of time.
+ *
+ * <p>
+ * A page is ready when the document is no longer loading, web fonts have loaded and the number of
+ * question containers is the same across two animation frames (non-zero unless the document is
+ * fully loaded). Every observed wait is recorded in a histogram.
+ */
+@Component
+@Slf4j
+public class FormReadinessProbe {
+
+  /**
+   * Histogram of readiness waits with fixed millisecond buckets
+   */
+  public static class WaitHistogram {
+    private static final long[] BOUNDS_MS = {100, 250, 500, 1000, 2000, 4000, 8000};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalMs = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    void record(long waitMs, boolean ready) {
+      int bucket = 0;
+      while (bucket < BOUNDS_MS.length && waitMs > BOUNDS_MS[bucket]) {
+        bucket++;
+      }
+      buckets.incrementAndGet(bucket);
+      count.incrementAndGet();
+      totalMs.addAndGet(waitMs);
+      maxMs.accumulateAndGet(waitMs, Math::max);
+      if (!ready) {
+        timedOut.incrementAndGet();
+      }
+    }
+
+    /**
+     * Bucket label ("<=250ms", ">8000ms") to number of waits, in bucket order
+     */
+    public Map<String, Long> getBuckets() {
+      Map<String, Long> snapshot = new LinkedHashMap<>();
+      for (int i = 0; i < BOUNDS_MS.length; i++) {
+        snapshot.put("<=" + BOUNDS_MS[i] + "ms", buckets.get(i));
+      }
+      snapshot.put(">" + BOUNDS_MS[BOUNDS_MS.length - 1] + "ms", buckets.get(BOUNDS_MS.length));
+      return snapshot;
+    }
+
+    public long getCount() {
+      return count.get();
+    }
+
+    public long getTimedOut() {
+      return timedOut.get();
+    }
+
+    public long getMaxMs() {
+      return maxMs.get();
+    }
+
+    public long getAverageMs() {
+      long total = count.get();
+      return total == 0 ? 0 : totalMs.get() / total;
+    }
+  }
+
+  public static final String QUESTION_SELECTOR = "div[role='listitem']";
+
+  // Resolves the stable element count, or -1 while the page is still settling. The timeout guards
+  // against animation frames being throttled in a hidden window.
+  private static final String READINESS_SCRIPT = "var done = arguments[arguments.length - 1];"
+      + "var selector = arguments[0];"
+      + "if (document.readyState === 'loading'"
+      + "    || (document.fonts && document.fonts.status !== 'loaded')) { done(-1); return; }"
+      + "var first = document.querySelectorAll(selector).length;"
+      + "var settled = false;"
+      + "var finish = function () {"
+      + "  if (settled) { return; }"
+      + "  settled = true;"
+      + "  var second = document.querySelectorAll(selector).length;"
+      + "  var complete = document.readyState === 'complete';"
+      + "  done(first === second && (first > 0 || complete) ? second : -1);"
+      + "};"
+      + "requestAnimationFrame(function () { requestAnimationFrame(finish); });"
+      + "setTimeout(finish, 200);";
+
+  @Value("${google.browser.readiness.timeout-ms:15000}")
+  private long timeoutMs;
+
+  @Value("${google.browser.readiness.poll-interval-ms:100}")
+  private long pollIntervalMs;
+
+  private final WaitHistogram waitHistogram = new WaitHistogram();
+
+  /**
+   * Wait until the page shows question containers
+   */
+  public boolean awaitFormReady(WebDriver driver) {
+    return awaitReady(driver, QUESTION_SELECTOR);
+  }
+
+  /**
+   * Wait until the page is ready and the number of elements matching the selector is stable.
+   *
+   * @return false if the page did not settle within the timeout; callers may still proceed
+   */
+  public boolean awaitReady(WebDriver driver, String selector) {
+    long start = System.currentTimeMillis();
+    long deadline = start + timeoutMs;
+    boolean ready = false;
+    long elements = -1;
+
+    while (true) {
+      try {
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(READINESS_SCRIPT,
+            selector);
+        elements = result instanceof Number number ? number.longValue() : -1;
+        ready = elements >= 0;
+      } catch (Exception e) {
+        log.debug("Readiness check failed: {}", e.getMessage());
+      }
+      if (ready || System.currentTimeMillis() >= deadline) {
+        break;
+      }
+      try {
+        Thread.sleep(pollIntervalMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    long waitMs = System.currentTimeMillis() - start;
+    waitHistogram.record(waitMs, ready);
+    if (ready) {
+      log.debug("Page ready in {}ms ({} elements matching {})", waitMs, elements, selector);
+    } else {
+      log.warn("Page not ready after {}ms, proceeding anyway", waitMs);
+    }
+    return ready;
+  }
+
+  public WaitHistogram getWaitHistogram() {
+    return waitHistogram;
+  }
+}
@@ -0,0 +1,272 @@
+package com.dienform.tool.dienformtudong.googleform.browser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool of warm Chrome sessions for survey submissions. A returned session is reset (cookies,
+ * storage, extra windows, about:blank) and parked for the next survey instead of paying Chrome
+ * startup again; sessions are recycled after max-uses or max-age, and dead ones are discarded.
+ *
+ * <p>
+ * Idle sessions keep their {@link BrowserSlotManager} slot. A session is therefore quit rather
+ * than parked whenever another caller is waiting for a slot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebDriverSessionPool {
+
+  private static final class PooledSession {
+    private final WebDriver driver;
+    private final long createdAt = System.currentTimeMillis();
+    private int uses;
+
+    private PooledSession(WebDriver driver) {
+      this.driver = driver;
+    }
+  }
+
+  // Origins a survey can leave storage on; cookies of every domain are cleared separately
+  private static final List<String> RESET_ORIGINS = List.of("https://docs.google.com",
+      "https://accounts.google.com", "https://www.google.com", "https://forms.gle");
+
+  private final BrowserSlotManager browserSlotManager;
+
+  @Value("${google.browser.pool.max-idle:2}")
+  private int maxIdle;
+
+  @Value("${google.browser.pool.max-uses:20}")
+  private int maxUses;
+
+  @Value("${google.browser.pool.max-age-minutes:30}")
+  private long maxAgeMinutes;
+
+  // Guarded by itself
+  private final Deque<PooledSession> idleSessions = new ArrayDeque<>();
+
+  private final Map<WebDriver, PooledSession> borrowedSessions = new ConcurrentHashMap<>();
+
+  private final AtomicLong reuseCount = new AtomicLong();
+  private final AtomicLong launchCount = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    // Parked sessions must never keep another caller waiting for a slot
+    browserSlotManager.setSlotPressureListener(this::closeIdleSessions);
+  }
+
+  /**
+   * Borrow a live session, launching a new one (in a browser slot) if none is idle
+   */
+  public WebDriver borrow(BrowserCallerType type, Supplier<ChromeOptions> optionsSupplier) {
+    PooledSession session;
+    while ((session = pollIdle()) != null) {
+      if (isAlive(session.driver) && !isExpired(session)) {
+        reuseCount.incrementAndGet();
+        break;
+      }
+      browserSlotManager.quit(session.driver);
+    }
+
+    if (session == null) {
+      session = new PooledSession(browserSlotManager.openDriver(type, optionsSupplier.get()));
+      launchCount.incrementAndGet();
+    }
+    session.uses++;
+    borrowedSessions.put(session.driver, session);
+    return session.driver;
+  }
+
+  /**
+   * Pre-launch sessions so the first surveys do not pay Chrome startup
+   */
+  public void warmUp(int count, BrowserCallerType type, Supplier<ChromeOptions> optionsSupplier) {
+    int target = Math.min(count, maxIdle);
+    for (int i = getIdleCount(); i < target; i++) {
+      try {
+        PooledSession session =
+            new PooledSession(browserSlotManager.openDriver(type, optionsSupplier.get()));
+        launchCount.incrementAndGet();
+        session.driver.get("about:blank");
+        synchronized (idleSessions) {
+          idleSessions.push(session);
+        }
+      } catch (Exception e) {
+        log.warn("Failed to pre-launch WebDriver session: {}", e.getMessage());
+        return;
+      }
+    }
+    log.info("WebDriverSessionPool warmed up with {} idle sessions", getIdleCount());
+  }
+
+  /**
+   * Return a session after use. Sessions that are unhealthy, used up, too old or not needed are
+   * quit; the others are reset and parked.
+   *
+   * @param reusable false if the caller left the session in an unknown state
+   */
+  public void release(WebDriver driver, boolean reusable) {
+    if (driver == null) {
+      return;
+    }
+    PooledSession session = borrowedSessions.remove(driver);
+    if (session == null || !reusable || session.uses >= maxUses || isExpired(session)
+        || browserSlotManager.getQueueLength() > 0 || !reset(driver)) {
+      browserSlotManager.quit(driver);
+      return;
+    }
+
+    synchronized (idleSessions) {
+      if (idleSessions.size() < maxIdle) {
+        idleSessions.push(session);
+        return;
+      }
+    }
+    browserSlotManager.quit(driver);
+  }
+
+  /**
+   * Quit a session without returning it to the pool
+   */
+  public void discard(WebDriver driver) {
+    if (driver == null) {
+      return;
+    }
+    borrowedSessions.remove(driver);
+    browserSlotManager.quit(driver);
+  }
+
+  /**
+   * Liveness probe: true if the session still answers WebDriver commands
+   */
+  public boolean isAlive(WebDriver driver) {
+    if (driver == null) {
+      return false;
+    }
+    try {
+      if (driver instanceof RemoteWebDriver remote && remote.getSessionId() == null) {
+        return false;
+      }
+      return driver.getWindowHandle() != null;
+    } catch (Exception e) {
+      log.debug("WebDriver session is not alive: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  public long getReuseCount() {
+    return reuseCount.get();
+  }
+
+  public long getLaunchCount() {
+    return launchCount.get();
+  }
+
+  public int getIdleCount() {
+    synchronized (idleSessions) {
+      return idleSessions.size();
+    }
+  }
+
+  /**
+   * Drop idle sessions that died or aged out while parked
+   */
+  @Scheduled(fixedDelay = 60000)
+  public void evictIdleSessions() {
+    List<PooledSession> evicted = new ArrayList<>();
+    synchronized (idleSessions) {
+      idleSessions.removeIf(session -> {
+        boolean evict = isExpired(session);
+        if (evict) {
+          evicted.add(session);
+        }
+        return evict;
+      });
+    }
+    evicted.forEach(session -> browserSlotManager.quit(session.driver));
+    if (!evicted.isEmpty()) {
+      log.debug("Evicted {} idle WebDriver sessions", evicted.size());
+    }
+  }
+
+  /**
+   * Quit every parked session and give its slot back
+   */
+  public void closeIdleSessions() {
+    List<PooledSession> sessions;
+    synchronized (idleSessions) {
+      sessions = new ArrayList<>(idleSessions);
+      idleSessions.clear();
+    }
+    sessions.forEach(session -> browserSlotManager.quit(session.driver));
+    if (!sessions.isEmpty()) {
+      log.debug("Closed {} idle WebDriver sessions", sessions.size());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    closeIdleSessions();
+    borrowedSessions.keySet().forEach(browserSlotManager::quit);
+    borrowedSessions.clear();
+    log.info("WebDriverSessionPool shut down (launched: {}, reused: {})", launchCount.get(),
+        reuseCount.get());
+  }
+
+  private PooledSession pollIdle() {
+    synchronized (idleSessions) {
+      return idleSessions.poll();
+    }
+  }
+
+  private boolean isExpired(PooledSession session) {
+    return System.currentTimeMillis() - session.createdAt >= maxAgeMinutes * 60_000L;
+  }
+
+  /**
+   * Clear everything a previous survey could leak into the next one
+   */
+  private boolean reset(WebDriver driver) {
+    if (!(driver instanceof ChromiumDriver chromium)) {
+      // Without DevTools other domains' cookies and storage cannot be cleared; do not reuse
+      return false;
+    }
+    try {
+      List<String> handles = new ArrayList<>(driver.getWindowHandles());
+      for (int i = 1; i < handles.size(); i++) {
+        driver.switchTo().window(handles.get(i)).close();
+      }
+      driver.switchTo().window(handles.get(0));
+      driver.get("about:blank");
+      // deleteAllCookies only covers the current origin; these cover every domain the survey
+      // touched, including Google account cookies
+      chromium.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+      for (String origin : RESET_ORIGINS) {
+        chromium.executeCdpCommand("Storage.clearDataForOrigin",
+            Map.of("origin", origin, "storageTypes", "all"));
+      }
+      return true;
+    } catch (Exception e) {
+      log.debug("Failed to reset WebDriver session: {}", e.getMessage());
+      return false;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.dienform.tool.dienformtudong.googleform.service;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserCallerType;
 import com.dienform.tool.dienformtudong.googleform.dto.FormSubmissionRequest;
 import com.dienform.tool.dienformtudong.googleform.dto.FormSubmissionResponse;
 import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser.ExtractedQuestion;
@@ -93,4 +94,14 @@ public interface GoogleFormService {
      * @return FormExtractionResult containing both title and questions
      */
     FormExtractionResult extractFormData(String formUrl);
+
+    /**
+     * Same as {@link #extractFormData(String)}, with the browser session counted against the
+     * quota of the given caller type
+     *
+     * @param formUrl The URL of the Google Form
+     * @param callerType Quota the browser session counts against
+     * @return FormExtractionResult containing both title and questions
+     */
+    FormExtractionResult extractFormData(String formUrl, BrowserCallerType callerType);
 }
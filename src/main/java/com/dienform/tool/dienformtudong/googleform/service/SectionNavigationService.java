@@ -1,6 +1,7 @@
 package com.dienform.tool.dienformtudong.googleform.service;
 
 import java.util.List;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserCallerType;
 
 /**
  * Navigate Google Form sections using Selenium and capture HTML per section.
@@ -103,6 +104,15 @@ public interface SectionNavigationService {
    *         is found on first page
    */
   SectionNavigationResult captureSectionData(String formUrl);
+
+  /**
+   * Same as {@link #captureSectionData(String)}, with the browser slot taken from the quota of the
+   * given caller type
+   *
+   * @param formUrl public form URL
+   * @param callerType quota the browser session counts against
+   */
+  SectionNavigationResult captureSectionData(String formUrl, BrowserCallerType callerType);
 }
 
 
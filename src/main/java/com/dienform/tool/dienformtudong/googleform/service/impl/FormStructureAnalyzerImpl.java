@@ -12,8 +12,8 @@ import com.dienform.tool.dienformtudong.googleform.dto.FormStructureType;
 import com.dienform.tool.dienformtudong.googleform.dto.QuestionInfo;
 import com.dienform.tool.dienformtudong.googleform.dto.SectionInfo;
 import com.dienform.tool.dienformtudong.googleform.service.FormStructureAnalyzer;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledFormCache;
 import com.dienform.tool.dienformtudong.question.entity.Question;
-import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,13 +25,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class FormStructureAnalyzerImpl implements FormStructureAnalyzer {
 
-  private final QuestionRepository questionRepository;
+  // Structure is derived from the cached form snapshot, not re-queried per submission
+  private final CompiledFormCache compiledFormCache;
 
   @Override
   public FormStructure analyzeFormStructureFromDatabase(Form form) {
     log.debug("Analyzing form structure from database for form: {}", form.getId());
 
-    List<Question> questions = questionRepository.findByForm(form);
+    List<Question> questions = compiledFormCache.get(form).getQuestions();
 
     // Check if any question has section_index in additionalData
     boolean hasSections = questions.stream().anyMatch(
@@ -85,7 +86,7 @@ public class FormStructureAnalyzerImpl implements FormStructureAnalyzer {
 
   @Override
   public boolean hasSections(Form form) {
-    List<Question> questions = questionRepository.findByForm(form);
+    List<Question> questions = compiledFormCache.get(form).getQuestions();
     return questions.stream().anyMatch(
         q -> q.getAdditionalData() != null && q.getAdditionalData().containsKey("section_index"));
   }
@@ -11,6 +11,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -23,21 +24,24 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,11 +51,20 @@ import com.dienform.common.util.Constants;
 import com.dienform.tool.dienformtudong.answerdistribution.entity.AnswerDistribution;
 import com.dienform.tool.dienformtudong.answerdistribution.repository.AnswerDistributionRepository;
 import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
+import com.dienform.tool.dienformtudong.fillrequest.entity.ScheduledFillTask;
+import com.dienform.tool.dienformtudong.fillrequest.enums.DistributionModeEnum;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import com.dienform.tool.dienformtudong.fillrequest.service.CampaignTaskScheduler;
 import com.dienform.tool.dienformtudong.fillrequest.service.FillRequestCounterService;
+import com.dienform.tool.dienformtudong.fillrequest.service.FillRequestProgressAggregator;
+import com.dienform.tool.dienformtudong.fillrequest.service.ScheduledFillTaskLedger;
+import com.dienform.tool.dienformtudong.fillrequest.service.SurveyWorkerPool;
 import com.dienform.tool.dienformtudong.form.entity.Form;
 import com.dienform.tool.dienformtudong.form.enums.FormStatusEnum;
 import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserCallerType;
+import com.dienform.tool.dienformtudong.googleform.browser.FormReadinessProbe;
+import com.dienform.tool.dienformtudong.googleform.browser.WebDriverSessionPool;
 import com.dienform.tool.dienformtudong.googleform.dto.FormSubmissionRequest;
 import com.dienform.tool.dienformtudong.googleform.dto.FormSubmissionResponse;
 import com.dienform.tool.dienformtudong.googleform.handler.ComboboxHandler;
@@ -60,6 +73,9 @@ import com.dienform.tool.dienformtudong.googleform.service.FormFillingHelper;
 import com.dienform.tool.dienformtudong.googleform.service.FormFillingOrchestrator;
 import com.dienform.tool.dienformtudong.googleform.service.GoogleFormService;
 import com.dienform.tool.dienformtudong.googleform.service.SectionNavigationService;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledExecutionPlans;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledForm;
+import com.dienform.tool.dienformtudong.googleform.util.CompiledFormCache;
 import com.dienform.tool.dienformtudong.googleform.util.DataProcessingUtils;
 import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser;
 import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser.ExtractedQuestion;
@@ -68,7 +84,9 @@ import com.dienform.tool.dienformtudong.question.entity.Question;
 import com.dienform.tool.dienformtudong.question.entity.QuestionOption;
 import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
 import com.dienform.tool.dienformtudong.surveyexecution.entity.SesstionExecution;
+import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
 import com.dienform.tool.dienformtudong.surveyexecution.repository.SessionExecutionRepository;
+import com.dienform.tool.dienformtudong.surveyexecution.service.ExecutionService;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -81,6 +99,37 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GoogleFormServiceImpl implements GoogleFormService {
 
+    // Time running surveys get to finish after fillForm gives up, before drivers are closed
+    private static final long SURVEY_DRAIN_TIMEOUT_SECONDS = 180;
+
+    private static final long DRAIN_POLL_MS = 500;
+
+    /**
+     * State shared by the lanes of one fillForm run
+     */
+    private static final class PlanPipeline {
+        private final FillRequest fillRequest;
+        private final String link;
+        private final CompiledExecutionPlans plans;
+        // EXACT_QUOTA only: ledger row of every plan, in plan order
+        private final List<ScheduledFillTask> quotaSlots;
+        private final AtomicInteger nextPlan = new AtomicInteger(0);
+        private final AtomicInteger successCount = new AtomicInteger(0);
+        private final AtomicInteger failCount = new AtomicInteger(0);
+        private final AtomicInteger totalProcessed = new AtomicInteger(0);
+        // Surveys currently running on a worker
+        private final AtomicInteger running = new AtomicInteger(0);
+        private volatile boolean stopped;
+
+        private PlanPipeline(FillRequest fillRequest, String link, CompiledExecutionPlans plans,
+                List<ScheduledFillTask> quotaSlots) {
+            this.fillRequest = fillRequest;
+            this.link = link;
+            this.plans = plans;
+            this.quotaSlots = quotaSlots;
+        }
+    }
+
     /**
      * Inner class for checkbox grid answer
      */
@@ -109,6 +158,7 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     private final GoogleFormParser googleFormParser;
     private final FillRequestRepository fillRequestRepository;
     private final FillRequestCounterService fillRequestCounterService;
+    private final FillRequestProgressAggregator fillRequestProgressAggregator;
     private final FormRepository formRepository;
     private final AnswerDistributionRepository answerDistributionRepository;
 
@@ -125,6 +175,26 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     // Form filling orchestrator for section-aware form filling
     private final FormFillingOrchestrator formFillingOrchestrator;
 
+    // Shared survey workers (global concurrency budget) and the timer that holds delayed tasks
+    private final SurveyWorkerPool surveyWorkerPool;
+    private final CampaignTaskScheduler campaignTaskScheduler;
+
+    // Plan slots of exact-quota requests, so a resume submits exactly the missing quota slots
+    private final ScheduledFillTaskLedger scheduledFillTaskLedger;
+
+    // Warm Chrome sessions reused across surveys (slots come from BrowserSlotManager)
+    private final WebDriverSessionPool webDriverSessionPool;
+    private final FormReadinessProbe formReadinessProbe;
+
+    // Immutable per-version form snapshots shared by all fill workers
+    private final CompiledFormCache compiledFormCache;
+
+    // Audit records are queued and written in batches off the fill path
+    private final ExecutionService executionService;
+
+    @Value("${google.browser.pool.warm-size:0}")
+    private int browserPoolWarmSize;
+
     // In-memory cache of form questions (URL -> Questions)
     private final Map<String, List<ExtractedQuestion>> formQuestionsCache =
             new ConcurrentHashMap<>();
@@ -132,9 +202,6 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     @Value("${google.form.auto-submit:true}")
     private boolean autoSubmitEnabled;
 
-    @Value("${google.form.thread-pool-size:5}")
-    private int threadPoolSize;
-
     @Value("${google.form.timeout-seconds:30}")
     private int timeoutSeconds;
 
@@ -175,8 +242,21 @@ public class GoogleFormServiceImpl implements GoogleFormService {
 
     // Realtime gateway to notify UI on status changes
     private final com.dienform.realtime.FillRequestRealtimeGateway realtimeGateway;
+    private final com.dienform.realtime.FillRequestProgressPublisher progressPublisher;
     private final com.dienform.common.util.CurrentUserUtil currentUserUtil;
 
+    /**
+     * Pre-launch Chrome sessions so the first surveys after startup skip browser startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpBrowserPool() {
+        if (browserPoolWarmSize <= 0) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> webDriverSessionPool.warmUp(browserPoolWarmSize,
+                BrowserCallerType.FILL, this::buildChromeOptions));
+    }
+
     /**
      * Cleanup method to clear caches and shutdown executor
      */
@@ -376,9 +456,9 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             return 0;
         }
 
-        // Get questions and answer distributions with eager loading
-        List<Question> questions = questionRepository.findByFormWithOptions(form);
-        if (questions.isEmpty()) {
+        // Questions come from the shared form snapshot; distributions carry their own questions
+        CompiledForm compiledForm = compiledFormCache.get(form);
+        if (compiledForm.size() == 0) {
             log.error("No questions found for form: {}", form.getId());
             updateFillRequestStatus(fillRequest, Constants.FILL_REQUEST_STATUS_FAILED);
             return 0;
@@ -394,121 +474,44 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             distributionsByQuestion.computeIfAbsent(question, k -> new ArrayList<>()).add(dist);
         }
 
-        // Create execution plans with eager loaded data
-        List<Map<Question, QuestionOption>> executionPlans =
-                createExecutionPlans(distributionsByQuestion, remainingSurveys);
+        // Compile the distributions once; each plan is generated when its task runs
+        List<ScheduledFillTask> quotaSlots = resolveQuotaSlots(fillRequest);
+        CompiledExecutionPlans executionPlans =
+                compileExecutionPlans(fillRequest, distributionsByQuestion, quotaSlots);
 
-        if (executionPlans.isEmpty()) {
+        if (executionPlans.size() == 0) {
             log.error("No execution plans created for fillRequestId: {}", fillRequestId);
             updateFillRequestStatus(fillRequest, Constants.FILL_REQUEST_STATUS_FAILED);
             return 0;
         }
 
-        // Add critical logging to debug execution plans
-        log.info("Created {} execution plans for {} remaining surveys (fillRequestId: {})",
+        log.info("Compiled {} execution plans for {} remaining surveys (fillRequestId: {})",
                 executionPlans.size(), remainingSurveys, fillRequestId);
 
-        if (executionPlans.size() != remainingSurveys) {
-            log.error(
-                    "CRITICAL: Execution plans count ({}) does not match remaining surveys ({}) for fillRequestId: {}",
-                    executionPlans.size(), remainingSurveys, fillRequestId);
-        }
-
-        // Initialize counters
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger failCount = new AtomicInteger(0);
-        AtomicInteger totalProcessed = new AtomicInteger(0);
-
-        // Create a new executor for this specific fill request to avoid conflicts
-        ExecutorService executor = null;
-        List<CompletableFuture<Void>> futures = new ArrayList<>();
-        Random random = new Random();
+        // Plans run on the shared survey worker pool through as many lanes as there are workers.
+        // A lane generates its next plan only after its previous survey finished and waits out
+        // the delay on the timer (not on a worker), so memory stays constant in surveyCount.
+        int laneCount = Math.max(1, surveyWorkerPool.getPoolSize());
+        PlanPipeline pipeline = new PlanPipeline(fillRequest, link, executionPlans, quotaSlots);
+        List<CompletableFuture<Void>> lanes = new ArrayList<>(laneCount);
 
         try {
-            executor = Executors.newFixedThreadPool(threadPoolSize);
             currentFillRequestIdHolder.set(fillRequestId);
 
             // Execute form filling tasks for remaining surveys
             log.info(
-                    "Starting execution of {} form filling tasks for remaining surveys (fillRequestId: {})",
-                    executionPlans.size(), fillRequestId);
-
-            int planIndex = 0;
-            for (Map<Question, QuestionOption> plan : executionPlans) {
-                planIndex++;
-                try {
-                    log.debug("Processing execution plan {}/{} for fillRequestId: {}", planIndex,
-                            executionPlans.size(), fillRequestId);
-
-                    final int currentPlanIndex = planIndex; // capture for lambda
-
-                    // Calculate delay for human-like mode
-                    final int delaySeconds;
-                    if (fillRequest.isHumanLike()) {
-                        if (fillRequest.getCompletedSurvey() == 0 && planIndex == 1) {
-                            delaySeconds = 36; // First form: minimal delay
-                        } else {
-                            delaySeconds = 36 + random.nextInt(364); // 36-399 seconds
-                        }
-                        log.debug("Human-like mode: Form {} with delay of {} seconds", planIndex,
-                                delaySeconds);
-                    } else if (totalProcessed.get() > 0) {
-                        delaySeconds = 1; // Fast mode: 1 second between forms
-                        log.debug("Fast mode: 1 second delay between forms");
-                    } else {
-                        delaySeconds = 0;
-                    }
-
-                    CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                        try {
-                            // Apply delay in async context to avoid blocking main thread
-                            if (delaySeconds > 0) {
-                                Thread.sleep(delaySeconds * 1000L);
-                            }
+                    "Starting execution of {} form filling tasks over {} lanes (fillRequestId: {})",
+                    executionPlans.size(), laneCount, fillRequestId);
 
-                            executeFormFillTask(fillRequestId, link, plan,
-                                    fillRequest.isHumanLike(), successCount, failCount);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            log.warn("Task interrupted for plan {}/{} (fillRequestId: {})",
-                                    currentPlanIndex, executionPlans.size(), fillRequestId);
-                        }
-                    }, executor).whenComplete((v, t) -> {
-                        int processed = totalProcessed.incrementAndGet();
-                        if (t != null) {
-                            log.error("Async task failed for plan {}/{} (fillRequestId: {}): {}",
-                                    currentPlanIndex, executionPlans.size(), fillRequestId,
-                                    t.getMessage());
-                        } else {
-                            log.debug("Async task completed for plan {}/{} (fillRequestId: {})",
-                                    currentPlanIndex, executionPlans.size(), fillRequestId);
-                        }
-
-                        log.info("Progress: {}/{} tasks completed for fillRequestId: {}", processed,
-                                remainingSurveys, fillRequestId);
-
-                        if (processed == remainingSurveys) {
-                            // All tasks finished execution, update final status based on DB state
-                            log.info(
-                                    "All {} tasks completed for fillRequestId: {}. Updating final status...",
-                                    processed, fillRequestId);
-                            updateFinalStatusInTransaction(fillRequest, null, successCount.get(),
-                                    failCount.get());
-                        }
-                    });
-
-                    futures.add(future);
-
-                } catch (Exception e) {
-                    log.error("Failed to schedule execution plan {}/{} for fillRequestId: {}: {}",
-                            planIndex, executionPlans.size(), fillRequestId, e.getMessage(), e);
-                    failCount.incrementAndGet();
-                }
+            for (int i = 0; i < laneCount; i++) {
+                CompletableFuture<Void> laneDone = new CompletableFuture<>();
+                lanes.add(laneDone);
+                runNextPlan(pipeline, laneDone);
             }
 
-            // Wait for all tasks to complete
+            // Wait for all lanes to drain
             CompletableFuture<Void> allTasks =
-                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+                    CompletableFuture.allOf(lanes.toArray(new CompletableFuture[0]));
             try {
                 // Wait for all tasks with timeout - 30 minutes for human-like mode, 5 minutes for
                 // fast mode
@@ -517,33 +520,21 @@ public class GoogleFormServiceImpl implements GoogleFormService {
                                                                               // minutes for fast
                 allTasks.get(timeoutSeconds, TimeUnit.SECONDS);
                 log.info("All {} form filling tasks completed successfully for fillRequestId: {}",
-                        futures.size(), fillRequestId);
+                        pipeline.totalProcessed.get(), fillRequestId);
             } catch (Exception e) {
+                // Stop lanes from starting further plans and give running surveys a bounded
+                // time to finish before their drivers are force-closed below
+                pipeline.stopped = true;
                 log.error(
                         "Form filling execution was interrupted or timed out for fillRequestId: {}",
                         fillRequestId, e);
+                awaitRunningSurveys(pipeline);
                 updateFillRequestStatusInTransaction(fillRequest,
                         Constants.FILL_REQUEST_STATUS_FAILED);
                 return 0;
             }
 
         } finally {
-            // Ensure executor is properly shutdown
-            if (executor != null) {
-                try {
-                    executor.shutdown();
-                    if (!executor.awaitTermination(180, TimeUnit.SECONDS)) {
-                        executor.shutdownNow();
-                        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
-                            log.error("Executor did not terminate");
-                        }
-                    }
-                } catch (InterruptedException e) {
-                    executor.shutdownNow();
-                    Thread.currentThread().interrupt();
-                }
-            }
-
             // Force-close any remaining drivers for this fill request as a safety net
             forceCloseAllDriversForFillRequest(fillRequestId);
 
@@ -551,7 +542,137 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             currentFillRequestIdHolder.remove();
         }
 
-        return successCount.get();
+        return pipeline.successCount.get();
+    }
+
+    /**
+     * Pull the next plan for a lane and run it once its delay has passed. The lane re-arms
+     * itself when the survey finishes and completes laneDone when no plans are left.
+     */
+    private void runNextPlan(PlanPipeline pipeline, CompletableFuture<Void> laneDone) {
+        UUID fillRequestId = pipeline.fillRequest.getId();
+        int total = pipeline.plans.size();
+        while (true) {
+            int planIndex = pipeline.nextPlan.incrementAndGet();
+            if (pipeline.stopped || planIndex > total) {
+                laneDone.complete(null);
+                return;
+            }
+
+            // Calculate delay for human-like mode
+            long delayMs;
+            if (pipeline.fillRequest.isHumanLike()) {
+                if (pipeline.fillRequest.getCompletedSurvey() == 0 && planIndex == 1) {
+                    delayMs = 36_000L; // First form: minimal delay
+                } else {
+                    delayMs = (36 + ThreadLocalRandom.current().nextInt(364)) * 1000L; // 36-399s
+                }
+            } else {
+                // Fast mode: 1 second between forms
+                delayMs = pipeline.totalProcessed.get() > 0 ? 1000L : 0L;
+            }
+            log.debug("Scheduling plan {}/{} in {}ms for fillRequestId: {}", planIndex, total,
+                    delayMs, fillRequestId);
+
+            try {
+                campaignTaskScheduler.scheduleAfter(delayMs, () -> {
+                    if (pipeline.stopped) {
+                        // Became due after fillForm gave up on the request
+                        return (Void) null;
+                    }
+                    ScheduledFillTask quotaSlot = pipeline.quotaSlots != null
+                            ? pipeline.quotaSlots.get(planIndex - 1)
+                            : null;
+                    if (quotaSlot != null && !scheduledFillTaskLedger.claim(quotaSlot.getId())) {
+                        log.info(
+                                "Plan slot {} is already claimed or done, skipping (fillRequestId: {})",
+                                quotaSlot.getRowIndex(), fillRequestId);
+                        return (Void) null;
+                    }
+                    pipeline.running.incrementAndGet();
+                    try {
+                        // The plan is generated only now that a worker is free to run it
+                        executeFormFillTask(fillRequestId, pipeline.link,
+                                pipeline.plans.plan(planIndex - 1),
+                                pipeline.fillRequest.isHumanLike(), quotaSlot,
+                                pipeline.successCount, pipeline.failCount);
+                    } finally {
+                        pipeline.running.decrementAndGet();
+                    }
+                    return (Void) null;
+                }, surveyWorkerPool, null).whenComplete((v, t) -> {
+                    onPlanFinished(pipeline, planIndex, t);
+                    continueLane(pipeline, laneDone);
+                });
+                return;
+            } catch (Exception e) {
+                log.error("Failed to schedule execution plan {}/{} for fillRequestId: {}: {}",
+                        planIndex, total, fillRequestId, e.getMessage(), e);
+                pipeline.failCount.incrementAndGet();
+                onPlanFinished(pipeline, planIndex, e);
+            }
+        }
+    }
+
+    /**
+     * Pull the lane's next plan on the dispatch timer rather than on the completing thread, so a
+     * plan that completes inline (e.g. rejected work) cannot grow the stack plan after plan
+     */
+    private void continueLane(PlanPipeline pipeline, CompletableFuture<Void> laneDone) {
+        try {
+            campaignTaskScheduler.execute(() -> runNextPlan(pipeline, laneDone));
+        } catch (RejectedExecutionException e) {
+            log.warn("Dispatch timer rejected the next plan for fillRequestId: {}, closing lane",
+                    pipeline.fillRequest.getId());
+            laneDone.complete(null);
+        }
+    }
+
+    /**
+     * Wait up to SURVEY_DRAIN_TIMEOUT_SECONDS for the surveys of a stopped pipeline to finish
+     */
+    private void awaitRunningSurveys(PlanPipeline pipeline) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SURVEY_DRAIN_TIMEOUT_SECONDS);
+        try {
+            while (pipeline.running.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(DRAIN_POLL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pipeline.running.get() > 0) {
+            log.warn("{} surveys still running after {}s for fillRequestId: {}, force-closing",
+                    pipeline.running.get(), SURVEY_DRAIN_TIMEOUT_SECONDS,
+                    pipeline.fillRequest.getId());
+        }
+    }
+
+    private void onPlanFinished(PlanPipeline pipeline, int planIndex, Throwable error) {
+        UUID fillRequestId = pipeline.fillRequest.getId();
+        int total = pipeline.plans.size();
+        int processed = pipeline.totalProcessed.incrementAndGet();
+        if (error != null) {
+            log.error("Async task failed for plan {}/{} (fillRequestId: {}): {}", planIndex, total,
+                    fillRequestId, error.getMessage());
+        } else {
+            log.debug("Async task completed for plan {}/{} (fillRequestId: {})", planIndex, total,
+                    fillRequestId);
+        }
+
+        log.info("Progress: {}/{} tasks completed for fillRequestId: {}", processed, total,
+                fillRequestId);
+
+        if (processed == total && !pipeline.stopped) {
+            // All tasks finished, update final status based on DB state
+            log.info("All {} tasks completed for fillRequestId: {}. Updating final status...",
+                    processed, fillRequestId);
+            fillRequestProgressAggregator.flush(fillRequestId);
+            updateFinalStatusInTransaction(pipeline.fillRequest, null,
+                    pipeline.successCount.get(), pipeline.failCount.get());
+            if (pipeline.quotaSlots != null) {
+                clearQuotaSlotsIfCompleted(fillRequestId);
+            }
+        }
     }
 
     @Override
@@ -599,12 +720,17 @@ public class GoogleFormServiceImpl implements GoogleFormService {
 
     @Override
     public FormExtractionResult extractFormData(String formUrl) {
+        return extractFormData(formUrl, BrowserCallerType.READ);
+    }
+
+    @Override
+    public FormExtractionResult extractFormData(String formUrl, BrowserCallerType callerType) {
         log.info("Extracting both title and questions from form in single session: {}", formUrl);
 
         try {
             // Use the new combined method to capture both HTMLs and metadata in one browser session
             SectionNavigationService.SectionNavigationResult navigationResult =
-                    sectionNavigationService.captureSectionData(formUrl);
+                    sectionNavigationService.captureSectionData(formUrl, callerType);
 
             String title = null;
             List<ExtractedQuestion> questions = new ArrayList<>();
@@ -685,23 +811,15 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     public boolean submitFormWithBrowser(UUID fillRequestId, UUID formId, String formUrl,
             Map<String, String> formData) {
         try {
-            // Load questions for this form to ensure title/type/additionalData are present
-            List<com.dienform.tool.dienformtudong.question.entity.Question> questionsForForm =
-                    questionRepository.findByFormIdOrderByPosition(formId);
-            Map<UUID, com.dienform.tool.dienformtudong.question.entity.Question> questionsById =
-                    new HashMap<>();
-            for (com.dienform.tool.dienformtudong.question.entity.Question q : questionsForForm) {
-                if (q.getId() != null) {
-                    questionsById.put(q.getId(), q);
-                }
-            }
+            // Shared snapshot of the form; loaded once per form version, not once per row
+            CompiledForm compiledForm = compiledFormCache.get(formId);
 
             // Convert formData to Map<Question, QuestionOption>
             Map<Question, QuestionOption> selections = new HashMap<>();
             Map<UUID, String> localOtherText = new HashMap<>();
             for (Map.Entry<String, String> entry : formData.entrySet()) {
                 UUID qid = UUID.fromString(entry.getKey());
-                Question question = questionsById.get(qid);
+                Question question = compiledForm.getQuestion(qid);
                 if (question == null) {
                     // Fallback to single fetch if not preloaded (should be rare)
                     question = questionRepository.findById(qid).orElse(null);
@@ -1117,19 +1235,8 @@ public class GoogleFormServiceImpl implements GoogleFormService {
                         log.debug("Failed to get current user ID: {}", ignore.getMessage());
                     }
 
-                    // Use centralized emit method with deduplication
-                    realtimeGateway.emitUpdateWithUser(fr.getForm().getId().toString(), evt,
-                            userId);
-
-                    // Leave user room if user ID is available
-                    if (userId != null) {
-                        try {
-                            realtimeGateway.leaveUserFormRoom(userId,
-                                    fr.getForm().getId().toString());
-                        } catch (Exception ignore2) {
-                            log.debug("Failed to leave user room: {}", ignore2.getMessage());
-                        }
-                    }
+                    // Final state is delivered immediately by the publisher
+                    progressPublisher.publish(evt, userId);
                 }
             } catch (Exception ignore) {
                 log.debug("Failed to handle fatal error: {}", ignore.getMessage());
@@ -1253,284 +1360,92 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     }
 
     /**
-     * Centralized emit method to avoid duplicates
+     * Compile the answer distributions into a lazy generator of the remaining plans: choice
+     * questions follow the request's distribution mode, text/date/time questions use the position
+     * mapping built here once
+     *
+     * @param fillRequest The request; its seed and completedSurvey position the resumed sequence
+     * @param distributionsByQuestion Distributions grouped by question
+     * @return Generator of the plans for the remaining surveys
      */
-    private void emitSingleUpdate(FillRequest fillRequest) {
-        try {
-            com.dienform.realtime.dto.FillRequestUpdateEvent event =
-                    com.dienform.realtime.dto.FillRequestUpdateEvent.builder()
-                            .formId(fillRequest.getForm().getId().toString())
-                            .requestId(fillRequest.getId().toString())
-                            .status(fillRequest.getStatus().name())
-                            .completedSurvey(fillRequest.getCompletedSurvey())
-                            .surveyCount(fillRequest.getSurveyCount())
-                            .updatedAt(java.time.Instant.now().toString()).build();
-
-            // Get current user ID if available
-            String userId = null;
-            try {
-                userId = currentUserUtil.getCurrentUserIdIfPresent().map(UUID::toString)
-                        .orElse(null);
-            } catch (Exception ignore) {
-                log.debug("Failed to get current user ID: {}", ignore.getMessage());
-            }
-
-            // Use centralized emit method with deduplication
-            realtimeGateway.emitUpdateWithUser(fillRequest.getForm().getId().toString(), event,
-                    userId);
-
-        } catch (Exception emitErr) {
-            log.warn("Failed to emit realtime status update: {}", emitErr.getMessage());
+    /**
+     * Ledger rows of the plans an exact-quota request still has to submit, persisted on its first
+     * run. Failed and interrupted plans come back as pending, already submitted ones never do.
+     *
+     * @return the pending plan slots in position order, or null for RANDOM requests
+     */
+    private List<ScheduledFillTask> resolveQuotaSlots(FillRequest fillRequest) {
+        if (fillRequest.getDistributionMode() != DistributionModeEnum.EXACT_QUOTA) {
+            return null;
         }
+        UUID fillRequestId = fillRequest.getId();
+        List<ScheduledFillTask> slots;
+        if (scheduledFillTaskLedger.hasSchedule(fillRequestId)) {
+            slots = new ArrayList<>(scheduledFillTaskLedger.resumePending(fillRequestId));
+            log.info("Resuming {} pending plan slots for fillRequestId: {}", slots.size(),
+                    fillRequestId);
+        } else {
+            // Requests started before slots were persisted can only trust completedSurvey
+            slots = new ArrayList<>(scheduledFillTaskLedger.persistPlanSlots(fillRequestId,
+                    IntStream.range(fillRequest.getCompletedSurvey(),
+                            fillRequest.getSurveyCount()).toArray()));
+        }
+        slots.sort(Comparator.comparingInt(ScheduledFillTask::getRowIndex));
+        return slots;
     }
 
-
     /**
-     * Create execution plans based on the distribution percentages
-     *
-     * @param distributionsByQuestion Distributions grouped by question
-     * @param serveyCount Total number of forms to fill
-     * @return List of execution plans (each plan is a map of question to selected option)
+     * Drop the plan slots of an exact-quota request once every survey has been submitted
      */
-    private List<Map<Question, QuestionOption>> createExecutionPlans(
-            Map<Question, List<AnswerDistribution>> distributionsByQuestion, int serveyCount) {
-
-        log.debug("Creating execution plans for {} surveys with {} questions", serveyCount,
-                distributionsByQuestion.size());
-
-        // Debug: Log all questions and their distributions
-        for (Map.Entry<Question, List<AnswerDistribution>> entry : distributionsByQuestion
-                .entrySet()) {
-            Question question = entry.getKey();
-            List<AnswerDistribution> distributions = entry.getValue();
-            log.debug("Question: '{}' (ID: {}, Type: {}) has {} distributions", question.getTitle(),
-                    question.getId(), question.getType(), distributions.size());
-
-            for (AnswerDistribution dist : distributions) {
-                log.debug("  - Distribution: {}% -> Option: '{}' (ID: {})", dist.getPercentage(),
-                        dist.getOption() != null ? dist.getOption().getText() : "null",
-                        dist.getOption() != null ? dist.getOption().getId() : "null");
+    private void clearQuotaSlotsIfCompleted(UUID fillRequestId) {
+        try {
+            FillRequest current = fillRequestRepository.findById(fillRequestId).orElse(null);
+            if (current != null && current.getCompletedSurvey() >= current.getSurveyCount()) {
+                scheduledFillTaskLedger.clear(fillRequestId);
             }
+        } catch (Exception e) {
+            log.warn("Failed to clear plan slots for fillRequestId {}: {}", fillRequestId,
+                    e.getMessage());
         }
+    }
 
-        List<Map<Question, QuestionOption>> plans = new ArrayList<>(serveyCount);
-
+    private CompiledExecutionPlans compileExecutionPlans(FillRequest fillRequest,
+            Map<Question, List<AnswerDistribution>> distributionsByQuestion,
+            List<ScheduledFillTask> quotaSlots) {
         // Tạo mapping theo vị trí cho text questions để đảm bảo tính nhất quán
         Map<Integer, Map<UUID, String>> positionMapping =
                 buildPositionMapping(distributionsByQuestion);
         int maxPositionCount =
                 positionMapping.isEmpty() ? 0 : Collections.max(positionMapping.keySet()) + 1;
 
-        for (int i = 0; i < serveyCount; i++) {
-            try {
-                log.debug("Creating execution plan {}/{}", i + 1, serveyCount);
-                Map<Question, QuestionOption> plan = new HashMap<>();
-
-                // Sử dụng cùng position cho tất cả text questions trong lần điền này
-                int currentPosition = maxPositionCount > 0 ? i % maxPositionCount : 0;
-                Map<UUID, String> currentPositionValues = positionMapping.get(currentPosition);
-
-                // For each question, select an option based on distributions
-                for (Map.Entry<Question, List<AnswerDistribution>> entry : distributionsByQuestion
-                        .entrySet()) {
-                    try {
-                        Question question = entry.getKey();
-                        List<AnswerDistribution> questionDistributions = entry.getValue();
-
-                        log.debug("Processing question '{}' (ID: {}, Type: {}) in plan {}/{}",
-                                question.getTitle(), question.getId(), question.getType(), i + 1,
-                                serveyCount);
-
-                        // Unified handling: free-text and date/time use valueString with position
-                        // mapping;
-                        // others use distribution
-                        String type;
-                        try {
-                            type = question.getType().toLowerCase();
-                        } catch (Exception e) {
-                            type = "unknown";
-                        }
-
-                        boolean isFreeText = type.equals("text") || type.equals("email")
-                                || type.equals("textarea") || type.equals("short_answer")
-                                || type.equals("paragraph");
-                        boolean isDate = type.equals("date");
-                        boolean isTime = type.equals("time");
-
-                        if (isFreeText || isDate || isTime) {
-                            String value = getTextValueForPosition(question.getId(),
-                                    currentPositionValues, questionDistributions, type);
-
-                            // If no value from position mapping, generate based on question title
-                            if (value == null) {
-                                value = generateTextByQuestionType(question.getTitle());
-                            }
-
-                            QuestionOption textOption = new QuestionOption();
-                            textOption.setQuestion(question);
-                            textOption.setText(value);
-                            plan.put(question, textOption);
-
-                            log.debug("Added text option for question '{}': '{}'",
-                                    question.getTitle(), value);
-                        } else {
-                            // radio/checkbox/combobox/grid use option distributions
-                            QuestionOption selectedOption =
-                                    selectOptionBasedOnDistribution(questionDistributions);
-                            if (selectedOption != null) {
-                                // Validate that the selected option belongs to the correct question
-                                if (selectedOption.getQuestion() != null && !selectedOption
-                                        .getQuestion().getId().equals(question.getId())) {
-                                    log.error(
-                                            "CRITICAL: Selected option '{}' (ID: {}) does not belong to question '{}' (ID: {})! Option belongs to question '{}' (ID: {})",
-                                            selectedOption.getText(), selectedOption.getId(),
-                                            question.getTitle(), question.getId(),
-                                            selectedOption.getQuestion().getTitle(),
-                                            selectedOption.getQuestion().getId());
-                                    continue; // Skip this question to avoid wrong mapping
-                                }
-
-                                plan.put(question, selectedOption);
-                                log.debug("Added option for question '{}': '{}' (ID: {})",
-                                        question.getTitle(), selectedOption.getText(),
-                                        selectedOption.getId());
-                            } else {
-                                log.warn("No option selected for question '{}' in plan {}/{}",
-                                        question.getTitle(), i + 1, serveyCount);
-                            }
-                        }
-                    } catch (Exception questionEx) {
-                        log.warn("Failed to process question {} in plan {}/{}: {}",
-                                entry.getKey().getId(), i + 1, serveyCount,
-                                questionEx.getMessage());
-                        // Continue processing other questions
-                    }
-                }
-
-                plans.add(plan);
-                log.debug("Successfully created execution plan {}/{} with {} questions", i + 1,
-                        serveyCount, plan.size());
-
-            } catch (Exception planEx) {
-                log.error("Failed to create execution plan {}/{}: {}", i + 1, serveyCount,
-                        planEx.getMessage(), planEx);
-
-                // Create a minimal fallback plan to ensure we don't skip this iteration
-                Map<Question, QuestionOption> fallbackPlan = new HashMap<>();
-
-                // Try to add at least one question-option pair for each question with a safe
-                // default
-                for (Map.Entry<Question, List<AnswerDistribution>> entry : distributionsByQuestion
-                        .entrySet()) {
-                    try {
-                        Question question = entry.getKey();
-                        List<AnswerDistribution> questionDistributions = entry.getValue();
-
-                        if (!questionDistributions.isEmpty()) {
-                            // Use the first available option as fallback
-                            AnswerDistribution firstDist = questionDistributions.get(0);
-                            if (firstDist.getOption() != null) {
-                                fallbackPlan.put(question, firstDist.getOption());
-                            }
-                        }
-                    } catch (Exception fallbackEx) {
-                        log.warn("Failed to create fallback for question in plan {}/{}: {}", i + 1,
-                                serveyCount, fallbackEx.getMessage());
-                    }
-                }
-
-                plans.add(fallbackPlan);
-                log.warn("Added fallback plan {}/{} with {} questions due to error", i + 1,
-                        serveyCount, fallbackPlan.size());
-            }
-        }
-
-        log.info("Finished creating {} execution plans (expected: {})", plans.size(), serveyCount);
-
-        // Critical validation: ensure we have the exact number of plans expected
-        if (plans.size() != serveyCount) {
-            log.error(
-                    "CRITICAL ERROR: Created {} plans but expected {}. This will cause missing submissions!",
-                    plans.size(), serveyCount);
-
-            // Emergency fix: create missing plans by duplicating the last plan if we have any
-            while (plans.size() < serveyCount && !plans.isEmpty()) {
-                Map<Question, QuestionOption> lastPlan = new HashMap<>(plans.get(plans.size() - 1));
-                plans.add(lastPlan);
-                log.warn("Emergency: Created duplicate plan {}/{} to reach expected count",
-                        plans.size(), serveyCount);
-            }
-        }
-
-        return plans;
-    }
-
-    /**
-     * Select an option based on the distribution percentages
-     *
-     * @param distributions List of answer distributions
-     * @return Selected question option
-     */
-    private QuestionOption selectOptionBasedOnDistribution(List<AnswerDistribution> distributions) {
-        if (distributions == null || distributions.isEmpty()) {
-            log.debug("No distributions provided for option selection");
-            return null;
-        }
-
-        // Validate that all distributions belong to the same question
-        Question expectedQuestion = null;
-        for (AnswerDistribution dist : distributions) {
-            if (expectedQuestion == null) {
-                expectedQuestion = dist.getQuestion();
-            } else if (!expectedQuestion.getId().equals(dist.getQuestion().getId())) {
-                log.error(
-                        "CRITICAL: Distributions contain options from different questions! Expected: '{}' (ID: {}), Found: '{}' (ID: {})",
-                        expectedQuestion.getTitle(), expectedQuestion.getId(),
-                        dist.getQuestion().getTitle(), dist.getQuestion().getId());
-                return null;
-            }
-        }
-
-        // Calculate total percentage
-        int totalPercentage =
-                distributions.stream().mapToInt(AnswerDistribution::getPercentage).sum();
-
-        if (totalPercentage <= 0) {
-            log.debug("Total percentage is {} (<= 0), cannot select option", totalPercentage);
-            return null;
-        }
-
-        // Generate a random value between 0 and total percentage using ThreadLocalRandom for thread
-        // safety
-        int randomValue = ThreadLocalRandom.current().nextInt(totalPercentage);
-        log.debug("Random value generated: {} (total percentage: {})", randomValue,
-                totalPercentage);
-
-        // Select option based on cumulative percentage
-        int cumulativePercentage = 0;
-        for (AnswerDistribution distribution : distributions) {
-            cumulativePercentage += distribution.getPercentage();
-            log.debug("Checking distribution: {}% -> Option: '{}' (ID: {}), cumulative: {}",
-                    distribution.getPercentage(),
-                    distribution.getOption() != null ? distribution.getOption().getText() : "null",
-                    distribution.getOption() != null ? distribution.getOption().getId() : "null",
-                    cumulativePercentage);
-
-            if (randomValue < cumulativePercentage) {
-                QuestionOption selected = distribution.getOption();
-                log.debug("Selected option: '{}' (ID: {}) for random value {}",
-                        selected != null ? selected.getText() : "null",
-                        selected != null ? selected.getId() : "null", randomValue);
-                return selected;
-            }
-        }
-
-        // Default to the first option if something went wrong
-        QuestionOption fallback = distributions.get(0).getOption();
-        log.warn("No option selected, using fallback: '{}' (ID: {})",
-                fallback != null ? fallback.getText() : "null",
-                fallback != null ? fallback.getId() : "null");
-        return fallback;
+        DistributionModeEnum mode = fillRequest.getDistributionMode() != null
+                ? fillRequest.getDistributionMode()
+                : DistributionModeEnum.RANDOM;
+        // Requests created before seeds were stored fall back to one derived from their id
+        long seed = fillRequest.getDistributionSeed() != null ? fillRequest.getDistributionSeed()
+                : fillRequest.getId().getMostSignificantBits()
+                        ^ fillRequest.getId().getLeastSignificantBits();
+
+        // Exact-quota requests generate the positions still pending in the ledger; random ones
+        // just continue after the completed surveys
+        int[] positions = quotaSlots != null
+                ? quotaSlots.stream().mapToInt(ScheduledFillTask::getRowIndex).toArray()
+                : IntStream.range(fillRequest.getCompletedSurvey(),
+                        fillRequest.getSurveyCount()).toArray();
+
+        return CompiledExecutionPlans.compile(distributionsByQuestion, mode,
+                fillRequest.getSurveyCount(), positions, seed,
+                (question, questionDistributions, planIndex) -> {
+                    // Sử dụng cùng position cho tất cả text questions trong lần điền này
+                    int currentPosition = maxPositionCount > 0 ? planIndex % maxPositionCount : 0;
+                    String value = getTextValueForPosition(question.getId(),
+                            positionMapping.get(currentPosition), questionDistributions,
+                            question.getType().toLowerCase());
+
+                    // If no value from position mapping, generate based on question title
+                    return value != null ? value
+                            : generateTextByQuestionType(question.getTitle());
+                });
     }
 
     /**
@@ -1545,6 +1460,9 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     private boolean executeFormFill(UUID fillRequestId, UUID formId, String formUrl,
             Map<Question, QuestionOption> selections, boolean humanLike) {
         WebDriver driver = null;
+        // Whether the session finished in a known state and may go back to the pool
+        boolean reusable = false;
+        boolean submitConfirmed = false;
         try {
             log.info("Starting to fill form with {} questions", selections.size());
             long startTime = System.currentTimeMillis();
@@ -1667,7 +1585,6 @@ public class GoogleFormServiceImpl implements GoogleFormService {
                     log.info("Form submitted successfully");
 
                     // Wait for submission confirmation with longer timeout and multiple approaches
-                    boolean submitConfirmed = false;
                     try {
                         // Wait for URL change to formResponse (primary indicator)
                         WebDriverWait submitWait =
@@ -1714,6 +1631,7 @@ public class GoogleFormServiceImpl implements GoogleFormService {
                     if (submitConfirmed) {
                         verifySubmissionSuccess(driver);
                     }
+                    reusable = submitConfirmed;
 
                     return submitConfirmed || true; // Return true even if not confirmed, as form
                                                     // was clicked
@@ -1725,6 +1643,7 @@ public class GoogleFormServiceImpl implements GoogleFormService {
 
             long totalTime = System.currentTimeMillis() - startTime;
             log.info("Form filling completed in {}ms", totalTime);
+            reusable = true;
             return processedQuestions > 0; // Return true if at least one question was processed
 
         } catch (Exception e) {
@@ -1732,21 +1651,23 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             // Don't quit driver here, let finally block handle it
             return false;
         } finally {
-            // Ensure WebDriver is properly closed
+            // Return the session to the pool (or quit it if it cannot be reused)
             if (driver != null) {
-                // Add additional delay before shutdown to ensure form submission is fully processed
-                try {
-                    log.info(
-                            "Waiting 3 seconds before shutdown to ensure form submission is fully processed...");
-                    Thread.sleep(3000);
-                    log.info("Shutdown delay completed");
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("Interrupted during shutdown delay");
+                // A confirmed submission has already landed; only unconfirmed ones get extra time
+                if (autoSubmitEnabled && !submitConfirmed) {
+                    try {
+                        log.info(
+                                "Waiting 3 seconds before release to ensure form submission is fully processed...");
+                        Thread.sleep(3000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        log.warn("Interrupted during shutdown delay");
+                        reusable = false;
+                    }
                 }
 
                 try {
-                    shutdownDriver(driver);
+                    webDriverSessionPool.release(driver, reusable);
                 } finally {
                     // Remove from active set
                     try {
@@ -1824,34 +1745,15 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     }
 
     /**
-     * Safely shutdown a WebDriver: try to close all windows then quit, with fallbacks.
+     * Safely shutdown a WebDriver without returning it to the session pool.
      */
     private void shutdownDriver(WebDriver driver) {
         if (driver == null) {
             return;
         }
         try {
-            try {
-                for (String handle : driver.getWindowHandles()) {
-                    try {
-                        driver.switchTo().window(handle);
-                        driver.close();
-                    } catch (Exception ignore) {
-                    }
-                }
-            } catch (Exception ignore) {
-            }
-            try {
-                driver.quit();
-                log.info("WebDriver quit invoked");
-            } catch (Exception e) {
-                log.warn("driver.quit() failed: {}", e.getMessage());
-                try {
-                    driver.close();
-                } catch (Exception closeException) {
-                    log.error("driver.close() also failed: {}", closeException.getMessage());
-                }
-            }
+            webDriverSessionPool.discard(driver);
+            log.info("WebDriver quit invoked");
         } catch (Exception e) {
             log.warn("Unexpected error during driver shutdown: {}", e.getMessage());
         }
@@ -1986,7 +1888,7 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             Question question, QuestionOption option, boolean humanLike) {
         try {
             // Check if WebDriver is still active
-            if (driver == null || isWebDriverQuit(driver)) {
+            if (!webDriverSessionPool.isAlive(driver)) {
                 log.error("WebDriver is null or has been quit, cannot fill question: {}",
                         question.getTitle());
                 return false;
@@ -2103,6 +2005,21 @@ public class GoogleFormServiceImpl implements GoogleFormService {
     }
 
     private WebDriver openBrowser(String formUrl, boolean humanLike) throws InterruptedException {
+        // Reuse a warm session when one is idle, otherwise launch Chrome once a slot is free
+        WebDriver driver = webDriverSessionPool.borrow(BrowserCallerType.FILL,
+                this::buildChromeOptions);
+        log.info("ChromeDriver ready (launched: {}, reused: {})",
+                webDriverSessionPool.getLaunchCount(), webDriverSessionPool.getReuseCount());
+
+        try {
+            return prepareBrowser(driver, formUrl);
+        } catch (RuntimeException e) {
+            webDriverSessionPool.discard(driver);
+            throw e;
+        }
+    }
+
+    private ChromeOptions buildChromeOptions() {
         // Setup Chrome options with optimized settings
         ChromeOptions options = new ChromeOptions();
 
@@ -2173,21 +2090,15 @@ public class GoogleFormServiceImpl implements GoogleFormService {
         options.setExperimentalOption("excludeSwitches",
                 Collections.singletonList("enable-automation"));
         options.setExperimentalOption("useAutomationExtension", false);
+        return options;
+    }
 
-        // Setup Chrome driver
-        WebDriver driver = new ChromeDriver(options);
-        log.info("ChromeDriver created successfully");
-
-        if (driver == null) {
-            throw new RuntimeException("Failed to create ChromeDriver");
-        }
-
+    private WebDriver prepareBrowser(WebDriver driver, String formUrl) {
         // Set viewport size after driver creation for headless mode
         if (headless) {
             try {
                 // Set viewport size to ensure consistent rendering
                 driver.manage().window().setSize(new org.openqa.selenium.Dimension(1920, 1080));
-                Thread.sleep(500);
             } catch (Exception e) {
                 log.warn("Failed to set viewport size: {}", e.getMessage());
             }
@@ -2197,49 +2108,27 @@ public class GoogleFormServiceImpl implements GoogleFormService {
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(10));
         driver.manage().timeouts().implicitlyWait(Duration.ZERO);
 
-        // Create wait object with shorter timeout
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-
         // Navigate to form URL with retry mechanism
         log.info("Navigating to form URL: {}", formUrl);
         driver.get(formUrl);
 
-        // Wait for page to fully load and stabilize in headless mode
+        // Wait until the questions are rendered and stable instead of sleeping a fixed time
+        log.info("Waiting for form to load completely...");
+        if (formReadinessProbe.awaitFormReady(driver)) {
+            log.info("Form ready: question containers present");
+        }
+
+        // Force layout recalculation so headless rendering matches the fixed viewport
         if (headless) {
             try {
-                Thread.sleep(3000); // Give extra time for layout to settle
-
-                // Force layout recalculation
                 ((JavascriptExecutor) driver).executeScript("document.body.style.zoom = '1';"
                         + "document.body.style.transform = 'scale(1)';"
                         + "window.dispatchEvent(new Event('resize'));");
-
-                // Wait for layout to settle
-                Thread.sleep(2000);
-
-                // Ensure viewport is properly set after page load
-                driver.manage().window().setSize(new org.openqa.selenium.Dimension(1920, 1080));
-
-                // Additional wait for layout to settle
-                Thread.sleep(1000);
             } catch (Exception e) {
                 log.warn("Error during headless mode stabilization: {}", e.getMessage());
             }
         }
 
-        // Wait for form to be ready (minimal wait)
-        try {
-            log.info("Waiting for form to load completely...");
-
-            // Wait for question containers to be present
-            wait.until(ExpectedConditions
-                    .presenceOfElementLocated(By.xpath("//div[@role='listitem']")));
-            log.info("Form ready: question containers present");
-
-        } catch (Exception e) {
-            log.warn("Waiting for form containers failed: {}. Proceeding.", e.getMessage());
-        }
-
         return driver;
     }
 
@@ -2254,7 +2143,7 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             boolean humanLike) {
         try {
             // Check if WebDriver is still active
-            if (driver == null || isWebDriverQuit(driver)) {
+            if (!webDriverSessionPool.isAlive(driver)) {
                 log.error("WebDriver is null or has been quit, cannot fill radio question");
                 return;
             }
@@ -2376,7 +2265,7 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             String optionText, boolean humanLike) {
         try {
             // Check if WebDriver is still active
-            if (driver == null || isWebDriverQuit(driver)) {
+            if (!webDriverSessionPool.isAlive(driver)) {
                 log.error("WebDriver is null or has been quit, cannot fill checkbox question");
                 return;
             }
@@ -2821,7 +2710,7 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             throws InterruptedException {
         try {
             // Check if WebDriver is still active
-            if (driver == null || isWebDriverQuit(driver)) {
+            if (!webDriverSessionPool.isAlive(driver)) {
                 log.error("WebDriver is null or has been quit, cannot fill text question: {}",
                         questionTitle);
                 return;
@@ -3622,28 +3511,6 @@ public class GoogleFormServiceImpl implements GoogleFormService {
         }
     }
 
-    /**
-     * Check if WebDriver has been quit
-     * 
-     * @param driver The WebDriver instance to check
-     * @return True if WebDriver is quit, false otherwise
-     */
-    private boolean isWebDriverQuit(WebDriver driver) {
-        if (driver == null) {
-            return true;
-        }
-
-        try {
-            // Try to get current URL - this will throw exception if driver is quit
-            String currentUrl = driver.getCurrentUrl();
-            return currentUrl == null;
-        } catch (Exception e) {
-            // If we get any exception, driver is likely quit
-            log.debug("WebDriver appears to be quit: {}", e.getMessage());
-            return true;
-        }
-    }
-
     /**
      * Normalize question title for comparison by removing extra whitespace and newlines
      * 
@@ -3959,13 +3826,14 @@ public class GoogleFormServiceImpl implements GoogleFormService {
      * Execute a single form fill task and update counters
      */
     private void executeFormFillTask(UUID fillRequestId, String link,
-            Map<Question, QuestionOption> plan, boolean humanLike, AtomicInteger successCount,
-            AtomicInteger failCount) {
+            Map<Question, QuestionOption> plan, boolean humanLike, ScheduledFillTask quotaSlot,
+            AtomicInteger successCount, AtomicInteger failCount) {
+        FillRequest frTmp = null;
         try {
             // fetch formId once for accuracy
             UUID formIdSafe = null;
             try {
-                FillRequest frTmp = fillRequestRepository.findById(fillRequestId).orElse(null);
+                frTmp = fillRequestRepository.findById(fillRequestId).orElse(null);
                 if (frTmp != null && frTmp.getForm() != null) {
                     formIdSafe = frTmp.getForm().getId();
                 }
@@ -3973,13 +3841,22 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             }
             boolean success = formFillingOrchestrator.orchestrateFormFill(fillRequestId, formIdSafe,
                     link, plan, humanLike, this::executeFormFill);
+            recordExecution(frTmp, success, success ? null : "Form fill task failed");
             if (success) {
                 successCount.incrementAndGet();
                 log.info("Form fill task succeeded for fillRequest {}", fillRequestId);
                 try {
-                    // Use simple atomic increment - this was working fine before
-                    boolean incrementSuccess =
-                            fillRequestCounterService.incrementCompletedSurvey(fillRequestId);
+                    boolean incrementSuccess;
+                    if (quotaSlot != null) {
+                        // Slot state and completedSurvey are written together
+                        scheduledFillTaskLedger.markDone(quotaSlot.getId(), fillRequestId);
+                        incrementSuccess = fillRequestProgressAggregator
+                                .recordPersistedCompletion(fillRequestId);
+                    } else {
+                        // Counted in memory and written in batches by the aggregator
+                        incrementSuccess =
+                                fillRequestProgressAggregator.recordCompletion(fillRequestId);
+                    }
                     if (!incrementSuccess) {
                         log.warn(
                                 "Failed to increment completedSurvey for {} (may have reached limit)",
@@ -3992,16 +3869,52 @@ public class GoogleFormServiceImpl implements GoogleFormService {
             } else {
                 failCount.incrementAndGet();
                 log.warn("Form fill task failed for fillRequest {}", fillRequestId);
+                releaseQuotaSlot(quotaSlot);
             }
         } catch (Exception e) {
             failCount.incrementAndGet();
             log.error("Exception during form fill task for fillRequest {}: {}", fillRequestId,
                     e.getMessage(), e);
+            recordExecution(frTmp, false, e.getMessage());
+            releaseQuotaSlot(quotaSlot);
+        }
+    }
+
+    /**
+     * Hand the slot of a failed plan back so the request's retry submits it again
+     */
+    private void releaseQuotaSlot(ScheduledFillTask quotaSlot) {
+        if (quotaSlot == null) {
+            return;
+        }
+        try {
+            scheduledFillTaskLedger.release(quotaSlot.getId());
+        } catch (Exception e) {
+            log.warn("Failed to release plan slot {}: {}", quotaSlot.getRowIndex(), e.getMessage());
         }
     }
 
     /**
-     * Ensure current user is in the form room and send initial updates
+     * Queue the audit record of one form fill attempt
+     */
+    private void recordExecution(FillRequest fillRequest, boolean success, String errorMessage) {
+        if (fillRequest == null || fillRequest.getForm() == null) {
+            return;
+        }
+        try {
+            executionService.recordExecution(SurveyExecution.builder().fillRequest(fillRequest)
+                    .form(fillRequest.getForm()).executionTime(LocalDateTime.now())
+                    .status(success ? Constants.EXECUTION_STATUS_COMPLETED
+                            : Constants.EXECUTION_STATUS_FAILED)
+                    .errorMessage(errorMessage).build());
+        } catch (Exception e) {
+            log.debug("Failed to record execution for fillRequest {}: {}", fillRequest.getId(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Send initial updates to the current user's sockets, which joined the user room on connect
      */
     private void ensureUserInRoom(FillRequest fillRequest) {
         try {
@@ -4009,9 +3922,6 @@ public class GoogleFormServiceImpl implements GoogleFormService {
                 String userId = uid.toString();
                 String formId = fillRequest.getForm().getId().toString();
 
-                // Ensure user joins the room
-                realtimeGateway.ensureUserJoinedFormRoom(userId, formId);
-
                 // Send bulk state update
                 realtimeGateway.emitBulkStateForUser(userId, formId);
 
@@ -4025,31 +3935,13 @@ public class GoogleFormServiceImpl implements GoogleFormService {
                                 .updatedAt(java.time.Instant.now().toString()).build();
                 realtimeGateway.emitUpdateForUser(userId, formId, evt);
 
-                log.debug("Ensured user {} is in room for form {} and sent initial updates", userId,
-                        formId);
+                log.debug("Sent initial updates for form {} to user {}", formId, userId);
             });
         } catch (Exception e) {
             log.warn("Failed to ensure user in room: {}", e.getMessage());
         }
     }
 
-    /**
-     * Emit progress update to both form room and user-specific room
-     */
-    private void emitProgressUpdate(UUID fillRequestId) {
-        try {
-            FillRequest currentAfter = fillRequestRepository.findById(fillRequestId).orElse(null);
-            if (currentAfter != null && currentAfter.getForm() != null) {
-                // Use centralized emit method to avoid duplicates
-                emitSingleUpdate(currentAfter);
-                log.debug("Emitted progress update for fillRequest: {} - {}/{}", fillRequestId,
-                        currentAfter.getCompletedSurvey(), currentAfter.getSurveyCount());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to emit progress update: {}", e.getMessage());
-        }
-    }
-
     /**
      * Find a question element from a map by normalized title
      */
@@ -10,7 +10,6 @@ import java.util.UUID;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -22,6 +21,9 @@ import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
 import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
 import com.dienform.tool.dienformtudong.form.entity.Form;
 import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserCallerType;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserSlotManager;
+import com.dienform.tool.dienformtudong.googleform.browser.FormReadinessProbe;
 import com.dienform.tool.dienformtudong.googleform.dto.FormStructure;
 import com.dienform.tool.dienformtudong.googleform.dto.FormStructureType;
 import com.dienform.tool.dienformtudong.googleform.dto.QuestionInfo;
@@ -54,6 +56,8 @@ public class SectionAwareFormFillerImpl implements SectionAwareFormFiller {
   private final FormFillingHelper formFillingHelper;
   private final RequiredQuestionAutofillService requiredQuestionAutofillService;
   private final FillRequestRepository fillRequestRepository;
+  private final BrowserSlotManager browserSlotManager;
+  private final FormReadinessProbe formReadinessProbe;
 
   @Value("${google.form.timeout-seconds:30}")
   private int timeoutSeconds;
@@ -1420,43 +1424,25 @@ public class SectionAwareFormFillerImpl implements SectionAwareFormFiller {
         java.util.Collections.singletonList("enable-automation"));
     options.setExperimentalOption("useAutomationExtension", false);
 
-    WebDriver driver = new ChromeDriver(options);
-
-    // Set viewport size after driver creation for headless mode
-    if (headless) {
-      try {
-        // Set viewport size to ensure consistent rendering
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(1920, 1080));
-        Thread.sleep(500);
-      } catch (Exception e) {
-        log.warn("Failed to set viewport size: {}", e.getMessage());
-      }
-    }
+    WebDriver driver = browserSlotManager.openDriver(BrowserCallerType.FILL, options);
 
     try {
-      log.info("Navigating to form URL...");
-      driver.get(formUrl);
-
-      // Wait for page to fully load and stabilize in headless mode
+      // Set viewport size after driver creation for headless mode
       if (headless) {
         try {
-          Thread.sleep(2000); // Give extra time for layout to settle
-
-          // Ensure viewport is properly set after page load
+          // Set viewport size to ensure consistent rendering
           driver.manage().window().setSize(new org.openqa.selenium.Dimension(1920, 1080));
         } catch (Exception e) {
-          log.warn("Error during headless mode stabilization: {}", e.getMessage());
+          log.warn("Failed to set viewport size: {}", e.getMessage());
         }
       }
 
-      // Wait for page to load
+      log.info("Navigating to form URL...");
+      driver.get(formUrl);
+
+      // Wait until the questions are rendered and stable instead of sleeping a fixed time
       log.info("Waiting for page to load...");
-      try {
-        Thread.sleep(3000);
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        throw new RuntimeException("Interrupted while waiting for page load", e);
-      }
+      formReadinessProbe.awaitFormReady(driver);
 
       // Check if page loaded successfully
       String currentUrl = driver.getCurrentUrl();
@@ -1475,9 +1461,7 @@ public class SectionAwareFormFillerImpl implements SectionAwareFormFiller {
       return driver;
     } catch (Exception e) {
       log.error("Error opening browser: {}", e.getMessage());
-      if (driver != null) {
-        driver.quit();
-      }
+      browserSlotManager.quit(driver);
       throw e;
     }
   }
@@ -1528,12 +1512,8 @@ public class SectionAwareFormFillerImpl implements SectionAwareFormFiller {
    */
   private void shutdownDriver(WebDriver driver) {
     if (driver != null) {
-      try {
-        driver.quit();
-        log.debug("WebDriver shutdown successfully");
-      } catch (Exception e) {
-        log.warn("Error shutting down WebDriver: {}", e.getMessage());
-      }
+      browserSlotManager.quit(driver);
+      log.debug("WebDriver shutdown successfully");
     }
   }
 
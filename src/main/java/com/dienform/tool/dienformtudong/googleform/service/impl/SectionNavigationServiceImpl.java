@@ -10,12 +10,14 @@ import java.util.Set;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserCallerType;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserSlotManager;
+import com.dienform.tool.dienformtudong.googleform.browser.FormReadinessProbe;
 import com.dienform.tool.dienformtudong.googleform.service.FormFillingHelper;
 import com.dienform.tool.dienformtudong.googleform.service.RequiredQuestionAutofillService;
 import com.dienform.tool.dienformtudong.googleform.service.SectionNavigationService;
@@ -37,6 +39,8 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
 
   private final RequiredQuestionAutofillService requiredQuestionAutofillService;
   private final FormFillingHelper formFillingHelper;
+  private final BrowserSlotManager browserSlotManager;
+  private final FormReadinessProbe formReadinessProbe;
 
   @Value("${google.form.timeout-seconds:30}")
   private int timeoutSeconds;
@@ -51,7 +55,7 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
   public List<String> captureSectionHtmls(String formUrl) {
     WebDriver driver = null;
     try {
-      driver = openBrowser(formUrl, false);
+      driver = openBrowser(formUrl, false, BrowserCallerType.READ);
       WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
 
       // Clear autofill tracking for new form
@@ -178,10 +182,7 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
           log.warn("Interrupted during shutdown delay");
         }
 
-        try {
-          driver.quit();
-        } catch (Exception ignore) {
-        }
+        browserSlotManager.quit(driver);
       }
     }
   }
@@ -190,7 +191,7 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
   public List<SectionMetadata> captureSectionMetadata(String formUrl) {
     WebDriver driver = null;
     try {
-      driver = openBrowser(formUrl, false);
+      driver = openBrowser(formUrl, false, BrowserCallerType.READ);
       WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
 
       // Clear autofill tracking for new form
@@ -395,10 +396,7 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
           log.warn("Interrupted during shutdown delay");
         }
 
-        try {
-          driver.quit();
-        } catch (Exception ignore) {
-        }
+        browserSlotManager.quit(driver);
       }
     }
   }
@@ -408,7 +406,7 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
       boolean humanLike) {
     WebDriver driver = null;
     try {
-      driver = openBrowser(formUrl, humanLike);
+      driver = openBrowser(formUrl, humanLike, BrowserCallerType.FILL);
       WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
 
       // Clear autofill tracking for new form
@@ -589,10 +587,7 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
           log.warn("Interrupted during shutdown delay");
         }
 
-        try {
-          driver.quit();
-        } catch (Exception ignore) {
-        }
+        browserSlotManager.quit(driver);
       }
     }
   }
@@ -601,9 +596,14 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
 
   @Override
   public SectionNavigationResult captureSectionData(String formUrl) {
+    return captureSectionData(formUrl, BrowserCallerType.READ);
+  }
+
+  @Override
+  public SectionNavigationResult captureSectionData(String formUrl, BrowserCallerType callerType) {
     WebDriver driver = null;
     try {
-      driver = openBrowser(formUrl, false);
+      driver = openBrowser(formUrl, false, callerType);
       WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
 
       // Clear autofill tracking for new form
@@ -750,15 +750,12 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
           log.warn("Interrupted during shutdown delay");
         }
 
-        try {
-          driver.quit();
-        } catch (Exception ignore) {
-        }
+        browserSlotManager.quit(driver);
       }
     }
   }
 
-  private WebDriver openBrowser(String formUrl, boolean humanLike) {
+  private WebDriver openBrowser(String formUrl, boolean humanLike, BrowserCallerType callerType) {
     ChromeOptions options = new ChromeOptions();
 
     // Essential Chrome options for stability and performance
@@ -808,14 +805,21 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
         java.util.Collections.singletonList("enable-automation"));
     options.setExperimentalOption("useAutomationExtension", false);
 
-    WebDriver driver = new ChromeDriver(options);
+    WebDriver driver = browserSlotManager.openDriver(callerType, options);
+    try {
+      return prepareBrowser(driver, formUrl);
+    } catch (RuntimeException e) {
+      browserSlotManager.quit(driver);
+      throw e;
+    }
+  }
 
+  private WebDriver prepareBrowser(WebDriver driver, String formUrl) {
     // Set viewport size after driver creation for headless mode
     if (headless) {
       try {
         // Set viewport size to ensure consistent rendering
         driver.manage().window().setSize(new org.openqa.selenium.Dimension(1920, 1080));
-        Thread.sleep(500);
       } catch (Exception e) {
         log.warn("Failed to set viewport size: {}", e.getMessage());
       }
@@ -824,26 +828,10 @@ public class SectionNavigationServiceImpl implements SectionNavigationService {
     driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(10));
     driver.manage().timeouts().implicitlyWait(Duration.ZERO);
 
-    WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
     driver.get(formUrl);
 
-    // Wait for page to fully load and stabilize in headless mode
-    if (headless) {
-      try {
-        Thread.sleep(2000); // Give extra time for layout to settle
-
-        // Ensure viewport is properly set after page load
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(1920, 1080));
-      } catch (Exception e) {
-        log.warn("Error during headless mode stabilization: {}", e.getMessage());
-      }
-    }
-
-    try {
-      wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath("//div[@role='listitem']")));
-    } catch (Exception e) {
-      // proceed
-    }
+    // Wait for question containers to render and settle; proceed either way
+    formReadinessProbe.awaitFormReady(driver);
     return driver;
   }
 
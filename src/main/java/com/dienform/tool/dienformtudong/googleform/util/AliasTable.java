@@ -0,0 +1,72 @@
+package com.dienform.tool.dienformtudong.googleform.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * Walker/Vose alias table over integer weights. Built once in O(n); every sample is O(1) (one
+ * uniform index plus one biased coin), independent of the number of outcomes.
+ */
+public final class AliasTable {
+
+  private final double[] probability;
+  private final int[] alias;
+
+  private AliasTable(double[] probability, int[] alias) {
+    this.probability = probability;
+    this.alias = alias;
+  }
+
+  /**
+   * Build a table from non-negative weights.
+   *
+   * @return null if the weights do not sum to a positive value
+   */
+  public static AliasTable of(int[] weights) {
+    int n = weights.length;
+    long total = 0;
+    for (int weight : weights) {
+      total += Math.max(0, weight);
+    }
+    if (n == 0 || total <= 0) {
+      return null;
+    }
+
+    double[] scaled = new double[n];
+    Deque<Integer> small = new ArrayDeque<>();
+    Deque<Integer> large = new ArrayDeque<>();
+    for (int i = 0; i < n; i++) {
+      scaled[i] = (double) Math.max(0, weights[i]) * n / total;
+      (scaled[i] < 1.0 ? small : large).push(i);
+    }
+
+    double[] probability = new double[n];
+    int[] alias = new int[n];
+    while (!small.isEmpty() && !large.isEmpty()) {
+      int less = small.pop();
+      int more = large.pop();
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = scaled[more] + scaled[less] - 1.0;
+      (scaled[more] < 1.0 ? small : large).push(more);
+    }
+    // Leftovers are 1.0 up to rounding error
+    while (!large.isEmpty()) {
+      probability[large.pop()] = 1.0;
+    }
+    while (!small.isEmpty()) {
+      probability[small.pop()] = 1.0;
+    }
+    return new AliasTable(probability, alias);
+  }
+
+  public int sample(SplittableRandom random) {
+    int column = random.nextInt(probability.length);
+    return random.nextDouble() < probability[column] ? column : alias[column];
+  }
+
+  public int size() {
+    return probability.length;
+  }
+}
@@ -0,0 +1,323 @@
+package com.dienform.tool.dienformtudong.googleform.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import com.dienform.tool.dienformtudong.answerdistribution.entity.AnswerDistribution;
+import com.dienform.tool.dienformtudong.fillrequest.enums.DistributionModeEnum;
+import com.dienform.tool.dienformtudong.question.entity.Question;
+import com.dienform.tool.dienformtudong.question.entity.QuestionOption;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Execution plans of a distribution-based fill request, compiled once from the answer
+ * distributions and generated on demand.
+ *
+ * <p>
+ * Distributions are validated at compile time only. A plan is an int array holding the chosen
+ * option index of each question, derived from the request seed and the plan's position in the
+ * whole request, so any plan can be produced lazily, from any thread and in any order. A resumed
+ * request passes the positions that have not been submitted yet, so it generates exactly the
+ * plans that are still missing, wherever they fall in the sequence.
+ *
+ * <ul>
+ * <li>{@link DistributionModeEnum#RANDOM}: each choice question samples from an alias table over
+ * its option percentages.</li>
+ * <li>{@link DistributionModeEnum#EXACT_QUOTA}: each choice question gets exact option counts for
+ * the whole request (largest remainder), shuffled across the surveys with the seed.</li>
+ * </ul>
+ */
+@Slf4j
+public final class CompiledExecutionPlans {
+
+  /**
+   * Resolves the answer of a free-text, date or time question for one plan
+   */
+  @FunctionalInterface
+  public interface TextValueResolver {
+    String resolve(Question question, List<AnswerDistribution> distributions, int planIndex);
+  }
+
+  // Marks a question answered by the text resolver (or left unanswered) in a compact plan
+  public static final int NO_OPTION = -1;
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private final Question[] questions;
+  private final List<AnswerDistribution>[] distributions;
+  private final QuestionOption[][] options;
+  private final AliasTable[] tables;
+  // EXACT_QUOTA only: option index of every plan of the request, per question
+  private final int[][] quotaSlots;
+  // Position in the whole request of every plan this generator produces
+  private final int[] positions;
+  private final long seed;
+  private final TextValueResolver textValueResolver;
+
+  private CompiledExecutionPlans(Question[] questions, List<AnswerDistribution>[] distributions,
+      QuestionOption[][] options, AliasTable[] tables, int[][] quotaSlots, int[] positions,
+      long seed, TextValueResolver textValueResolver) {
+    this.questions = questions;
+    this.distributions = distributions;
+    this.options = options;
+    this.tables = tables;
+    this.quotaSlots = quotaSlots;
+    this.positions = positions;
+    this.seed = seed;
+    this.textValueResolver = textValueResolver;
+  }
+
+  /**
+   * Compile the distributions of a fill request into a generator for the given plan positions
+   *
+   * @param distributionsByQuestion Distributions grouped by question
+   * @param mode How options are assigned to surveys
+   * @param totalCount Number of surveys of the whole request
+   * @param positions Positions (0-based, in the whole request) of the plans still to generate
+   * @param seed Request seed; the same seed always yields the same sequence
+   * @param textValueResolver Resolves answers of free-text, date and time questions
+   */
+  @SuppressWarnings("unchecked")
+  public static CompiledExecutionPlans compile(
+      Map<Question, List<AnswerDistribution>> distributionsByQuestion, DistributionModeEnum mode,
+      int totalCount, int[] positions, long seed, TextValueResolver textValueResolver) {
+    // Stable question order so a resumed request rebuilds the same quotas and random streams
+    List<Map.Entry<Question, List<AnswerDistribution>>> entries =
+        new ArrayList<>(distributionsByQuestion.entrySet());
+    entries.sort(Comparator.comparing(entry -> String.valueOf(entry.getKey().getId())));
+
+    int size = entries.size();
+    int[] validPositions =
+        Arrays.stream(positions).filter(position -> position >= 0 && position < totalCount)
+            .toArray();
+    boolean exactQuota = mode == DistributionModeEnum.EXACT_QUOTA;
+    Question[] questions = new Question[size];
+    List<AnswerDistribution>[] distributions = new List[size];
+    QuestionOption[][] options = new QuestionOption[size][];
+    AliasTable[] tables = new AliasTable[size];
+    int[][] quotaSlots = exactQuota ? new int[size][] : null;
+
+    for (int q = 0; q < size; q++) {
+      Question question = entries.get(q).getKey();
+      List<AnswerDistribution> questionDistributions = entries.get(q).getValue();
+      questions[q] = question;
+      distributions[q] = questionDistributions;
+
+      if (isTextType(question.getType())) {
+        continue;
+      }
+      int[] weights = compileChoiceQuestion(question, questionDistributions, q, options);
+      if (weights == null) {
+        continue;
+      }
+      if (exactQuota) {
+        quotaSlots[q] = allocateQuotaSlots(weights, totalCount,
+            seed ^ mix(question.getId() != null ? question.getId().hashCode() : q));
+      } else {
+        tables[q] = AliasTable.of(weights);
+      }
+    }
+
+    log.debug("Compiled {} questions into {} plan generator for {}/{} surveys", size, mode,
+        validPositions.length, totalCount);
+    return new CompiledExecutionPlans(questions, distributions, options, tables, quotaSlots,
+        validPositions, seed, textValueResolver);
+  }
+
+  /**
+   * Largest-remainder split of total surveys over the option weights
+   */
+  public static int[] allocateQuota(int[] weights, int total) {
+    int[] counts = new int[weights.length];
+    long weightSum = 0;
+    for (int weight : weights) {
+      weightSum += Math.max(0, weight);
+    }
+    if (weightSum <= 0 || total <= 0) {
+      return counts;
+    }
+
+    long[] remainders = new long[weights.length];
+    int assigned = 0;
+    for (int i = 0; i < weights.length; i++) {
+      long share = (long) Math.max(0, weights[i]) * total;
+      counts[i] = (int) (share / weightSum);
+      remainders[i] = share % weightSum;
+      assigned += counts[i];
+    }
+
+    // Hand out what flooring left over to the largest remainders (lower index wins ties)
+    Integer[] order = new Integer[weights.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(remainders[b], remainders[a]));
+    for (int i = 0; assigned < total; i++) {
+      counts[order[i % order.length]]++;
+      assigned++;
+    }
+    return counts;
+  }
+
+  public int size() {
+    return positions.length;
+  }
+
+  /**
+   * Position in the whole request of plan planIndex
+   */
+  public int position(int planIndex) {
+    return positions[planIndex];
+  }
+
+  /**
+   * Compact form of plan planIndex (0-based, relative to the generated positions): the chosen
+   * option index per question, or NO_OPTION
+   */
+  public int[] planIndices(int planIndex) {
+    int position = positions[planIndex];
+    SplittableRandom random = null;
+    int[] plan = new int[questions.length];
+    for (int q = 0; q < questions.length; q++) {
+      if (quotaSlots != null && quotaSlots[q] != null) {
+        plan[q] = quotaSlots[q][position];
+      } else if (tables[q] != null) {
+        if (random == null) {
+          random = new SplittableRandom(seed + position * GOLDEN_GAMMA);
+        }
+        plan[q] = tables[q].sample(random);
+      } else {
+        plan[q] = NO_OPTION;
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * Materialize plan planIndex into the question-to-option map the fillers consume
+   */
+  public Map<Question, QuestionOption> plan(int planIndex) {
+    int[] indices = planIndices(planIndex);
+    Map<Question, QuestionOption> plan = new HashMap<>(questions.length * 2);
+    for (int q = 0; q < questions.length; q++) {
+      Question question = questions[q];
+      if (indices[q] != NO_OPTION) {
+        QuestionOption option = options[q][indices[q]];
+        if (option != null) {
+          plan.put(question, option);
+        }
+      } else if (options[q] == null) {
+        try {
+          QuestionOption textOption = new QuestionOption();
+          textOption.setQuestion(question);
+          textOption.setText(
+              textValueResolver.resolve(question, distributions[q], positions[planIndex]));
+          plan.put(question, textOption);
+        } catch (Exception e) {
+          log.warn("Failed to resolve text for question {} in plan {}: {}", question.getId(),
+              positions[planIndex] + 1, e.getMessage());
+        }
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * Lazily generated plans, in order
+   */
+  public Stream<Map<Question, QuestionOption>> stream() {
+    return IntStream.range(0, positions.length).mapToObj(this::plan);
+  }
+
+  /**
+   * Validate the distributions of a choice question and record its options.
+   *
+   * @return the option weights, or null if nothing can be selected for the question
+   */
+  private static int[] compileChoiceQuestion(Question question,
+      List<AnswerDistribution> questionDistributions, int index, QuestionOption[][] options) {
+    // Empty option array marks a choice question; it stays unanswered if nothing can be selected
+    options[index] = new QuestionOption[0];
+    if (questionDistributions == null || questionDistributions.isEmpty()) {
+      return null;
+    }
+
+    List<QuestionOption> questionOptions = new ArrayList<>(questionDistributions.size());
+    int[] weights = new int[questionDistributions.size()];
+    long total = 0;
+    for (int i = 0; i < questionDistributions.size(); i++) {
+      AnswerDistribution dist = questionDistributions.get(i);
+      if (dist.getQuestion() != null && !question.getId().equals(dist.getQuestion().getId())) {
+        log.error(
+            "CRITICAL: Distributions of question '{}' (ID: {}) contain options of question '{}' (ID: {}); question skipped",
+            question.getTitle(), question.getId(), dist.getQuestion().getTitle(),
+            dist.getQuestion().getId());
+        return null;
+      }
+
+      QuestionOption option = dist.getOption();
+      if (option != null && option.getQuestion() != null
+          && !question.getId().equals(option.getQuestion().getId())) {
+        log.error("CRITICAL: Option '{}' (ID: {}) does not belong to question '{}' (ID: {})",
+            option.getText(), option.getId(), question.getTitle(), question.getId());
+        option = null;
+      }
+      questionOptions.add(option);
+      weights[i] = dist.getPercentage() != null ? Math.max(0, dist.getPercentage()) : 0;
+      total += weights[i];
+    }
+
+    if (total <= 0) {
+      log.warn("Total percentage of question '{}' is not positive; it will not be answered",
+          question.getTitle());
+      return null;
+    }
+    options[index] = questionOptions.toArray(new QuestionOption[0]);
+    return weights;
+  }
+
+  /**
+   * Exact option counts for all surveys, shuffled with the seed
+   */
+  private static int[] allocateQuotaSlots(int[] weights, int total, long seed) {
+    int[] counts = allocateQuota(weights, total);
+    int[] slots = new int[total];
+    int position = 0;
+    for (int option = 0; option < counts.length; option++) {
+      Arrays.fill(slots, position, position + counts[option], option);
+      position += counts[option];
+    }
+
+    SplittableRandom random = new SplittableRandom(seed);
+    for (int i = total - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = slots[i];
+      slots[i] = slots[j];
+      slots[j] = swap;
+    }
+    return slots;
+  }
+
+  private static long mix(long value) {
+    long z = value * GOLDEN_GAMMA;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private static boolean isTextType(String questionType) {
+    if (questionType == null) {
+      return false;
+    }
+    String type = questionType.toLowerCase();
+    return type.equals("text") || type.equals("email") || type.equals("textarea")
+        || type.equals("short_answer") || type.equals("paragraph") || type.equals("date")
+        || type.equals("time");
+  }
+}
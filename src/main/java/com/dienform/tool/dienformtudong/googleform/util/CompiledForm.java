@@ -0,0 +1,239 @@
+package com.dienform.tool.dienformtudong.googleform.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.question.entity.Question;
+import com.dienform.tool.dienformtudong.question.entity.QuestionOption;
+
+/**
+ * Immutable snapshot of one version of a form, built once and shared by every worker that fills
+ * it.
+ *
+ * <p>
+ * Questions and options are detached copies ordered by position, so the snapshot never touches
+ * the persistence context. Per question it indexes options by normalized text/value and by
+ * position, splits grid rows from grid columns and records the section the question belongs to.
+ * The copies are shared across threads and must be treated as read-only.
+ */
+public final class CompiledForm {
+
+  private static final class CompiledQuestion {
+    private final Question question;
+    private final List<QuestionOption> options;
+    private final List<QuestionOption> rows;
+    private final List<QuestionOption> columns;
+    private final Map<String, QuestionOption> optionsByText;
+    private final QuestionOption otherOption;
+    private final int sectionIndex;
+
+    private CompiledQuestion(Question question, List<QuestionOption> options, int sectionIndex) {
+      this.question = question;
+      this.options = options;
+      this.sectionIndex = sectionIndex;
+
+      List<QuestionOption> rowOptions = new ArrayList<>();
+      List<QuestionOption> columnOptions = new ArrayList<>();
+      Map<String, QuestionOption> byText = new HashMap<>();
+      QuestionOption other = null;
+      for (QuestionOption option : options) {
+        (option.isRow() ? rowOptions : columnOptions).add(option);
+        if (OTHER_OPTION_VALUE.equalsIgnoreCase(option.getValue())) {
+          other = option;
+        }
+        // Values win over texts when both normalize to the same key
+        byText.putIfAbsent(normalize(option.getText()), option);
+        byText.put(normalize(option.getValue()), option);
+      }
+      byText.remove("");
+      this.rows = List.copyOf(rowOptions);
+      this.columns = List.copyOf(columnOptions);
+      this.optionsByText = Map.copyOf(byText);
+      this.otherOption = other;
+    }
+  }
+
+  public static final String OTHER_OPTION_VALUE = "__other_option__";
+
+  private static final Comparator<QuestionOption> OPTION_ORDER =
+      Comparator.comparingInt(option -> option.getPosition() == null ? 0 : option.getPosition());
+
+  private static final Comparator<Question> QUESTION_ORDER = Comparator
+      .comparingInt(question -> question.getPosition() == null ? 0 : question.getPosition());
+
+  private final UUID formId;
+  private final LocalDateTime version;
+  private final List<Question> questions;
+  private final Map<UUID, CompiledQuestion> questionsById;
+  private final Map<Integer, List<Question>> sections;
+
+  private CompiledForm(UUID formId, LocalDateTime version, List<Question> questions,
+      Map<UUID, CompiledQuestion> questionsById, Map<Integer, List<Question>> sections) {
+    this.formId = formId;
+    this.version = version;
+    this.questions = questions;
+    this.questionsById = questionsById;
+    this.sections = sections;
+  }
+
+  /**
+   * Build a snapshot from managed questions whose options are loaded
+   *
+   * @param version Last modification time of the form; snapshots of older versions are stale
+   */
+  public static CompiledForm of(UUID formId, LocalDateTime version, List<Question> source) {
+    // Copies only carry the form id, which locator caches key on
+    Form formRef = new Form();
+    formRef.setId(formId);
+
+    List<Question> ordered = new ArrayList<>(source);
+    ordered.sort(QUESTION_ORDER);
+
+    List<Question> questions = new ArrayList<>(ordered.size());
+    Map<UUID, CompiledQuestion> questionsById = new HashMap<>(ordered.size() * 2);
+    Map<Integer, List<Question>> sections = new LinkedHashMap<>();
+    for (Question managed : ordered) {
+      Question copy = new Question(managed);
+      copy.setForm(formRef);
+      List<QuestionOption> options = new ArrayList<>();
+      if (managed.getOptions() != null) {
+        for (QuestionOption option : managed.getOptions()) {
+          QuestionOption optionCopy = new QuestionOption(option);
+          optionCopy.setQuestion(copy);
+          options.add(optionCopy);
+        }
+      }
+      options.sort(OPTION_ORDER);
+      options = List.copyOf(options);
+      copy.setOptions(options);
+
+      int sectionIndex = sectionIndexOf(copy);
+      questions.add(copy);
+      sections.computeIfAbsent(sectionIndex, index -> new ArrayList<>()).add(copy);
+      if (copy.getId() != null) {
+        questionsById.put(copy.getId(), new CompiledQuestion(copy, options, sectionIndex));
+      }
+    }
+
+    Map<Integer, List<Question>> frozenSections = new LinkedHashMap<>();
+    sections.forEach((index, members) -> frozenSections.put(index, List.copyOf(members)));
+    return new CompiledForm(formId, version, List.copyOf(questions),
+        Collections.unmodifiableMap(questionsById), Collections.unmodifiableMap(frozenSections));
+  }
+
+  public UUID getFormId() {
+    return formId;
+  }
+
+  public LocalDateTime getVersion() {
+    return version;
+  }
+
+  /**
+   * True if this snapshot was built from the given form version (or the version is unknown)
+   */
+  public boolean isVersion(LocalDateTime formVersion) {
+    return formVersion == null || version == null || version.equals(formVersion);
+  }
+
+  /**
+   * All questions, ordered by position
+   */
+  public List<Question> getQuestions() {
+    return questions;
+  }
+
+  public Question getQuestion(UUID questionId) {
+    CompiledQuestion compiled = questionsById.get(questionId);
+    return compiled != null ? compiled.question : null;
+  }
+
+  public int size() {
+    return questions.size();
+  }
+
+  /**
+   * Options of a question ordered by position, grid rows included
+   */
+  public List<QuestionOption> getOptions(UUID questionId) {
+    CompiledQuestion compiled = questionsById.get(questionId);
+    return compiled != null ? compiled.options : List.of();
+  }
+
+  /**
+   * Grid rows of a question ordered by position
+   */
+  public List<QuestionOption> getRows(UUID questionId) {
+    CompiledQuestion compiled = questionsById.get(questionId);
+    return compiled != null ? compiled.rows : List.of();
+  }
+
+  /**
+   * Choices of a question ordered by position; for grids, the columns
+   */
+  public List<QuestionOption> getColumns(UUID questionId) {
+    CompiledQuestion compiled = questionsById.get(questionId);
+    return compiled != null ? compiled.columns : List.of();
+  }
+
+  /**
+   * Choice at a 1-based position, or null if out of range
+   */
+  public QuestionOption getColumnAt(UUID questionId, int position) {
+    List<QuestionOption> columns = getColumns(questionId);
+    return position >= 1 && position <= columns.size() ? columns.get(position - 1) : null;
+  }
+
+  /**
+   * Option whose value or text matches, ignoring case and redundant whitespace
+   */
+  public QuestionOption findOption(UUID questionId, String textOrValue) {
+    CompiledQuestion compiled = questionsById.get(questionId);
+    return compiled != null ? compiled.optionsByText.get(normalize(textOrValue)) : null;
+  }
+
+  /**
+   * The "Other" option of a question, or null if it has none
+   */
+  public QuestionOption getOtherOption(UUID questionId) {
+    CompiledQuestion compiled = questionsById.get(questionId);
+    return compiled != null ? compiled.otherOption : null;
+  }
+
+  public int getSectionIndex(UUID questionId) {
+    CompiledQuestion compiled = questionsById.get(questionId);
+    return compiled != null ? compiled.sectionIndex : 0;
+  }
+
+  /**
+   * Questions grouped by section index, in the order sections first appear
+   */
+  public Map<Integer, List<Question>> getSections() {
+    return sections;
+  }
+
+  public static String normalize(String text) {
+    return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static int sectionIndexOf(Question question) {
+    Map<String, String> additionalData = question.getAdditionalData();
+    String sectionIndex = additionalData != null ? additionalData.get("section_index") : null;
+    if (sectionIndex == null) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(sectionIndex.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
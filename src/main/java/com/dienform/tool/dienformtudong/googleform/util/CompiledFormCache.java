@@ -0,0 +1,126 @@
+package com.dienform.tool.dienformtudong.googleform.util;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+import com.dienform.tool.dienformtudong.question.entity.Question;
+import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded LRU cache of {@link CompiledForm} snapshots, one per form. A snapshot is replaced
+ * when a caller presents a newer form version and dropped when the form is updated or deleted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CompiledFormCache {
+
+  private final FormRepository formRepository;
+  private final QuestionRepository questionRepository;
+
+  @Value("${google.form.snapshot-cache.max-size:200}")
+  private int maxSize;
+
+  // Access-ordered; guarded by itself
+  private final LinkedHashMap<UUID, CompiledForm> snapshots =
+      new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CompiledForm> eldest) {
+          return size() > Math.max(1, maxSize);
+        }
+      };
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Snapshot of the current form version, loaded from the database on a miss
+   */
+  public CompiledForm get(UUID formId) {
+    CompiledForm cached = getIfPresent(formId, null);
+    if (cached != null) {
+      return cached;
+    }
+    LocalDateTime version = formRepository.findById(formId).map(Form::getUpdatedAt).orElse(null);
+    return compile(formId, version,
+        questionRepository.findWithOptionsByFormIdOrderByPosition(formId));
+  }
+
+  /**
+   * Snapshot of the given form, rebuilt if the cached one is older than the form
+   */
+  public CompiledForm get(Form form) {
+    CompiledForm cached = getIfPresent(form.getId(), form.getUpdatedAt());
+    if (cached != null) {
+      return cached;
+    }
+    return compile(form.getId(), form.getUpdatedAt(),
+        questionRepository.findWithOptionsByFormIdOrderByPosition(form.getId()));
+  }
+
+  /**
+   * Cached snapshot built from the given form version (any version if null), or null
+   */
+  public CompiledForm getIfPresent(UUID formId, LocalDateTime version) {
+    CompiledForm cached;
+    synchronized (snapshots) {
+      cached = snapshots.get(formId);
+    }
+    if (cached != null && cached.isVersion(version)) {
+      hits.incrementAndGet();
+      return cached;
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Build a snapshot from questions whose options are loaded and cache it
+   */
+  public CompiledForm compile(UUID formId, LocalDateTime version, List<Question> questions) {
+    CompiledForm compiled = CompiledForm.of(formId, version, questions);
+    synchronized (snapshots) {
+      CompiledForm existing = snapshots.get(formId);
+      // Never replace a newer snapshot built concurrently
+      if (existing == null || existing.getVersion() == null || version == null
+          || !existing.getVersion().isAfter(version)) {
+        snapshots.put(formId, compiled);
+      }
+    }
+    log.debug("Compiled form snapshot {} (version {}, {} questions)", formId, version,
+        compiled.size());
+    return compiled;
+  }
+
+  /**
+   * Drop the snapshot of a form after it was changed or deleted
+   */
+  public void invalidate(UUID formId) {
+    synchronized (snapshots) {
+      snapshots.remove(formId);
+    }
+  }
+
+  public int size() {
+    synchronized (snapshots) {
+      return snapshots.size();
+    }
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+}
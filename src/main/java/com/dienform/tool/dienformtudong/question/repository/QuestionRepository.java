@@ -1,5 +1,6 @@
 package com.dienform.tool.dienformtudong.question.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +15,9 @@ import com.dienform.tool.dienformtudong.question.entity.Question;
 public interface QuestionRepository extends JpaRepository<Question, UUID> {
   List<Question> findByFormIdOrderByPosition(UUID formId);
 
+  @EntityGraph(attributePaths = {"options"})
+  List<Question> findWithOptionsByFormIdOrderByPosition(UUID formId);
+
   void deleteByFormId(UUID formId);
 
   void deleteByForm(Form form);
@@ -28,6 +32,13 @@ public interface QuestionRepository extends JpaRepository<Question, UUID> {
   @Query("SELECT q FROM Question q WHERE q.form = ?1")
   List<Question> findByFormWithOptions(Form form);
 
+  /**
+   * Find questions of several forms with options loaded, in one query
+   */
+  @EntityGraph(attributePaths = {"options"})
+  @Query("SELECT q FROM Question q WHERE q.form.id IN ?1")
+  List<Question> findByFormIdInWithOptions(Collection<UUID> formIds);
+
   /**
    * Find question with options loaded to avoid LazyInitializationException
    */
@@ -7,8 +7,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.dienform.tool.dienformtudong.surveyexecution.dto.response.ExecutionHistoryPageResponse;
 import com.dienform.tool.dienformtudong.surveyexecution.dto.response.SurveyExecutionResponse;
 import com.dienform.tool.dienformtudong.surveyexecution.service.ExecutionService;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -30,21 +32,36 @@ public class SurveyExecutionController {
         return ResponseEntity.ok(history);
     }
 
+    /**
+     * Keyset-paginated execution summaries of a form, newest first. Error messages and response
+     * data are served by /execution/{executionId}.
+     */
+    @GetMapping("/form/{formId}/executions")
+    public ResponseEntity<ExecutionHistoryPageResponse> getExecutionSummaries(
+            @PathVariable UUID formId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(executionService.getExecutionSummariesByFormId(formId, cursor, size));
+    }
+
     @GetMapping("/fill-request/{requestId}/executions")
-    public ResponseEntity<Page<SurveyExecutionResponse>> getExecutionsByRequestId(
+    public ResponseEntity<ExecutionHistoryPageResponse> getExecutionsByRequestId(
             @PathVariable UUID requestId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "executionTime"));
-        // Page<SurveyExecutionResponse> executions = executionService.getExecutionsByRequestId(requestId, pageable);
-        
-        return ResponseEntity.ok(null);
+
+        return ResponseEntity.ok(
+                executionService.getExecutionSummariesByFillRequestId(requestId, cursor, size));
     }
 
     @GetMapping("/execution/{executionId}")
     public ResponseEntity<SurveyExecutionResponse> getExecutionById(@PathVariable UUID executionId) {
-        // SurveyExecutionResponse execution = executionService.getExecutionById(executionId);
-        return ResponseEntity.ok(null);
+        return ResponseEntity.ok(executionService.getExecutionById(executionId));
+    }
+
+    @GetMapping("/execution/writer/statistics")
+    public ResponseEntity<Map<String, Object>> getWriterStatistics() {
+        return ResponseEntity.ok(executionService.getWriterStatistics());
     }
-}
\ No newline at end of file
+}
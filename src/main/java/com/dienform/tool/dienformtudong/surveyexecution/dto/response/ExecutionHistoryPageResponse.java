@@ -0,0 +1,23 @@
+package com.dienform.tool.dienformtudong.surveyexecution.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of execution history, newest first. Pass nextCursor back as cursor to get the
+ * following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionHistoryPageResponse {
+
+    private List<SurveyExecutionSummaryResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
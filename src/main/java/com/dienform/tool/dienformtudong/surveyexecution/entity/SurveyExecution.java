@@ -21,7 +21,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "survey_execution", schema = "fill_form")
+@Table(name = "survey_execution", schema = "fill_form",
+    indexes = {
+        @Index(name = "idx_survey_execution_form_time", columnList = "form_id, execution_time"),
+        @Index(name = "idx_survey_execution_request_time",
+            columnList = "fill_request_id, execution_time")})
 public class SurveyExecution {
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
@@ -1,6 +1,7 @@
 package com.dienform.tool.dienformtudong.surveyexecution.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 import com.dienform.tool.dienformtudong.surveyexecution.dto.response.SurveyExecutionResponse;
@@ -9,5 +10,6 @@ import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
     unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface SurveyExecutionMapper {
+  @Mapping(source = "fillRequest.id", target = "fillRequestId")
   SurveyExecutionResponse toResponse(SurveyExecution entity);
 }
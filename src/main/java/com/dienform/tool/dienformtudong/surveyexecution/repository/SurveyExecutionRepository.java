@@ -6,9 +6,11 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
 
 @Repository
@@ -19,12 +21,59 @@ public interface SurveyExecutionRepository extends JpaRepository<SurveyExecution
 
     long countByFillRequestIdAndStatus(UUID fillRequestId, String status);
 
-    @Query("SELECT se FROM SurveyExecution se WHERE se.fillRequest.id = :fillRequestId")
-    Page<SurveyExecution> findByFormId(@Param("fillRequestId") UUID formId, Pageable pageable);
+    @Query("SELECT se FROM SurveyExecution se WHERE se.form.id = :formId")
+    Page<SurveyExecution> findByFormId(@Param("formId") UUID formId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SurveyExecution se WHERE se.form.id = :formId")
+    int deleteByFormId(@Param("formId") UUID formId);
 
     @Query("SELECT se FROM SurveyExecution se WHERE se.fillRequest.id = :fillRequestId AND se.executionTime BETWEEN :startTime AND :endTime")
     List<SurveyExecution> findByFillRequestAndExecutionTimeBetween(
         @Param("fillRequestId") UUID fillRequestId,
         @Param("startTime") LocalDateTime startTime,
         @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * First keyset page of a form's executions, newest first (served by the form_id,
+     * execution_time index)
+     */
+    @Query("SELECT se.id AS id, se.fillRequest.id AS fillRequestId, se.executionTime AS executionTime, se.status AS status "
+        + "FROM SurveyExecution se WHERE se.form.id = :formId "
+        + "ORDER BY se.executionTime DESC, se.id DESC")
+    List<SurveyExecutionSummaryView> findSummariesByFormId(@Param("formId") UUID formId,
+        Pageable limit);
+
+    /**
+     * Keyset page of a form's executions strictly after the (executionTime, id) cursor
+     */
+    @Query("SELECT se.id AS id, se.fillRequest.id AS fillRequestId, se.executionTime AS executionTime, se.status AS status "
+        + "FROM SurveyExecution se WHERE se.form.id = :formId "
+        + "AND (se.executionTime < :executionTime OR (se.executionTime = :executionTime AND se.id < :id)) "
+        + "ORDER BY se.executionTime DESC, se.id DESC")
+    List<SurveyExecutionSummaryView> findSummariesByFormIdBefore(@Param("formId") UUID formId,
+        @Param("executionTime") LocalDateTime executionTime, @Param("id") UUID id,
+        Pageable limit);
+
+    /**
+     * First keyset page of a fill request's executions, newest first
+     */
+    @Query("SELECT se.id AS id, se.fillRequest.id AS fillRequestId, se.executionTime AS executionTime, se.status AS status "
+        + "FROM SurveyExecution se WHERE se.fillRequest.id = :fillRequestId "
+        + "ORDER BY se.executionTime DESC, se.id DESC")
+    List<SurveyExecutionSummaryView> findSummariesByFillRequestId(
+        @Param("fillRequestId") UUID fillRequestId, Pageable limit);
+
+    /**
+     * Keyset page of a fill request's executions strictly after the (executionTime, id) cursor
+     */
+    @Query("SELECT se.id AS id, se.fillRequest.id AS fillRequestId, se.executionTime AS executionTime, se.status AS status "
+        + "FROM SurveyExecution se WHERE se.fillRequest.id = :fillRequestId "
+        + "AND (se.executionTime < :executionTime OR (se.executionTime = :executionTime AND se.id < :id)) "
+        + "ORDER BY se.executionTime DESC, se.id DESC")
+    List<SurveyExecutionSummaryView> findSummariesByFillRequestIdBefore(
+        @Param("fillRequestId") UUID fillRequestId,
+        @Param("executionTime") LocalDateTime executionTime, @Param("id") UUID id,
+        Pageable limit);
 }
@@ -0,0 +1,19 @@
+package com.dienform.tool.dienformtudong.surveyexecution.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of a survey execution for history lists, without the error message LOB and the JSON
+ * response data
+ */
+public interface SurveyExecutionSummaryView {
+
+    UUID getId();
+
+    UUID getFillRequestId();
+
+    LocalDateTime getExecutionTime();
+
+    String getStatus();
+}
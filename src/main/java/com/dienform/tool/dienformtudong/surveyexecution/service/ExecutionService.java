@@ -2,9 +2,11 @@ package com.dienform.tool.dienformtudong.surveyexecution.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import com.dienform.tool.dienformtudong.surveyexecution.dto.response.ExecutionHistoryPageResponse;
 import com.dienform.tool.dienformtudong.surveyexecution.dto.response.SurveyExecutionResponse;
 import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
 
@@ -23,10 +25,41 @@ public interface ExecutionService {
     Page<SurveyExecutionResponse> getExecutionHistoryByFormId(UUID formId, Pageable pageable);
 
     /**
-     * Record a new survey execution
+     * Retrieve a keyset page of execution summaries for a form, newest first
+     *
+     * @param formId The ID of the form
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size Page size
+     * @return Page of execution summaries without error message and response data
+     */
+    ExecutionHistoryPageResponse getExecutionSummariesByFormId(UUID formId, String cursor,
+            int size);
+
+    /**
+     * Retrieve a keyset page of execution summaries for a fill request, newest first
+     *
+     * @param fillRequestId The ID of the fill request
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size Page size
+     * @return Page of execution summaries without error message and response data
+     */
+    ExecutionHistoryPageResponse getExecutionSummariesByFillRequestId(UUID fillRequestId,
+            String cursor, int size);
+
+    /**
+     * Get one execution including its error message and response data
+     *
+     * @param executionId The ID of the execution
+     * @return The execution details
+     */
+    SurveyExecutionResponse getExecutionById(UUID executionId);
+
+    /**
+     * Record a new survey execution. The record is queued and written asynchronously in batches,
+     * so the returned execution has no id yet.
      *
      * @param execution The survey execution to save
-     * @return The saved execution
+     * @return The queued execution
      */
     SurveyExecution recordExecution(SurveyExecution execution);
 
@@ -40,4 +73,11 @@ public interface ExecutionService {
      */
     List<SurveyExecution> getExecutionsByFillRequestIdAndTimeRange(UUID fillRequestId,
             LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * Counters of the asynchronous execution writer (queued, written, dropped and failed records)
+     *
+     * @return Writer statistics
+     */
+    Map<String, Object> getWriterStatistics();
 }
@@ -0,0 +1,191 @@
+package com.dienform.tool.dienformtudong.surveyexecution.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
+import com.dienform.tool.dienformtudong.surveyexecution.repository.SurveyExecutionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for survey execution audit records. Fill workers only offer the record to a
+ * bounded queue; a scheduled flush drains it and persists the records in batches, which Hibernate
+ * JDBC batching and rewriteBatchedStatements turn into multi-row inserts. When the queue is full
+ * the record is dropped and counted rather than blocking the fill path.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SurveyExecutionWriter {
+
+    private final SurveyExecutionRepository executionRepository;
+
+    @Value("${survey-execution.writer.capacity:10000}")
+    private int capacity;
+
+    @Value("${survey-execution.writer.max-batch:500}")
+    private int maxBatch;
+
+    private BlockingQueue<SurveyExecution> buffer;
+
+    // Serializes the scheduled flush with the shutdown drain
+    private final Object flushLock = new Object();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private long droppedReported;
+    private volatile long offeredLogged;
+
+    @PostConstruct
+    void init() {
+        buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /**
+     * Queue a record for the next flush without blocking.
+     *
+     * @return false if the buffer is full and the record was dropped
+     */
+    public boolean submit(SurveyExecution execution) {
+        if (buffer.offer(execution)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Persist everything queued so far, one transaction per batch of max-batch records
+     */
+    @Scheduled(fixedDelayString = "${survey-execution.writer.flush-interval-ms:300}")
+    public void flush() {
+        synchronized (flushLock) {
+            reportDropped();
+            List<SurveyExecution> batch = new ArrayList<>(Math.min(maxBatch, buffer.size() + 1));
+            while (buffer.drainTo(batch, Math.max(1, maxBatch)) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        log.info("Survey execution writer stopped: {} written, {} dropped, {} failed",
+                written.get(), dropped.get(), failed.get());
+    }
+
+    private void writeBatch(List<SurveyExecution> batch) {
+        long start = System.currentTimeMillis();
+        try {
+            executionRepository.saveAll(batch);
+            written.addAndGet(batch.size());
+            log.debug("Wrote {} survey executions in {}ms", batch.size(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Failed to write batch of {} survey executions, retrying one by one: {}",
+                    batch.size(), e.getMessage());
+            writeOneByOne(batch);
+        }
+    }
+
+    /**
+     * Save the rows of a failed batch individually so only the offending rows (e.g. of a form or
+     * fill request deleted while they were buffered) are lost
+     */
+    private void writeOneByOne(List<SurveyExecution> batch) {
+        int rejected = 0;
+        for (SurveyExecution execution : batch) {
+            // The rolled back batch may have assigned an id; persist it as a new row again
+            execution.setId(null);
+            try {
+                executionRepository.save(execution);
+                written.incrementAndGet();
+            } catch (Exception e) {
+                // Audit records are best effort; a bad row must not stall the others
+                rejected++;
+                log.debug("Dropping survey execution of fill request {}: {}",
+                        execution.getFillRequest() != null ? execution.getFillRequest().getId()
+                                : null,
+                        e.getMessage());
+            }
+        }
+        failed.addAndGet(rejected);
+        if (rejected > 0) {
+            log.error("Failed to write {} of {} survey executions", rejected, batch.size());
+        }
+    }
+
+    /**
+     * Log the counters once a minute when they changed
+     */
+    @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+    public void logStatistics() {
+        long offered = enqueued.get() + dropped.get();
+        if (offered == offeredLogged) {
+            return;
+        }
+        offeredLogged = offered;
+        log.info("Survey execution writer: queued {}, enqueued {}, written {}, dropped {}, failed {}",
+                buffer.size(), enqueued.get(), written.get(), dropped.get(), failed.get());
+    }
+
+    /**
+     * Writer counters for monitoring
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queueSize", buffer.size());
+        stats.put("capacity", Math.max(1, capacity));
+        stats.put("enqueuedCount", enqueued.get());
+        stats.put("writtenCount", written.get());
+        stats.put("droppedCount", dropped.get());
+        stats.put("failedCount", failed.get());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private void reportDropped() {
+        long total = dropped.get();
+        if (total > droppedReported) {
+            log.warn("Survey execution buffer full, dropped {} records ({} total)",
+                    total - droppedReported, total);
+            droppedReported = total;
+        }
+    }
+
+    public int getQueueSize() {
+        return buffer.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
@@ -1,16 +1,28 @@
 package com.dienform.tool.dienformtudong.surveyexecution.service.impl;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import com.dienform.common.exception.BadRequestException;
+import com.dienform.common.exception.ResourceNotFoundException;
+import com.dienform.common.util.Constants;
+import com.dienform.tool.dienformtudong.formstatistic.service.FormStatisticRollupService;
+import com.dienform.tool.dienformtudong.surveyexecution.dto.response.ExecutionHistoryPageResponse;
 import com.dienform.tool.dienformtudong.surveyexecution.dto.response.SurveyExecutionResponse;
+import com.dienform.tool.dienformtudong.surveyexecution.dto.response.SurveyExecutionSummaryResponse;
 import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
 import com.dienform.tool.dienformtudong.surveyexecution.mapper.SurveyExecutionMapper;
 import com.dienform.tool.dienformtudong.surveyexecution.repository.SurveyExecutionRepository;
+import com.dienform.tool.dienformtudong.surveyexecution.repository.SurveyExecutionSummaryView;
 import com.dienform.tool.dienformtudong.surveyexecution.service.ExecutionService;
+import com.dienform.tool.dienformtudong.surveyexecution.service.SurveyExecutionWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,8 +34,18 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ExecutionServiceImpl implements ExecutionService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Decoded (executionTime, id) position of the last row of a page
+     */
+    private record Cursor(LocalDateTime executionTime, UUID id) {
+    }
+
     private final SurveyExecutionRepository executionRepository;
     private final SurveyExecutionMapper executionMapper;
+    private final SurveyExecutionWriter executionWriter;
+    private final FormStatisticRollupService formStatisticRollupService;
 
     @Override
     public Page<SurveyExecutionResponse> getExecutionHistoryByFormId(UUID formId,
@@ -33,11 +55,61 @@ public class ExecutionServiceImpl implements ExecutionService {
         return executions.map(executionMapper::toResponse);
     }
 
+    @Override
+    public ExecutionHistoryPageResponse getExecutionSummariesByFormId(UUID formId, String cursor,
+            int size) {
+        log.debug("Getting execution summaries for form ID: {} after cursor {}", formId, cursor);
+        int pageSize = clampPageSize(size);
+        Cursor position = decodeCursor(cursor);
+        // One extra row tells whether another page exists, without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<SurveyExecutionSummaryView> rows = position == null
+                ? executionRepository.findSummariesByFormId(formId, limit)
+                : executionRepository.findSummariesByFormIdBefore(formId,
+                        position.executionTime(), position.id(), limit);
+        return toPage(rows, pageSize);
+    }
+
+    @Override
+    public ExecutionHistoryPageResponse getExecutionSummariesByFillRequestId(UUID fillRequestId,
+            String cursor, int size) {
+        log.debug("Getting execution summaries for fill request ID: {} after cursor {}",
+                fillRequestId, cursor);
+        int pageSize = clampPageSize(size);
+        Cursor position = decodeCursor(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<SurveyExecutionSummaryView> rows = position == null
+                ? executionRepository.findSummariesByFillRequestId(fillRequestId, limit)
+                : executionRepository.findSummariesByFillRequestIdBefore(fillRequestId,
+                        position.executionTime(), position.id(), limit);
+        return toPage(rows, pageSize);
+    }
+
+    @Override
+    public SurveyExecutionResponse getExecutionById(UUID executionId) {
+        SurveyExecution execution = executionRepository.findById(executionId).orElseThrow(
+                () -> new ResourceNotFoundException("Survey Execution", "id", executionId));
+        return executionMapper.toResponse(execution);
+    }
+
     @Override
     public SurveyExecution recordExecution(SurveyExecution execution) {
         log.debug("Recording new survey execution for fill request ID: {}",
                 execution.getFillRequest().getId());
-        return executionRepository.save(execution);
+        if (execution.getExecutionTime() == null) {
+            execution.setExecutionTime(LocalDateTime.now());
+        }
+        // Counted even if the audit record itself is dropped
+        if (execution.getForm() != null) {
+            formStatisticRollupService.record(execution.getForm().getId(),
+                    execution.getExecutionTime().toLocalDate(),
+                    Constants.EXECUTION_STATUS_COMPLETED.equals(execution.getStatus()));
+        }
+        if (!executionWriter.submit(execution)) {
+            log.debug("Execution buffer full, dropped record for fill request ID: {}",
+                    execution.getFillRequest().getId());
+        }
+        return execution;
     }
 
     @Override
@@ -48,4 +120,52 @@ public class ExecutionServiceImpl implements ExecutionService {
         return executionRepository.findByFillRequestAndExecutionTimeBetween(fillRequestId,
                 startTime, endTime);
     }
+
+    @Override
+    public Map<String, Object> getWriterStatistics() {
+        return executionWriter.getStatistics();
+    }
+
+    private ExecutionHistoryPageResponse toPage(List<SurveyExecutionSummaryView> rows,
+            int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<SurveyExecutionSummaryView> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        List<SurveyExecutionSummaryResponse> content = pageRows.stream()
+                .map(row -> SurveyExecutionSummaryResponse.builder().id(row.getId())
+                        .fillRequestId(row.getFillRequestId())
+                        .executionTime(row.getExecutionTime()).status(row.getStatus()).build())
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            SurveyExecutionSummaryView last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encodeCursor(last.getExecutionTime(), last.getId());
+        }
+        return ExecutionHistoryPageResponse.builder().content(content).size(pageSize)
+                .hasNext(hasNext).nextCursor(nextCursor).build();
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static String encodeCursor(LocalDateTime executionTime, UUID id) {
+        String raw = executionTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
 }
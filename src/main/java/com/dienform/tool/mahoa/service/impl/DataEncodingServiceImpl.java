@@ -16,6 +16,7 @@ import com.dienform.tool.dienformtudong.datamapping.dto.response.SheetAccessibil
 import com.dienform.tool.dienformtudong.datamapping.service.GoogleSheetsService;
 import com.dienform.tool.dienformtudong.form.entity.Form;
 import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+import com.dienform.tool.dienformtudong.googleform.browser.BrowserCallerType;
 import com.dienform.tool.dienformtudong.googleform.service.GoogleFormService;
 import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser;
 import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser.ExtractedOption;
@@ -352,7 +353,7 @@ public class DataEncodingServiceImpl implements DataEncodingService {
 
     // 2) Load form questions
     String formUrl = resolveFormUrl(request);
-    GoogleFormService.FormExtractionResult formData = formService.extractFormData(formUrl);
+    GoogleFormService.FormExtractionResult formData = formService.extractFormData(formUrl, BrowserCallerType.ENCODE);
     List<ExtractedQuestion> questions = formData.getQuestions();
     if (questions == null || questions.isEmpty()) {
       throw new IllegalArgumentException(
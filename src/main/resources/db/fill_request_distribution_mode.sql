@@ -0,0 +1,19 @@
+-- Distribution mode and plan seed of fill requests (required where ddl-auto is validate)
+-- MySQL has no ADD COLUMN IF NOT EXISTS, so each column is guarded through information_schema
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'fill_request'
+            AND column_name = 'distribution_mode') = 0,
+    'ALTER TABLE fill_request ADD COLUMN distribution_mode varchar(20) DEFAULT ''RANDOM''',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'fill_request'
+            AND column_name = 'distribution_seed') = 0,
+    'ALTER TABLE fill_request ADD COLUMN distribution_seed bigint',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,19 @@
+-- Indexes for fill_request queue scans (required where ddl-auto is validate)
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so each index is guarded through information_schema
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'fill_request'
+            AND index_name = 'idx_fill_request_status_priority_queued') = 0,
+    'CREATE INDEX idx_fill_request_status_priority_queued ON fill_request (status, priority DESC, queued_at)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'fill_request'
+            AND index_name = 'idx_fill_request_status_start_date') = 0,
+    'CREATE INDEX idx_fill_request_status_start_date ON fill_request (status, start_date)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,15 @@
+-- Daily survey outcome rollups per form (required where ddl-auto is validate)
+CREATE TABLE IF NOT EXISTS form_statistic_daily (
+    id varchar(36) NOT NULL,
+    form_id varchar(36) NOT NULL,
+    stat_date date NOT NULL,
+    total_survey int NOT NULL DEFAULT 0,
+    completed_survey int NOT NULL DEFAULT 0,
+    failed_survey int NOT NULL DEFAULT 0,
+    created_at datetime(6) NOT NULL,
+    updated_at datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_form_statistic_daily_form_date UNIQUE (form_id, stat_date),
+    CONSTRAINT fk_form_statistic_daily_form
+        FOREIGN KEY (form_id) REFERENCES form(id) ON DELETE CASCADE
+);
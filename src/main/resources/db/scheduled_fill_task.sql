@@ -0,0 +1,17 @@
+-- Persistent per-row schedule of data fill campaigns (required where ddl-auto is validate)
+CREATE TABLE IF NOT EXISTS scheduled_fill_task (
+    id varchar(36) NOT NULL,
+    fill_request_id varchar(36) NOT NULL,
+    row_index int NOT NULL,
+    due_time datetime(6) NOT NULL,
+    state varchar(20) NOT NULL,
+    attempt_count int NOT NULL DEFAULT 0,
+    claimed_at datetime(6),
+    payload JSON,
+    created_at datetime(6) NOT NULL,
+    updated_at datetime(6),
+    PRIMARY KEY (id),
+    INDEX idx_scheduled_fill_task_request_state (fill_request_id, state, due_time),
+    CONSTRAINT fk_scheduled_fill_task_request
+        FOREIGN KEY (fill_request_id) REFERENCES fill_request(id) ON DELETE CASCADE
+);
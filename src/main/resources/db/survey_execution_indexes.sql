@@ -0,0 +1,19 @@
+-- Indexes for keyset-paginated execution history (required where ddl-auto is validate)
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so each index is guarded through information_schema
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'survey_execution'
+            AND index_name = 'idx_survey_execution_form_time') = 0,
+    'CREATE INDEX idx_survey_execution_form_time ON survey_execution (form_id, execution_time)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'survey_execution'
+            AND index_name = 'idx_survey_execution_request_time') = 0,
+    'CREATE INDEX idx_survey_execution_request_time ON survey_execution (fill_request_id, execution_time)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,148 @@
+package com.dienform.common.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.dienform.common.entity.User;
+import com.dienform.common.repository.UserRepository;
+
+class TokenPrincipalCacheTest {
+
+  private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+  private JwtTokenProvider jwtTokenProvider;
+  private UserRepository userRepository;
+  private TokenPrincipalCache cache;
+
+  @BeforeEach
+  void setUp() {
+    jwtTokenProvider = mock(JwtTokenProvider.class);
+    userRepository = mock(UserRepository.class);
+    cache = new TokenPrincipalCache(jwtTokenProvider, userRepository);
+    ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+    setTime(START);
+  }
+
+  @Test
+  void secondResolutionIsServedFromCache() {
+    UUID userId = givenToken("token-a", "a@example.com", START.plusSeconds(3600));
+
+    assertThat(cache.resolveUserId("token-a")).contains(userId);
+    assertThat(cache.resolveUserId("token-a")).contains(userId);
+
+    verify(jwtTokenProvider, times(1)).validateToken("token-a");
+    verify(userRepository, times(1)).findByEmail("a@example.com");
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void entryExpiresWithTokenWhenTokenExpiresBeforeTtl() {
+    givenToken("token-a", "a@example.com", START.plusSeconds(10));
+    cache.resolveUserId("token-a");
+
+    setTime(START.plusSeconds(9));
+    cache.resolveUserId("token-a");
+    verify(jwtTokenProvider, times(1)).validateToken("token-a");
+
+    setTime(START.plusSeconds(10));
+    cache.resolveUserId("token-a");
+    verify(jwtTokenProvider, times(2)).validateToken("token-a");
+  }
+
+  @Test
+  void entryExpiresAfterTtlWhenTokenOutlivesIt() {
+    givenToken("token-a", "a@example.com", START.plusSeconds(3600));
+    cache.resolveUserId("token-a");
+
+    setTime(START.plusSeconds(59));
+    cache.resolveUserId("token-a");
+    verify(jwtTokenProvider, times(1)).validateToken("token-a");
+
+    setTime(START.plusSeconds(60));
+    cache.resolveUserId("token-a");
+    verify(jwtTokenProvider, times(2)).validateToken("token-a");
+  }
+
+  @Test
+  void leastRecentlyUsedTokenIsEvicted() {
+    givenToken("token-a", "a@example.com", START.plusSeconds(3600));
+    givenToken("token-b", "b@example.com", START.plusSeconds(3600));
+    givenToken("token-c", "c@example.com", START.plusSeconds(3600));
+
+    cache.resolveUserId("token-a");
+    cache.resolveUserId("token-b");
+    // Touch a so that b becomes the eldest
+    cache.resolveUserId("token-a");
+    cache.resolveUserId("token-c");
+
+    assertThat(cache.size()).isEqualTo(2);
+    cache.resolveUserId("token-a");
+    verify(jwtTokenProvider, times(1)).validateToken("token-a");
+    cache.resolveUserId("token-b");
+    verify(jwtTokenProvider, times(2)).validateToken("token-b");
+  }
+
+  @Test
+  void evictExpiredDropsOnlyExpiredEntries() {
+    givenToken("token-a", "a@example.com", START.plusSeconds(10));
+    givenToken("token-b", "b@example.com", START.plusSeconds(3600));
+    cache.resolveUserId("token-a");
+    cache.resolveUserId("token-b");
+
+    setTime(START.plusSeconds(30));
+    cache.evictExpired();
+
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void invalidOrUnknownTokensAreNotCached() {
+    when(jwtTokenProvider.validateToken("bad")).thenThrow(new JWTVerificationException("bad"));
+    DecodedJWT orphan = decoded("gone@example.com", START.plusSeconds(3600));
+    when(jwtTokenProvider.validateToken("orphan")).thenReturn(orphan);
+    when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+
+    assertThat(cache.resolveUserId("bad")).isEmpty();
+    assertThat(cache.resolveUserId("orphan")).isEmpty();
+    assertThat(cache.resolveUserId(null)).isEmpty();
+    assertThat(cache.resolveUserId(" ")).isEmpty();
+    assertThat(cache.size()).isZero();
+  }
+
+  private UUID givenToken(String token, String email, Instant expiresAt) {
+    UUID userId = UUID.randomUUID();
+    User user = new User();
+    user.setId(userId);
+    DecodedJWT jwt = decoded(email, expiresAt);
+    when(jwtTokenProvider.validateToken(token)).thenReturn(jwt);
+    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    return userId;
+  }
+
+  private static DecodedJWT decoded(String subject, Instant expiresAt) {
+    DecodedJWT jwt = mock(DecodedJWT.class);
+    when(jwt.getSubject()).thenReturn(subject);
+    when(jwt.getExpiresAt()).thenReturn(Date.from(expiresAt));
+    return jwt;
+  }
+
+  private void setTime(Instant now) {
+    ReflectionTestUtils.setField(cache, "clock", Clock.fixed(now, ZoneOffset.UTC));
+  }
+}
@@ -0,0 +1,103 @@
+package com.dienform.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import com.dienform.common.entity.User;
+import com.dienform.common.repository.UserRepository;
+import com.dienform.common.service.TokenPrincipalCache;
+import com.dienform.common.util.CurrentUserUtil;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+
+class CurrentUserFilterTest {
+
+  private TokenPrincipalCache tokenPrincipalCache;
+  private UserRepository userRepository;
+  private CurrentUserUtil currentUserUtil;
+  private CurrentUserFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    tokenPrincipalCache = mock(TokenPrincipalCache.class);
+    userRepository = mock(UserRepository.class);
+    currentUserUtil = new CurrentUserUtil(tokenPrincipalCache, userRepository);
+    filter = new CurrentUserFilter(currentUserUtil);
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void principalIsResolvedOncePerRequest() throws Exception {
+    UUID userId = UUID.randomUUID();
+    User user = new User();
+    user.setId(userId);
+    when(tokenPrincipalCache.resolveUserId("token-a")).thenReturn(Optional.of(userId));
+    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer token-a");
+
+    MockFilterChain chain = new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest req, ServletResponse res) {
+        RequestContextHolder.setRequestAttributes(
+            new ServletRequestAttributes((MockHttpServletRequest) req));
+        // Many lookups during one request
+        assertThat(currentUserUtil.getCurrentUserIdIfPresent()).contains(userId);
+        assertThat(currentUserUtil.getCurrentUserIdIfPresent()).contains(userId);
+        assertThat(currentUserUtil.getCurrentUserIfPresent()).contains(user);
+        assertThat(currentUserUtil.getCurrentUserIfPresent()).contains(user);
+      }
+    };
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    verify(tokenPrincipalCache, times(1)).resolveUserId("token-a");
+    verify(userRepository, times(1)).findById(userId);
+  }
+
+  @Test
+  void anonymousRequestIsResolvedOnceAndNeverLoadsUser() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setCookies(new Cookie("other", "value"));
+    when(tokenPrincipalCache.resolveUserId(null)).thenReturn(Optional.empty());
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    assertThat(currentUserUtil.getCurrentUserIdIfPresent()).isEmpty();
+    assertThat(currentUserUtil.getCurrentUserIfPresent()).isEmpty();
+    verify(tokenPrincipalCache, times(1)).resolveUserId(null);
+    verify(userRepository, never()).findById(any());
+  }
+
+  @Test
+  void accessTokenCookieIsUsedWithoutAuthorizationHeader() throws Exception {
+    UUID userId = UUID.randomUUID();
+    when(tokenPrincipalCache.resolveUserId("cookie-token")).thenReturn(Optional.of(userId));
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setCookies(new Cookie("access_token", "cookie-token"));
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(currentUserUtil.principalOf(request).getUserId()).contains(userId);
+    verify(tokenPrincipalCache, times(1)).resolveUserId("cookie-token");
+  }
+}
@@ -0,0 +1,146 @@
+package com.dienform.realtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.dienform.common.service.TokenPrincipalCache;
+import com.dienform.realtime.dto.FillRequestUpdateEvent;
+import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+
+class FillRequestRealtimeGatewayTest {
+
+  private static final int BURST = 5;
+
+  private SocketIOServer server;
+  private FormRepository formRepository;
+  private FillRequestRealtimeGateway gateway;
+
+  @BeforeEach
+  void setUp() {
+    server = mock(SocketIOServer.class);
+    BroadcastOperations room = mock(BroadcastOperations.class);
+    when(server.getRoomOperations(anyString())).thenReturn(room);
+    when(room.getClients()).thenReturn(List.of());
+    formRepository = mock(FormRepository.class);
+    when(formRepository.findOwnerIdById(any())).thenReturn(Optional.empty());
+
+    gateway = new FillRequestRealtimeGateway(server, mock(FormStatusSnapshotCache.class),
+        formRepository, mock(TokenPrincipalCache.class));
+    ReflectionTestUtils.setField(gateway, "burstMax", BURST);
+    ReflectionTestUtils.setField(gateway, "dedupMaxEntries", 10);
+  }
+
+  @Test
+  void roomAllowsBurstThenRateLimits() {
+    String formId = UUID.randomUUID().toString();
+    for (int i = 1; i <= BURST; i++) {
+      assertThat(gateway.emitUpdate(formId, progress(formId, i))).isTrue();
+    }
+
+    assertThat(gateway.emitUpdate(formId, progress(formId, BURST + 1))).isFalse();
+    assertThat(gateway.getEmittedCount()).isEqualTo(BURST);
+    assertThat(gateway.getDroppedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void forcedEmitBypassesRateLimit() {
+    String formId = UUID.randomUUID().toString();
+    for (int i = 1; i <= BURST; i++) {
+      gateway.emitUpdate(formId, progress(formId, i));
+    }
+
+    assertThat(gateway.emitUpdate(formId, progress(formId, BURST + 1), true)).isTrue();
+  }
+
+  @Test
+  void bucketRefillsAfterTokenInterval() throws InterruptedException {
+    String formId = UUID.randomUUID().toString();
+    for (int i = 1; i <= BURST; i++) {
+      gateway.emitUpdate(formId, progress(formId, i));
+    }
+    assertThat(gateway.emitUpdate(formId, progress(formId, BURST + 1))).isFalse();
+
+    // One token every 1000 / BURST ms
+    Thread.sleep(1000 / BURST + 50);
+
+    assertThat(gateway.emitUpdate(formId, progress(formId, BURST + 2))).isTrue();
+  }
+
+  @Test
+  void roomsAreMeteredIndependently() {
+    String first = UUID.randomUUID().toString();
+    String second = UUID.randomUUID().toString();
+    for (int i = 1; i <= BURST; i++) {
+      gateway.emitUpdate(first, progress(first, i));
+    }
+
+    assertThat(gateway.emitUpdate(second, progress(second, 1))).isTrue();
+  }
+
+  @Test
+  void repeatedEventIsCoalescedWithoutUsingAToken() {
+    String formId = UUID.randomUUID().toString();
+    gateway.emitUpdate(formId, progress(formId, 1));
+
+    assertThat(gateway.emitUpdate(formId, progress(formId, 1))).isTrue();
+    assertThat(gateway.getCoalescedCount()).isEqualTo(1);
+    assertThat(gateway.getEmittedCount()).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void dedupCacheStaysBounded() {
+    for (int i = 0; i < 50; i++) {
+      String formId = UUID.randomUUID().toString();
+      gateway.emitUpdate(formId, progress(formId, 1));
+    }
+
+    Map<String, ?> events =
+        (Map<String, ?>) ReflectionTestUtils.getField(gateway, "lastEmittedEvents");
+    assertThat(events).hasSizeLessThanOrEqualTo(10);
+  }
+
+  @Test
+  void formOwnerIsLookedUpOnce() {
+    String formId = UUID.randomUUID().toString();
+    UUID ownerId = UUID.randomUUID();
+    when(formRepository.findOwnerIdById(UUID.fromString(formId))).thenReturn(Optional.of(ownerId));
+
+    gateway.emitUpdate(formId, progress(formId, 1));
+    gateway.emitUpdate(formId, progress(formId, 2));
+
+    verify(formRepository, times(1)).findOwnerIdById(UUID.fromString(formId));
+    // Both updates still reach the owner's sockets
+    verify(server, times(2)).getRoomOperations("user:" + ownerId);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void ownerCacheStaysBounded() {
+    for (int i = 0; i < 10_050; i++) {
+      String formId = UUID.randomUUID().toString();
+      gateway.emitUpdate(formId, progress(formId, 1));
+    }
+
+    Map<String, ?> owners = (Map<String, ?>) ReflectionTestUtils.getField(gateway, "formOwners");
+    assertThat(owners).hasSizeLessThanOrEqualTo(10_000);
+  }
+
+  private static FillRequestUpdateEvent progress(String formId, int completed) {
+    return FillRequestUpdateEvent.builder().formId(formId).requestId("request")
+        .status("IN_PROCESS").completedSurvey(completed).surveyCount(100).build();
+  }
+}
@@ -0,0 +1,207 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.dienform.realtime.FillRequestProgressPublisher;
+import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
+import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.formstatistic.service.FormStatisticRollupService;
+
+class FillRequestProgressAggregatorTest {
+
+  private final UUID requestId = UUID.randomUUID();
+  private final UUID formId = UUID.randomUUID();
+
+  private FillRequestRepository fillRequestRepository;
+  private FillRequestCounterService fillRequestCounterService;
+  private FillRequestProgressPublisher progressPublisher;
+  private FormStatisticRollupService formStatisticRollupService;
+  private FillRequestProgressAggregator aggregator;
+
+  @BeforeEach
+  void setUp() {
+    fillRequestRepository = mock(FillRequestRepository.class);
+    fillRequestCounterService = mock(FillRequestCounterService.class);
+    progressPublisher = mock(FillRequestProgressPublisher.class);
+    formStatisticRollupService = mock(FormStatisticRollupService.class);
+    aggregator = new FillRequestProgressAggregator(fillRequestRepository,
+        fillRequestCounterService, progressPublisher, formStatisticRollupService);
+    ReflectionTestUtils.setField(aggregator, "flushIncrements", 10);
+  }
+
+  @Test
+  void unknownRequestIsNotCounted() {
+    when(fillRequestRepository.findById(requestId)).thenReturn(Optional.empty());
+
+    assertThat(aggregator.recordCompletion(requestId)).isFalse();
+    verify(progressPublisher, never()).publishProgress(any(), any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void incrementsAreWrittenTogetherOnFlush() {
+    givenRequest(100, 0);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(aggregator.recordCompletion(requestId)).isTrue();
+    }
+    verify(fillRequestRepository, never()).addCompletedSurveys(any(), anyInt());
+
+    aggregator.flushAll();
+    aggregator.flushAll();
+
+    verify(fillRequestRepository, times(1)).addCompletedSurveys(requestId, 3);
+    verify(formStatisticRollupService, times(2)).flush();
+  }
+
+  @Test
+  void flushIncrementsTriggerAnEarlyFlush() {
+    givenRequest(100, 0);
+
+    for (int i = 0; i < 10; i++) {
+      aggregator.recordCompletion(requestId);
+    }
+
+    verify(fillRequestRepository).addCompletedSurveys(requestId, 10);
+  }
+
+  @Test
+  void progressIsPublishedFromTheInMemoryCount() {
+    givenRequest(100, 40);
+
+    aggregator.recordCompletion(requestId);
+    aggregator.recordCompletion(requestId);
+
+    verify(progressPublisher).publishProgress(formId, requestId,
+        FillRequestStatusEnum.IN_PROCESS.name(), 42, 100);
+  }
+
+  @Test
+  void reachingSurveyCountFlushesCompletesAndEvicts() {
+    givenRequest(3, 1);
+
+    aggregator.recordCompletion(requestId);
+    aggregator.recordCompletion(requestId);
+
+    verify(fillRequestRepository).addCompletedSurveys(requestId, 2);
+    verify(fillRequestCounterService, times(1)).updateStatus(requestId,
+        FillRequestStatusEnum.COMPLETED);
+
+    // Evicted, so the next survey reloads the persisted count and is refused
+    givenRequest(3, 3);
+    assertThat(aggregator.recordCompletion(requestId)).isFalse();
+    verify(fillRequestRepository, times(2)).findById(requestId);
+  }
+
+  @Test
+  void completedRequestRefusesFurtherSurveys() {
+    givenRequest(2, 2);
+
+    assertThat(aggregator.recordCompletion(requestId)).isFalse();
+    aggregator.flushAll();
+
+    verify(fillRequestRepository, never()).addCompletedSurveys(any(), anyInt());
+  }
+
+  @Test
+  void persistedCompletionIsNeverWrittenAgain() {
+    givenRequest(100, 0);
+    aggregator.recordCompletion(requestId);
+    aggregator.flushAll();
+
+    // The DB now holds the flushed survey and the caller's own increment
+    givenPersistedCount(2);
+    aggregator.recordPersistedCompletion(requestId);
+    aggregator.flushAll();
+
+    verify(fillRequestRepository).addCompletedSurveys(requestId, 1);
+    verify(progressPublisher).publishProgress(formId, requestId,
+        FillRequestStatusEnum.IN_PROCESS.name(), 2, 100);
+  }
+
+  @Test
+  void persistedCompletionOnFreshLoadIsNotCountedTwice() {
+    // The loaded count already includes the row the caller just marked done
+    givenRequest(2, 1);
+    givenPersistedCount(1);
+
+    assertThat(aggregator.recordPersistedCompletion(requestId)).isTrue();
+    verify(fillRequestCounterService, never()).updateStatus(any(), any());
+
+    givenPersistedCount(2);
+    aggregator.recordPersistedCompletion(requestId);
+    aggregator.flushAll();
+
+    verify(fillRequestCounterService).updateStatus(requestId, FillRequestStatusEnum.COMPLETED);
+    verify(fillRequestRepository, never()).addCompletedSurveys(any(), anyInt());
+  }
+
+  @Test
+  void persistedCompletionsCommittedBeforeTheLoadAreCountedOnce() {
+    // Two rows committed before either recorded, so the load already sees both
+    givenRequest(3, 2);
+    givenPersistedCount(2);
+
+    aggregator.recordPersistedCompletion(requestId);
+    aggregator.recordPersistedCompletion(requestId);
+
+    verify(progressPublisher, times(2)).publishProgress(formId, requestId,
+        FillRequestStatusEnum.IN_PROCESS.name(), 2, 3);
+    verify(fillRequestCounterService, never()).updateStatus(any(), any());
+  }
+
+  @Test
+  void persistedCompletionKeepsPendingIncrements() {
+    givenRequest(100, 0);
+    aggregator.recordCompletion(requestId);
+    givenPersistedCount(1);
+
+    aggregator.recordPersistedCompletion(requestId);
+    aggregator.flushAll();
+
+    verify(progressPublisher).publishProgress(formId, requestId,
+        FillRequestStatusEnum.IN_PROCESS.name(), 2, 100);
+    verify(fillRequestRepository).addCompletedSurveys(requestId, 1);
+  }
+
+  @Test
+  void failedFlushIsRetriedWithTheSameDelta() {
+    givenRequest(100, 0);
+    when(fillRequestRepository.addCompletedSurveys(eq(requestId), anyInt()))
+        .thenThrow(new IllegalStateException("deadlock")).thenReturn(1);
+    aggregator.recordCompletion(requestId);
+    aggregator.recordCompletion(requestId);
+
+    aggregator.flushAll();
+    aggregator.flushAll();
+    aggregator.flushAll();
+
+    verify(fillRequestRepository, times(2)).addCompletedSurveys(requestId, 2);
+  }
+
+  private void givenRequest(int surveyCount, int completedSurvey) {
+    Form form = new Form();
+    form.setId(formId);
+    FillRequest fillRequest = FillRequest.builder().surveyCount(surveyCount)
+        .completedSurvey(completedSurvey).form(form).build();
+    when(fillRequestRepository.findById(requestId)).thenReturn(Optional.of(fillRequest));
+  }
+
+  private void givenPersistedCount(int completedSurvey) {
+    when(fillRequestRepository.findCompletedSurveyById(requestId))
+        .thenReturn(Optional.of(completedSurvey));
+  }
+}
@@ -0,0 +1,198 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.dienform.common.util.CurrentUserUtil;
+import com.dienform.realtime.FillRequestProgressPublisher;
+import com.dienform.tool.dienformtudong.datamapping.service.GoogleSheetsService;
+import com.dienform.tool.dienformtudong.fillrequest.entity.FillRequest;
+import com.dienform.tool.dienformtudong.fillrequest.enums.FillRequestStatusEnum;
+import com.dienform.tool.dienformtudong.fillrequest.event.FillRequestCreatedEvent;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestQueueView;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.googleform.service.GoogleFormService;
+
+class QueueManagementServiceTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+  // Start date far enough ahead that the running dispatcher leaves these requests queued
+  private static final LocalDateTime NOT_YET_STARTABLE = LocalDateTime.now().plusDays(1);
+
+  private FillRequestRepository fillRequestRepository;
+  private DispatchCycleLoader dispatchCycleLoader;
+  private GoogleFormService googleFormService;
+  private QueueManagementService queueManagementService;
+  private final List<FillRequestQueueView> queued = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    fillRequestRepository = mock(FillRequestRepository.class);
+    dispatchCycleLoader = mock(DispatchCycleLoader.class);
+    googleFormService = mock(GoogleFormService.class);
+    when(fillRequestRepository.findQueueViewsByStatus(FillRequestStatusEnum.QUEUED))
+        .thenReturn(queued);
+    queueManagementService = new QueueManagementService(fillRequestRepository,
+        dispatchCycleLoader, googleFormService, mock(DataFillCampaignService.class),
+        mock(ScheduledFillTaskLedger.class), mock(ScheduleDistributionService.class),
+        mock(GoogleSheetsService.class), mock(FillRequestProgressPublisher.class),
+        mock(CurrentUserUtil.class));
+    ReflectionTestUtils.setField(queueManagementService, "threadPoolSize", 1);
+    queueManagementService.init();
+  }
+
+  @AfterEach
+  void tearDown() {
+    queueManagementService.cleanup();
+  }
+
+  @Test
+  void positionFollowsDispatchOrder() {
+    UUID human = queue(10, true, T0);
+    UUID lowPriority = queue(1, false, T0);
+    UUID highPriorityLater = queue(5, false, T0.plusMinutes(5));
+    UUID highPriorityEarlier = queue(5, false, T0.plusMinutes(1));
+    UUID notYetQueued = queue(5, false, null);
+
+    queueManagementService.reconcileQueue();
+
+    assertThat(queueManagementService.getQueuePosition(highPriorityEarlier)).isEqualTo(1);
+    assertThat(queueManagementService.getQueuePosition(highPriorityLater)).isEqualTo(2);
+    assertThat(queueManagementService.getQueuePosition(notYetQueued)).isEqualTo(3);
+    assertThat(queueManagementService.getQueuePosition(lowPriority)).isEqualTo(4);
+    assertThat(queueManagementService.getQueuePosition(human)).isEqualTo(5);
+  }
+
+  @Test
+  void unknownRequestHasNoPosition() {
+    queue(1, false, T0);
+    queueManagementService.reconcileQueue();
+
+    assertThat(queueManagementService.getQueuePosition(UUID.randomUUID())).isNull();
+  }
+
+  @Test
+  void ranksAreReusedUntilTheQueueChanges() {
+    UUID first = queue(1, false, T0);
+    queueManagementService.reconcileQueue();
+
+    queueManagementService.getQueuePosition(first);
+    Object ranks = ReflectionTestUtils.getField(queueManagementService, "rankCache");
+    queueManagementService.getQueuePosition(first);
+
+    assertThat(ReflectionTestUtils.getField(queueManagementService, "rankCache")).isSameAs(ranks);
+  }
+
+  @Test
+  void enqueuedRequestShiftsLaterRanks() {
+    UUID first = queue(1, false, T0);
+    queueManagementService.reconcileQueue();
+    assertThat(queueManagementService.getQueuePosition(first)).isEqualTo(1);
+
+    FillRequestQueueView urgent = view(9, false, T0.plusMinutes(1));
+    when(fillRequestRepository.findQueueViewByIdAndStatus(urgent.getId(),
+        FillRequestStatusEnum.QUEUED)).thenReturn(Optional.of(urgent));
+    queueManagementService.onFillRequestCreated(new FillRequestCreatedEvent(this, urgent.getId()));
+
+    assertThat(queueManagementService.getQueuePosition(urgent.getId())).isEqualTo(1);
+    assertThat(queueManagementService.getQueuePosition(first)).isEqualTo(2);
+  }
+
+  @Test
+  void reconcileDropsRequestsNoLongerQueued() {
+    UUID first = queue(1, false, T0);
+    UUID second = queue(1, false, T0.plusMinutes(1));
+    queueManagementService.reconcileQueue();
+    assertThat(queueManagementService.getQueuePosition(second)).isEqualTo(2);
+
+    queued.remove(0);
+    queueManagementService.reconcileQueue();
+
+    assertThat(queueManagementService.getQueuePosition(first)).isNull();
+    assertThat(queueManagementService.getQueuePosition(second)).isEqualTo(1);
+  }
+
+  @Test
+  void startableRequestIsDispatchedAndLeavesTheQueue() {
+    UUID waiting = queue(1, false, T0);
+    FillRequestQueueView startable = view(5, false, T0.plusMinutes(1));
+    when(startable.getStartDate()).thenReturn(null);
+    queued.add(startable);
+
+    FillRequest request = FillRequest.builder().status(FillRequestStatusEnum.QUEUED)
+        .form(new Form()).build();
+    request.setId(startable.getId());
+    DispatchCycleLoader.DispatchCycle cycle = mock(DispatchCycleLoader.DispatchCycle.class);
+    when(cycle.getRequest(startable.getId())).thenReturn(request);
+    when(cycle.getMappings(startable.getId())).thenReturn(List.of());
+    when(dispatchCycleLoader.load(anyCollection())).thenReturn(cycle);
+
+    queueManagementService.reconcileQueue();
+
+    verify(googleFormService, timeout(5000)).fillForm(startable.getId());
+    assertThat(request.getStatus()).isEqualTo(FillRequestStatusEnum.IN_PROCESS);
+    assertThat(queueManagementService.getQueuePosition(startable.getId())).isNull();
+    assertThat(queueManagementService.getQueuePosition(waiting)).isEqualTo(1);
+  }
+
+  @Test
+  void requestWhoseStartFailsReturnsToTheQueue() throws InterruptedException {
+    FillRequestQueueView startable = view(5, false, T0);
+    when(startable.getStartDate()).thenReturn(null);
+    queued.add(startable);
+
+    FillRequest request = FillRequest.builder().status(FillRequestStatusEnum.QUEUED).queuedAt(T0)
+        .form(new Form()).build();
+    request.setId(startable.getId());
+    DispatchCycleLoader.DispatchCycle cycle = mock(DispatchCycleLoader.DispatchCycle.class);
+    when(cycle.getRequest(startable.getId())).thenReturn(request);
+    when(cycle.getMappings(startable.getId())).thenThrow(new IllegalStateException("boom"));
+    when(dispatchCycleLoader.load(anyCollection())).thenReturn(cycle);
+
+    queueManagementService.reconcileQueue();
+
+    verify(cycle, timeout(5000)).getMappings(startable.getId());
+    long deadline = System.currentTimeMillis() + 5000;
+    while (queueManagementService.getQueuePosition(startable.getId()) == null
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(queueManagementService.getQueuePosition(startable.getId())).isEqualTo(1);
+    assertThat(request.getStatus()).isEqualTo(FillRequestStatusEnum.QUEUED);
+    assertThat(request.getQueuedAt()).isEqualTo(T0);
+    assertThat(request.getRetryCount()).isEqualTo(1);
+    assertThat(queueManagementService.getActiveCount()).isZero();
+  }
+
+  private UUID queue(int priority, boolean humanLike, LocalDateTime queuedAt) {
+    FillRequestQueueView view = view(priority, humanLike, queuedAt);
+    queued.add(view);
+    return view.getId();
+  }
+
+  private static FillRequestQueueView view(int priority, boolean humanLike,
+      LocalDateTime queuedAt) {
+    UUID id = UUID.randomUUID();
+    FillRequestQueueView view = mock(FillRequestQueueView.class);
+    when(view.getId()).thenReturn(id);
+    when(view.getPriority()).thenReturn(priority);
+    when(view.getHumanLike()).thenReturn(humanLike);
+    when(view.getQueuedAt()).thenReturn(queuedAt);
+    when(view.getStartDate()).thenReturn(NOT_YET_STARTABLE);
+    return view;
+  }
+}
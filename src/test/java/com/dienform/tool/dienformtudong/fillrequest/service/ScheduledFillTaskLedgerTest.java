@@ -0,0 +1,166 @@
+package com.dienform.tool.dienformtudong.fillrequest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.dienform.tool.dienformtudong.fillrequest.entity.ScheduledFillTask;
+import com.dienform.tool.dienformtudong.fillrequest.enums.ScheduledFillTaskStateEnum;
+import com.dienform.tool.dienformtudong.fillrequest.repository.FillRequestRepository;
+import com.dienform.tool.dienformtudong.fillrequest.repository.ScheduledFillTaskRepository;
+import com.dienform.tool.dienformtudong.fillrequest.service.ScheduleDistributionService.ScheduledTask;
+import jakarta.persistence.EntityManager;
+
+class ScheduledFillTaskLedgerTest {
+
+  private final UUID requestId = UUID.randomUUID();
+
+  private ScheduledFillTaskRepository taskRepository;
+  private FillRequestRepository fillRequestRepository;
+  private ScheduledFillTaskLedger ledger;
+
+  @BeforeEach
+  void setUp() {
+    taskRepository = mock(ScheduledFillTaskRepository.class);
+    fillRequestRepository = mock(FillRequestRepository.class);
+    EntityManager entityManager = mock(EntityManager.class);
+    when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+    ledger = new ScheduledFillTaskLedger(taskRepository, fillRequestRepository);
+    ReflectionTestUtils.setField(ledger, "entityManager", entityManager);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void persistedRowsAreDueAtExecutionTimePlusDelay() {
+    LocalDateTime start = LocalDateTime.of(2026, 1, 1, 9, 0);
+    when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<ScheduledFillTask> rows = ledger.persistSchedule(requestId,
+        List.of(new ScheduledTask(start, 30, 0), new ScheduledTask(start, 90, 1)),
+        task -> Map.of("row", String.valueOf(task.getRowIndex())));
+
+    assertThat(rows).extracting(ScheduledFillTask::getDueTime)
+        .containsExactly(start.plusSeconds(30), start.plusSeconds(90));
+    assertThat(rows).allSatisfy(row -> {
+      assertThat(row.getFillRequestId()).isEqualTo(requestId);
+      assertThat(row.getState()).isEqualTo(ScheduledFillTaskStateEnum.PENDING);
+    });
+    assertThat(rows.get(1).getPayload()).containsEntry("row", "1");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void planSlotsArePendingRowsIndexedByPlanPosition() {
+    when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<ScheduledFillTask> rows = ledger.persistPlanSlots(requestId, new int[] {3, 4, 5});
+
+    assertThat(rows).extracting(ScheduledFillTask::getRowIndex).containsExactly(3, 4, 5);
+    assertThat(rows).allSatisfy(row -> {
+      assertThat(row.getFillRequestId()).isEqualTo(requestId);
+      assertThat(row.getState()).isEqualTo(ScheduledFillTaskStateEnum.PENDING);
+      assertThat(row.getPayload()).isNull();
+    });
+  }
+
+  @Test
+  void claimMarksPendingRowClaimed() {
+    ScheduledFillTask task = task(LocalDateTime.now());
+    when(taskRepository.lockPendingById(task.getId())).thenReturn(Optional.of(task));
+
+    assertThat(ledger.claim(task.getId())).isTrue();
+
+    assertThat(task.getState()).isEqualTo(ScheduledFillTaskStateEnum.CLAIMED);
+    assertThat(task.getAttemptCount()).isEqualTo(1);
+    assertThat(task.getClaimedAt()).isNotNull();
+  }
+
+  @Test
+  void claimFailsWhenRowIsNotPendingOrLockedElsewhere() {
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.lockPendingById(taskId)).thenReturn(Optional.empty());
+
+    assertThat(ledger.claim(taskId)).isFalse();
+  }
+
+  @Test
+  void releaseReturnsRowToPending() {
+    UUID taskId = UUID.randomUUID();
+
+    ledger.release(taskId);
+
+    verify(taskRepository).updateState(eq(taskId), eq(ScheduledFillTaskStateEnum.PENDING),
+        any());
+  }
+
+  @Test
+  void markDoneCountsTheSurveyWithTheState() {
+    UUID taskId = UUID.randomUUID();
+
+    ledger.markDone(taskId, requestId);
+
+    verify(taskRepository).updateState(eq(taskId), eq(ScheduledFillTaskStateEnum.DONE), any());
+    verify(fillRequestRepository).addCompletedSurveys(requestId, 1);
+  }
+
+  @Test
+  void resumeReleasesUnfinishedRowsFirst() {
+    when(taskRepository.findByFillRequestIdAndStateOrderByDueTimeAsc(requestId,
+        ScheduledFillTaskStateEnum.PENDING)).thenReturn(List.of());
+
+    ledger.resumePending(requestId);
+
+    verify(taskRepository).releaseUnfinished(eq(requestId), any());
+  }
+
+  @Test
+  void resumeKeepsFutureSchedule() {
+    LocalDateTime first = LocalDateTime.now().plusMinutes(5);
+    givenPending(task(first), task(first.plusMinutes(2)));
+
+    List<ScheduledFillTask> pending = ledger.resumePending(requestId);
+
+    assertThat(pending).extracting(ScheduledFillTask::getDueTime)
+        .containsExactly(first, first.plusMinutes(2));
+  }
+
+  @Test
+  void resumeShiftsOverdueScheduleToStartNowKeepingGaps() {
+    LocalDateTime first = LocalDateTime.now().minusHours(2);
+    givenPending(task(first), task(first.plusMinutes(3)), task(first.plusMinutes(10)));
+
+    LocalDateTime before = LocalDateTime.now();
+    List<ScheduledFillTask> pending = ledger.resumePending(requestId);
+
+    LocalDateTime resumedAt = pending.get(0).getDueTime();
+    assertThat(resumedAt).isCloseTo(before, within(5, ChronoUnit.SECONDS));
+    assertThat(pending.get(1).getDueTime()).isEqualTo(resumedAt.plusMinutes(3));
+    assertThat(pending.get(2).getDueTime()).isEqualTo(resumedAt.plusMinutes(10));
+  }
+
+  private void givenPending(ScheduledFillTask... tasks) {
+    when(taskRepository.findByFillRequestIdAndStateOrderByDueTimeAsc(requestId,
+        ScheduledFillTaskStateEnum.PENDING)).thenReturn(List.of(tasks));
+  }
+
+  private ScheduledFillTask task(LocalDateTime dueTime) {
+    ScheduledFillTask task =
+        ScheduledFillTask.builder().fillRequestId(requestId).dueTime(dueTime).build();
+    task.setId(UUID.randomUUID());
+    return task;
+  }
+}
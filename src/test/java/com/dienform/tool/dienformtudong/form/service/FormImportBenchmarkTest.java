@@ -0,0 +1,119 @@
+package com.dienform.tool.dienformtudong.form.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import com.dienform.tool.dienformtudong.form.dto.request.FormRequest;
+import com.dienform.tool.dienformtudong.form.dto.response.FormResponse;
+import com.dienform.tool.dienformtudong.form.entity.Form;
+import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+import com.dienform.tool.dienformtudong.googleform.service.GoogleFormService;
+import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser.ExtractedOption;
+import com.dienform.tool.dienformtudong.googleform.util.GoogleFormParser.ExtractedQuestion;
+import com.dienform.tool.dienformtudong.question.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Import time of synthetic grid forms against the configured database. Opt-in because it needs
+ * the database of the active profile:
+ *
+ * <pre>
+ * mvn test -Dtest=FormImportBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class FormImportBenchmarkTest {
+
+  private static final int[] QUESTION_COUNTS = {10, 100, 500};
+  private static final int GRID_ROWS = 5;
+  private static final int GRID_COLUMNS = 5;
+  private static final int RUNS = 3;
+
+  @Autowired
+  private FormService formService;
+
+  @Autowired
+  private FormRepository formRepository;
+
+  @Autowired
+  private QuestionRepository questionRepository;
+
+  @MockitoBean
+  private GoogleFormService googleFormService;
+
+  @Test
+  void importTimeAgainstFormSize() {
+    // Warm up the connection pool, Hibernate and the JIT before measuring
+    importForm(10);
+
+    List<String> report = new ArrayList<>();
+    for (int questionCount : QUESTION_COUNTS) {
+      long best = Long.MAX_VALUE;
+      long total = 0;
+      for (int run = 0; run < RUNS; run++) {
+        long elapsed = importForm(questionCount);
+        best = Math.min(best, elapsed);
+        total += elapsed;
+      }
+      int rows = questionCount * (1 + GRID_ROWS + GRID_ROWS * GRID_COLUMNS);
+      report.add(String.format("%4d grid questions (%6d rows): best %5d ms, avg %5d ms",
+          questionCount, rows, best, total / RUNS));
+    }
+    log.info("Form import benchmark ({}x{} grids, {} runs):\n{}", GRID_ROWS, GRID_COLUMNS, RUNS,
+        String.join("\n", report));
+  }
+
+  /**
+   * Import one synthetic form, check it was stored completely and delete it again
+   *
+   * @return Elapsed import time in ms
+   */
+  private long importForm(int questionCount) {
+    when(googleFormService.extractFormData(anyString())).thenReturn(
+        new GoogleFormService.FormExtractionResult("Benchmark", gridQuestions(questionCount)));
+
+    long start = System.nanoTime();
+    FormResponse response = formService.createForm(new FormRequest(
+        "Benchmark " + UUID.randomUUID(), "https://docs.google.com/forms/d/benchmark/edit"));
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+    try {
+      Form form = formRepository.findById(response.getId()).orElseThrow();
+      assertThat(questionRepository.findByForm(form)).hasSize(questionCount);
+    } finally {
+      formService.deleteForm(response.getId());
+    }
+    return elapsed;
+  }
+
+  private static List<ExtractedQuestion> gridQuestions(int count) {
+    List<ExtractedQuestion> questions = new ArrayList<>(count);
+    for (int q = 0; q < count; q++) {
+      List<ExtractedOption> rows = new ArrayList<>(GRID_ROWS);
+      for (int r = 0; r < GRID_ROWS; r++) {
+        List<ExtractedOption> columns = new ArrayList<>(GRID_COLUMNS);
+        for (int c = 0; c < GRID_COLUMNS; c++) {
+          // Distinct values per row, so every grid cell is stored
+          columns.add(ExtractedOption.builder().text("Column " + c).value("r" + r + "c" + c)
+              .position(c).build());
+        }
+        rows.add(ExtractedOption.builder().text("Row " + r).value("r" + r).position(r)
+            .subOptions(columns).isRow(true).build());
+      }
+      questions.add(ExtractedQuestion.builder().title("Question " + q)
+          .type(q % 2 == 0 ? "multiple_choice_grid" : "checkbox_grid").required(true).position(q)
+          .options(rows).build());
+    }
+    return questions;
+  }
+}
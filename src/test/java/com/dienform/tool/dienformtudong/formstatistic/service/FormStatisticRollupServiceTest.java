@@ -0,0 +1,100 @@
+package com.dienform.tool.dienformtudong.formstatistic.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.dienform.tool.dienformtudong.form.repository.FormRepository;
+import com.dienform.tool.dienformtudong.formstatistic.repository.FormStatisticDailyRepository;
+import com.dienform.tool.dienformtudong.formstatistic.repository.FormStatisticRepository;
+
+class FormStatisticRollupServiceTest {
+
+  private final UUID formId = UUID.randomUUID();
+  private final LocalDate yesterday = LocalDate.now().minusDays(1);
+
+  private FormStatisticRepository formStatisticRepository;
+  private FormStatisticDailyRepository formStatisticDailyRepository;
+  private FormRepository formRepository;
+  private FormStatisticRollupService rollupService;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    formStatisticRepository = mock(FormStatisticRepository.class);
+    formStatisticDailyRepository = mock(FormStatisticDailyRepository.class);
+    formRepository = mock(FormRepository.class);
+    TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    doAnswer(invocation -> {
+      ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+    when(formStatisticRepository.addCounts(eq(formId), anyInt(), anyInt(), anyInt()))
+        .thenReturn(1);
+    when(formStatisticDailyRepository.addCounts(eq(formId), any(), anyInt(), anyInt(),
+        anyInt())).thenReturn(1);
+    rollupService = new FormStatisticRollupService(formStatisticRepository,
+        formStatisticDailyRepository, formRepository, transactionTemplate);
+  }
+
+  @Test
+  void outcomesOfABucketAreWrittenTogether() {
+    rollupService.record(formId, yesterday, true);
+    rollupService.record(formId, yesterday, true);
+    rollupService.record(formId, yesterday, false);
+
+    rollupService.flush();
+
+    verify(formStatisticRepository).addCounts(formId, 3, 2, 1);
+    verify(formStatisticDailyRepository).addCounts(formId, yesterday, 3, 2, 1);
+  }
+
+  @Test
+  void outcomeAfterAPastDayWasDrainedIsNotLost() {
+    rollupService.record(formId, yesterday, true);
+    rollupService.flush();
+
+    // The drained bucket left the map, so this lands on a new one
+    rollupService.record(formId, yesterday, false);
+    rollupService.flush();
+
+    verify(formStatisticDailyRepository).addCounts(formId, yesterday, 1, 1, 0);
+    verify(formStatisticDailyRepository).addCounts(formId, yesterday, 1, 0, 1);
+  }
+
+  @Test
+  void failedWriteIsRetriedOnTheNextFlush() {
+    when(formRepository.existsById(formId)).thenReturn(true);
+    when(formStatisticRepository.addCounts(formId, 1, 1, 0))
+        .thenThrow(new IllegalStateException("deadlock")).thenReturn(1);
+    rollupService.record(formId, yesterday, true);
+
+    rollupService.flush();
+    rollupService.flush();
+    rollupService.flush();
+
+    verify(formStatisticRepository, times(2)).addCounts(formId, 1, 1, 0);
+    verify(formStatisticDailyRepository).addCounts(formId, yesterday, 1, 1, 0);
+  }
+
+  @Test
+  void outcomesWithoutAFormAreIgnored() {
+    rollupService.record(null, yesterday, true);
+
+    rollupService.flush();
+
+    verify(formStatisticRepository, never()).addCounts(any(), anyInt(), anyInt(), anyInt());
+  }
+}
@@ -0,0 +1,60 @@
+package com.dienform.tool.dienformtudong.googleform.browser;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BrowserSlotManagerTest {
+
+  private BrowserSlotManager slotManager;
+
+  @BeforeEach
+  void setUp() {
+    slotManager = new BrowserSlotManager();
+    ReflectionTestUtils.setField(slotManager, "maxSessions", 3);
+    ReflectionTestUtils.setField(slotManager, "readReserved", 1);
+    ReflectionTestUtils.setField(slotManager, "encodeQuota", 1);
+    // Give up at once instead of waiting when no slot is free
+    ReflectionTestUtils.setField(slotManager, "acquireTimeoutSeconds", 0L);
+    slotManager.init();
+  }
+
+  @Test
+  void readStillAcquiresWhenFillAndEncodeAreSaturated() {
+    slotManager.acquire(BrowserCallerType.FILL);
+    slotManager.acquire(BrowserCallerType.ENCODE);
+
+    assertThatThrownBy(() -> slotManager.acquire(BrowserCallerType.FILL))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatCode(() -> slotManager.acquire(BrowserCallerType.READ)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void fillAloneCannotTakeTheReservedSlot() {
+    slotManager.acquire(BrowserCallerType.FILL);
+    slotManager.acquire(BrowserCallerType.FILL);
+
+    assertThatThrownBy(() -> slotManager.acquire(BrowserCallerType.ENCODE))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatCode(() -> slotManager.acquire(BrowserCallerType.READ)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void releasedSlotCanBeTakenAgain() {
+    slotManager.acquire(BrowserCallerType.FILL);
+    slotManager.acquire(BrowserCallerType.ENCODE);
+    slotManager.release(BrowserCallerType.ENCODE);
+
+    assertThatCode(() -> slotManager.acquire(BrowserCallerType.FILL)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void encodeIsCappedAtItsQuota() {
+    slotManager.acquire(BrowserCallerType.ENCODE);
+
+    assertThatThrownBy(() -> slotManager.acquire(BrowserCallerType.ENCODE))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
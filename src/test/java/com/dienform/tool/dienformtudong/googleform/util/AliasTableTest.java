@@ -0,0 +1,69 @@
+package com.dienform.tool.dienformtudong.googleform.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class AliasTableTest {
+
+  private static final int SAMPLES = 200_000;
+
+  @Test
+  void noTableWithoutPositiveWeight() {
+    assertThat(AliasTable.of(new int[0])).isNull();
+    assertThat(AliasTable.of(new int[] {0, 0})).isNull();
+    assertThat(AliasTable.of(new int[] {-3, 0})).isNull();
+  }
+
+  @Test
+  void samplesFollowWeights() {
+    int[] weights = {50, 30, 15, 5};
+    double[] frequencies = sample(AliasTable.of(weights), weights.length);
+
+    for (int i = 0; i < weights.length; i++) {
+      assertThat(frequencies[i]).isCloseTo(weights[i] / 100.0, within(0.01));
+    }
+  }
+
+  @Test
+  void zeroAndNegativeWeightsAreNeverSampled() {
+    double[] frequencies = sample(AliasTable.of(new int[] {0, 7, -2, 3}), 4);
+
+    assertThat(frequencies[0]).isZero();
+    assertThat(frequencies[2]).isZero();
+    assertThat(frequencies[1]).isCloseTo(0.7, within(0.01));
+  }
+
+  @Test
+  void singleOptionIsAlwaysSampled() {
+    AliasTable table = AliasTable.of(new int[] {4});
+
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(sample(table, 1)[0]).isEqualTo(1.0);
+  }
+
+  @Test
+  void sameSeedGivesSameSequence() {
+    AliasTable table = AliasTable.of(new int[] {1, 2, 3});
+    SplittableRandom first = new SplittableRandom(42);
+    SplittableRandom second = new SplittableRandom(42);
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(table.sample(first)).isEqualTo(table.sample(second));
+    }
+  }
+
+  private static double[] sample(AliasTable table, int size) {
+    SplittableRandom random = new SplittableRandom(7);
+    int[] counts = new int[size];
+    for (int i = 0; i < SAMPLES; i++) {
+      counts[table.sample(random)]++;
+    }
+    double[] frequencies = new double[size];
+    for (int i = 0; i < size; i++) {
+      frequencies[i] = (double) counts[i] / SAMPLES;
+    }
+    return frequencies;
+  }
+}
@@ -0,0 +1,125 @@
+package com.dienform.tool.dienformtudong.googleform.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import com.dienform.tool.dienformtudong.answerdistribution.entity.AnswerDistribution;
+import com.dienform.tool.dienformtudong.fillrequest.enums.DistributionModeEnum;
+import com.dienform.tool.dienformtudong.question.entity.Question;
+import com.dienform.tool.dienformtudong.question.entity.QuestionOption;
+
+class CompiledExecutionPlansTest {
+
+  private static final long SEED = 42L;
+
+  @Test
+  void exactSharesAreKept() {
+    assertThat(CompiledExecutionPlans.allocateQuota(new int[] {50, 30, 20}, 10))
+        .containsExactly(5, 3, 2);
+  }
+
+  @Test
+  void leftoverGoesToLargestRemainders() {
+    // Shares 3.33, 3.33, 3.34: the third has the largest remainder
+    assertThat(CompiledExecutionPlans.allocateQuota(new int[] {333, 333, 334}, 10))
+        .containsExactly(3, 3, 4);
+    // Shares 1.5, 2.5, 1.0: the single leftover goes to the lower index of the tied halves
+    assertThat(CompiledExecutionPlans.allocateQuota(new int[] {30, 50, 20}, 5))
+        .containsExactly(2, 2, 1);
+  }
+
+  @Test
+  void lowerIndexWinsTies() {
+    assertThat(CompiledExecutionPlans.allocateQuota(new int[] {1, 1, 1}, 4))
+        .containsExactly(2, 1, 1);
+  }
+
+  @Test
+  void countsAlwaysSumToTotal() {
+    int[] weights = {7, 13, 0, 29, 1, 50};
+    for (int total = 1; total <= 250; total++) {
+      int[] counts = CompiledExecutionPlans.allocateQuota(weights, total);
+      int sum = 0;
+      for (int count : counts) {
+        sum += count;
+      }
+      assertThat(sum).as("total %d", total).isEqualTo(total);
+      assertThat(counts[2]).isZero();
+    }
+  }
+
+  @Test
+  void nothingAllocatedWithoutWeightsOrSurveys() {
+    assertThat(CompiledExecutionPlans.allocateQuota(new int[] {0, 0}, 10)).containsExactly(0, 0);
+    assertThat(CompiledExecutionPlans.allocateQuota(new int[] {3, 1}, 0)).containsExactly(0, 0);
+  }
+
+  @Test
+  void resumeAfterFailedPlansHitsExactTotals() {
+    Question question = question();
+    Map<Question, List<AnswerDistribution>> distributions =
+        Map.of(question, List.of(distribution(question, 50), distribution(question, 30),
+            distribution(question, 20)));
+    int total = 10;
+    int[] submitted = new int[3];
+
+    // First run: plans at positions 3 and 7 fail in the middle of the run
+    CompiledExecutionPlans firstRun = compile(distributions, total,
+        IntStream.range(0, total).toArray());
+    List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < firstRun.size(); i++) {
+      if (firstRun.position(i) == 3 || firstRun.position(i) == 7) {
+        pending.add(firstRun.position(i));
+      } else {
+        submitted[firstRun.planIndices(i)[0]]++;
+      }
+    }
+
+    // Resume: only the positions left pending are generated
+    CompiledExecutionPlans resumed =
+        compile(distributions, total, pending.stream().mapToInt(Integer::intValue).toArray());
+    assertThat(resumed.size()).isEqualTo(2);
+    for (int i = 0; i < resumed.size(); i++) {
+      submitted[resumed.planIndices(i)[0]]++;
+    }
+
+    assertThat(submitted).containsExactly(5, 3, 2);
+  }
+
+  @Test
+  void planDependsOnlyOnItsPosition() {
+    Question question = question();
+    Map<Question, List<AnswerDistribution>> distributions =
+        Map.of(question, List.of(distribution(question, 60), distribution(question, 40)));
+
+    CompiledExecutionPlans all = compile(distributions, 20, IntStream.range(0, 20).toArray());
+    CompiledExecutionPlans some = compile(distributions, 20, new int[] {17, 2, 25});
+
+    assertThat(some.size()).isEqualTo(2);
+    assertThat(some.planIndices(0)).isEqualTo(all.planIndices(17));
+    assertThat(some.planIndices(1)).isEqualTo(all.planIndices(2));
+  }
+
+  private static CompiledExecutionPlans compile(
+      Map<Question, List<AnswerDistribution>> distributions, int total, int[] positions) {
+    return CompiledExecutionPlans.compile(distributions, DistributionModeEnum.EXACT_QUOTA, total,
+        positions, SEED, (question, questionDistributions, planIndex) -> null);
+  }
+
+  private static Question question() {
+    return Question.builder().id(UUID.randomUUID()).title("Q").type("radio")
+        .options(new ArrayList<>()).build();
+  }
+
+  private static AnswerDistribution distribution(Question question, int percentage) {
+    QuestionOption option = QuestionOption.builder().id(UUID.randomUUID())
+        .text("Option " + percentage).question(question).build();
+    question.getOptions().add(option);
+    return AnswerDistribution.builder().question(question).option(option).percentage(percentage)
+        .build();
+  }
+}
@@ -0,0 +1,132 @@
+package com.dienform.tool.dienformtudong.googleform.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import com.dienform.tool.dienformtudong.question.entity.Question;
+import com.dienform.tool.dienformtudong.question.entity.QuestionOption;
+
+class CompiledFormTest {
+
+  private static final UUID FORM_ID = UUID.randomUUID();
+  private static final LocalDateTime VERSION = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+  @Test
+  void questionsAreDetachedCopiesOrderedByPosition() {
+    Question second = question(2, "1");
+    Question first = question(1, "0");
+
+    CompiledForm form = CompiledForm.of(FORM_ID, VERSION, List.of(second, first));
+
+    assertThat(form.getQuestions()).extracting(Question::getId).containsExactly(first.getId(),
+        second.getId());
+    Question copy = form.getQuestion(first.getId());
+    assertThat(copy).isNotSameAs(first);
+    assertThat(copy.getForm().getId()).isEqualTo(FORM_ID);
+    assertThat(form.size()).isEqualTo(2);
+  }
+
+  @Test
+  void gridRowsAndColumnsAreSplitInPositionOrder() {
+    Question grid = question(1, null);
+    QuestionOption columnB = option(grid, "B", "b", 2, false);
+    QuestionOption rowOne = option(grid, "Row 1", "r1", 1, true);
+    QuestionOption columnA = option(grid, "A", "a", 1, false);
+
+    CompiledForm form = CompiledForm.of(FORM_ID, VERSION, List.of(grid));
+
+    assertThat(form.getRows(grid.getId())).extracting(QuestionOption::getId)
+        .containsExactly(rowOne.getId());
+    assertThat(form.getColumns(grid.getId())).extracting(QuestionOption::getId)
+        .containsExactly(columnA.getId(), columnB.getId());
+    assertThat(form.getOptions(grid.getId())).hasSize(3);
+    assertThat(form.getColumnAt(grid.getId(), 2).getId()).isEqualTo(columnB.getId());
+    assertThat(form.getColumnAt(grid.getId(), 0)).isNull();
+    assertThat(form.getColumnAt(grid.getId(), 3)).isNull();
+  }
+
+  @Test
+  void optionsAreFoundByNormalizedTextOrValue() {
+    Question question = question(1, null);
+    QuestionOption yes = option(question, "  Strongly   Agree ", "agree_5", 1, false);
+    QuestionOption other = option(question, "Other", CompiledForm.OTHER_OPTION_VALUE, 2, false);
+
+    CompiledForm form = CompiledForm.of(FORM_ID, VERSION, List.of(question));
+
+    assertThat(form.findOption(question.getId(), "strongly agree").getId()).isEqualTo(yes.getId());
+    assertThat(form.findOption(question.getId(), "AGREE_5").getId()).isEqualTo(yes.getId());
+    assertThat(form.findOption(question.getId(), "disagree")).isNull();
+    assertThat(form.findOption(question.getId(), "  ")).isNull();
+    assertThat(form.getOtherOption(question.getId()).getId()).isEqualTo(other.getId());
+  }
+
+  @Test
+  void valueWinsOverTextOfAnotherOption() {
+    Question question = question(1, null);
+    option(question, "Yes", "1", 1, false);
+    QuestionOption one = option(question, "One", "yes", 2, false);
+
+    CompiledForm form = CompiledForm.of(FORM_ID, VERSION, List.of(question));
+
+    assertThat(form.findOption(question.getId(), "yes").getId()).isEqualTo(one.getId());
+  }
+
+  @Test
+  void questionsAreGroupedBySection() {
+    Question intro = question(1, null);
+    Question firstOfSecond = question(2, "2");
+    Question invalid = question(3, "x");
+    Question secondOfSecond = question(4, " 2 ");
+
+    CompiledForm form = CompiledForm.of(FORM_ID, VERSION,
+        List.of(intro, firstOfSecond, invalid, secondOfSecond));
+
+    Map<Integer, List<Question>> sections = form.getSections();
+    assertThat(sections.keySet()).containsExactly(0, 2);
+    assertThat(sections.get(0)).extracting(Question::getId).containsExactly(intro.getId(),
+        invalid.getId());
+    assertThat(sections.get(2)).extracting(Question::getId)
+        .containsExactly(firstOfSecond.getId(), secondOfSecond.getId());
+    assertThat(form.getSectionIndex(secondOfSecond.getId())).isEqualTo(2);
+  }
+
+  @Test
+  void unknownQuestionHasNoOptions() {
+    CompiledForm form = CompiledForm.of(FORM_ID, VERSION, List.of(question(1, null)));
+    UUID unknown = UUID.randomUUID();
+
+    assertThat(form.getQuestion(unknown)).isNull();
+    assertThat(form.getOptions(unknown)).isEmpty();
+    assertThat(form.getColumnAt(unknown, 1)).isNull();
+    assertThat(form.findOption(unknown, "a")).isNull();
+    assertThat(form.getSectionIndex(unknown)).isZero();
+  }
+
+  @Test
+  void versionMatchesOnlyTheSnapshotVersion() {
+    CompiledForm form = CompiledForm.of(FORM_ID, VERSION, List.of());
+
+    assertThat(form.isVersion(VERSION)).isTrue();
+    assertThat(form.isVersion(null)).isTrue();
+    assertThat(form.isVersion(VERSION.plusSeconds(1))).isFalse();
+  }
+
+  private static Question question(int position, String sectionIndex) {
+    return Question.builder().id(UUID.randomUUID()).title("Q" + position).type("radio")
+        .position(position).options(new ArrayList<>())
+        .additionalData(sectionIndex != null ? Map.of("section_index", sectionIndex) : null)
+        .build();
+  }
+
+  private static QuestionOption option(Question question, String text, String value,
+      int position, boolean row) {
+    QuestionOption option = QuestionOption.builder().id(UUID.randomUUID()).text(text).value(value)
+        .position(position).isRow(row).question(question).build();
+    question.getOptions().add(option);
+    return option;
+  }
+}
@@ -0,0 +1,85 @@
+package com.dienform.tool.dienformtudong.surveyexecution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.dienform.tool.dienformtudong.surveyexecution.entity.SurveyExecution;
+import com.dienform.tool.dienformtudong.surveyexecution.repository.SurveyExecutionRepository;
+
+class SurveyExecutionWriterTest {
+
+    private SurveyExecutionRepository executionRepository;
+    private SurveyExecutionWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        executionRepository = mock(SurveyExecutionRepository.class);
+        writer = new SurveyExecutionWriter(executionRepository);
+        ReflectionTestUtils.setField(writer, "capacity", 3);
+        ReflectionTestUtils.setField(writer, "maxBatch", 10);
+        writer.init();
+    }
+
+    @Test
+    void flushWritesQueuedRecordsInOneBatch() {
+        writer.submit(execution("ok"));
+        writer.submit(execution("ok"));
+
+        writer.flush();
+
+        verify(executionRepository, times(1)).saveAll(anyList());
+        verify(executionRepository, never()).save(argThat(e -> true));
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+        assertThat(writer.getFailedCount()).isZero();
+        assertThat(writer.getQueueSize()).isZero();
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowAndOnlyBadRowsFail() {
+        SurveyExecution bad = execution("bad");
+        when(executionRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+        when(executionRepository.save(argThat(e -> e != null && "bad".equals(e.getStatus()))))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+        writer.submit(execution("ok"));
+        writer.submit(bad);
+        writer.submit(execution("ok"));
+
+        writer.flush();
+
+        verify(executionRepository, times(3)).save(argThat(e -> e.getId() == null));
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+        assertThat(writer.getFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fullBufferDropsAndReportsInStatistics() {
+        for (int i = 0; i < 4; i++) {
+            writer.submit(execution("ok"));
+        }
+
+        Map<String, Object> stats = writer.getStatistics();
+
+        assertThat(stats).containsEntry("queueSize", 3).containsEntry("capacity", 3)
+                .containsEntry("enqueuedCount", 3L).containsEntry("droppedCount", 1L)
+                .containsEntry("writtenCount", 0L).containsEntry("failedCount", 0L)
+                .containsKey("timestamp");
+    }
+
+    private static SurveyExecution execution(String status) {
+        return SurveyExecution.builder().id(UUID.randomUUID()).status(status)
+                .executionTime(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.dienform.tool.dienformtudong.surveyexecution.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import com.dienform.common.exception.BadRequestException;
+import com.dienform.tool.dienformtudong.formstatistic.service.FormStatisticRollupService;
+import com.dienform.tool.dienformtudong.surveyexecution.dto.response.ExecutionHistoryPageResponse;
+import com.dienform.tool.dienformtudong.surveyexecution.dto.response.SurveyExecutionSummaryResponse;
+import com.dienform.tool.dienformtudong.surveyexecution.mapper.SurveyExecutionMapper;
+import com.dienform.tool.dienformtudong.surveyexecution.repository.SurveyExecutionRepository;
+import com.dienform.tool.dienformtudong.surveyexecution.repository.SurveyExecutionSummaryView;
+import com.dienform.tool.dienformtudong.surveyexecution.service.SurveyExecutionWriter;
+
+class ExecutionServiceImplTest {
+
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2026, 3, 1, 12, 0, 0, 123_000_000);
+
+    private final UUID formId = UUID.randomUUID();
+    private final UUID fillRequestId = UUID.randomUUID();
+
+    private SurveyExecutionRepository executionRepository;
+    private ExecutionServiceImpl executionService;
+
+    @BeforeEach
+    void setUp() {
+        executionRepository = mock(SurveyExecutionRepository.class);
+        executionService = new ExecutionServiceImpl(executionRepository,
+                mock(SurveyExecutionMapper.class), mock(SurveyExecutionWriter.class),
+                mock(FormStatisticRollupService.class));
+    }
+
+    @Test
+    void firstPageFetchesOneExtraRowToDetectNextPage() {
+        List<SurveyExecutionSummaryView> rows = rows(3);
+        when(executionRepository.findSummariesByFormId(formId, PageRequest.of(0, 3)))
+                .thenReturn(rows);
+
+        ExecutionHistoryPageResponse page =
+                executionService.getExecutionSummariesByFormId(formId, null, 2);
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(SurveyExecutionSummaryResponse::getId)
+                .containsExactly(rows.get(0).getId(), rows.get(1).getId());
+        assertThat(page.getNextCursor()).isNotBlank();
+    }
+
+    @Test
+    void nextCursorContinuesAfterLastRowOfThePage() {
+        List<SurveyExecutionSummaryView> rows = rows(3);
+        when(executionRepository.findSummariesByFormId(formId, PageRequest.of(0, 3)))
+                .thenReturn(rows);
+        String cursor = executionService.getExecutionSummariesByFormId(formId, null, 2)
+                .getNextCursor();
+
+        executionService.getExecutionSummariesByFormId(formId, cursor, 2);
+
+        SurveyExecutionSummaryView last = rows.get(1);
+        verify(executionRepository).findSummariesByFormIdBefore(formId, last.getExecutionTime(),
+                last.getId(), PageRequest.of(0, 3));
+    }
+
+    @Test
+    void fillRequestCursorRoundTrips() {
+        List<SurveyExecutionSummaryView> rows = rows(2);
+        when(executionRepository.findSummariesByFillRequestId(fillRequestId,
+                PageRequest.of(0, 2))).thenReturn(rows);
+        String cursor = executionService
+                .getExecutionSummariesByFillRequestId(fillRequestId, null, 1).getNextCursor();
+
+        executionService.getExecutionSummariesByFillRequestId(fillRequestId, cursor, 1);
+
+        verify(executionRepository).findSummariesByFillRequestIdBefore(fillRequestId,
+                rows.get(0).getExecutionTime(), rows.get(0).getId(), PageRequest.of(0, 2));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        List<SurveyExecutionSummaryView> rows = rows(2);
+        when(executionRepository.findSummariesByFormId(eq(formId), any())).thenReturn(rows);
+
+        ExecutionHistoryPageResponse page =
+                executionService.getExecutionSummariesByFormId(formId, "", 5);
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getContent()).hasSize(2);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        executionService.getExecutionSummariesByFormId(formId, null, 1000);
+        executionService.getExecutionSummariesByFormId(formId, null, 0);
+
+        verify(executionRepository).findSummariesByFormId(formId, PageRequest.of(0, 101));
+        verify(executionRepository).findSummariesByFormId(formId, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        for (String cursor : List.of("not base64!", encode("no-separator"),
+                encode("2026-03-01T12:00|not-a-uuid"), encode("yesterday|" + UUID.randomUUID()))) {
+            assertThatThrownBy(
+                    () -> executionService.getExecutionSummariesByFormId(formId, cursor, 10))
+                            .as(cursor).isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rows newest first, one second apart
+     */
+    private List<SurveyExecutionSummaryView> rows(int count) {
+        List<SurveyExecutionSummaryView> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            LocalDateTime executionTime = NEWEST.minusSeconds(i);
+            SurveyExecutionSummaryView row = mock(SurveyExecutionSummaryView.class);
+            when(row.getId()).thenReturn(id);
+            when(row.getFillRequestId()).thenReturn(fillRequestId);
+            when(row.getExecutionTime()).thenReturn(executionTime);
+            when(row.getStatus()).thenReturn("COMPLETED");
+            rows.add(row);
+        }
+        return rows;
+    }
+}